@@ -0,0 +1,93 @@
+package net.tislib.walletapp.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The arithmetic of a withdrawal on the execution path: a balance check over the four stored sums and a
+ * daily limit check over a 96-bucket rolling window, once with {@link BigDecimal} as before and once with
+ * {@link Money} minor units.
+ * <p>
+ * Run with {@code ./gradlew jmh}; add {@code -prof gc} to the JMH arguments to see the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyArithmeticBenchmark {
+
+    private static final int SCALE = 2;
+    private static final int BUCKETS = 96;
+
+    private BigDecimal[] sums;
+    private BigDecimal[] bucketTotals;
+    private BigDecimal amount;
+    private BigDecimal limit;
+
+    private long[] sumsMinorUnits;
+    private long[] bucketTotalsMinorUnits;
+    private long amountMinorUnits;
+    private long limitMinorUnits;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        sums = new BigDecimal[4];
+        sumsMinorUnits = new long[4];
+        for (int i = 0; i < sums.length; i++) {
+            // Deposits dominate, so the balance check passes and the limit check is reached
+            sumsMinorUnits[i] = i == 0 ? 1_000_000_000L : random.nextLong(1, 100_000_000L);
+            sums[i] = BigDecimal.valueOf(sumsMinorUnits[i], SCALE);
+        }
+
+        bucketTotals = new BigDecimal[BUCKETS];
+        bucketTotalsMinorUnits = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketTotalsMinorUnits[i] = random.nextLong(0, 1_000_000L);
+            bucketTotals[i] = BigDecimal.valueOf(bucketTotalsMinorUnits[i], SCALE);
+        }
+
+        amountMinorUnits = 12_345;
+        amount = BigDecimal.valueOf(amountMinorUnits, SCALE);
+        limitMinorUnits = 100_000_000L;
+        limit = BigDecimal.valueOf(limitMinorUnits, SCALE);
+    }
+
+    @Benchmark
+    public boolean bigDecimal() {
+        BigDecimal balance = sums[0].add(sums[3]).subtract(sums[1]).subtract(sums[2]);
+        if (balance.subtract(amount).compareTo(BigDecimal.ZERO) < 0) {
+            return false;
+        }
+
+        BigDecimal windowTotal = BigDecimal.ZERO;
+        for (BigDecimal total : bucketTotals) {
+            windowTotal = windowTotal.add(total);
+        }
+        return windowTotal.add(amount).compareTo(limit) <= 0;
+    }
+
+    @Benchmark
+    public boolean minorUnits() {
+        long balance = Money.subtract(Money.subtract(Money.add(sumsMinorUnits[0], sumsMinorUnits[3]),
+                sumsMinorUnits[1]), sumsMinorUnits[2]);
+        if (balance < amountMinorUnits) {
+            return false;
+        }
+
+        long windowTotal = 0;
+        for (long total : bucketTotalsMinorUnits) {
+            windowTotal = Money.add(windowTotal, total);
+        }
+        return Money.add(windowTotal, amountMinorUnits) <= limitMinorUnits;
+    }
+}
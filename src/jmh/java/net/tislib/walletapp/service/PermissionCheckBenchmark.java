@@ -0,0 +1,67 @@
+package net.tislib.walletapp.service;
+
+import net.tislib.walletapp.cache.LruCache;
+import net.tislib.walletapp.model.Permission;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a permission check against a principal holding 1M grants, both directly on the
+ * precomputed structure and through the cache lookup that {@link PermissionService} performs.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PermissionCheckBenchmark {
+
+    private static final int GRANTS = 1_000_000;
+    private static final int PROBES = 1 << 16;
+
+    private PrincipalPermissions permissions;
+    private LruCache<Long, PrincipalPermissions> cache;
+    private long[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Permission[] values = Permission.values();
+
+        long[] accountIds = new long[GRANTS];
+        Permission[] granted = new Permission[GRANTS];
+        for (int i = 0; i < GRANTS; i++) {
+            accountIds[i] = random.nextLong(1, 10L * GRANTS);
+            granted[i] = values[random.nextInt(values.length)];
+        }
+        permissions = PrincipalPermissions.of(accountIds, granted);
+
+        cache = new LruCache<>(10_000);
+        cache.put(1L, permissions);
+
+        // Half of the probes hit granted accounts, half miss
+        probes = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = i % 2 == 0 ? accountIds[random.nextInt(GRANTS)] : random.nextLong(1, 10L * GRANTS);
+        }
+    }
+
+    @Benchmark
+    public boolean checkPrecomputed() {
+        return permissions.has(probes[next++ & (PROBES - 1)], Permission.TRANSACT);
+    }
+
+    @Benchmark
+    public boolean checkThroughCache() {
+        return cache.get(1L, id -> PrincipalPermissions.NONE).has(probes[next++ & (PROBES - 1)], Permission.TRANSACT);
+    }
+}
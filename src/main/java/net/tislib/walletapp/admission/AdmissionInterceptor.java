@@ -0,0 +1,152 @@
+package net.tislib.walletapp.admission;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.AdmissionProperties;
+import net.tislib.walletapp.config.PermissionProperties;
+import net.tislib.walletapp.exception.OverloadedException;
+import net.tislib.walletapp.exception.RateLimitedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control in front of the controllers.
+ * <p>
+ * Requests are classified as reads, writes or executions, and each class has its own budget, so a
+ * storm of executions cannot starve balance reads. A request is first shed with 503 when the node is
+ * saturated (too many requests of its class in flight, or too many threads waiting for a DB connection),
+ * and then rate limited with 429 by a per-account and a per-client token bucket. A client is the calling
+ * principal while permissions are enabled, and the remote address otherwise, since an unchecked principal
+ * header would let a client pick a fresh budget for every request.
+ * <p>
+ * An async request, such as an event stream, is admitted once and leaves the in-flight count as soon
+ * as it stops occupying a request thread.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Pattern ACCOUNT_PATH = Pattern.compile("^/accounts/(\\d+)(/|$)");
+    private static final String ADMITTED_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".ADMITTED";
+
+    private final AdmissionProperties properties;
+    private final PermissionProperties permissionProperties;
+    private final LoadShedder loadShedder;
+
+    private final Map<RequestClass, TokenBuckets<Long>> accountBuckets = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, TokenBuckets<String>> clientBuckets = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, AtomicInteger> inFlight = new EnumMap<>(RequestClass.class);
+
+    @PostConstruct
+    void init() {
+        for (RequestClass requestClass : RequestClass.values()) {
+            AdmissionProperties.Budget budget = properties.budget(requestClass);
+            accountBuckets.put(requestClass, new TokenBuckets<>(budget.getAccountRate(), budget.getAccountBurst()));
+            clientBuckets.put(requestClass, new TokenBuckets<>(budget.getClientRate(), budget.getClientBurst()));
+            inFlight.put(requestClass, new AtomicInteger());
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !(handler instanceof HandlerMethod)
+                || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        RequestClass requestClass = classify(request);
+        AdmissionProperties.Budget budget = properties.budget(requestClass);
+
+        // Shed before touching any per-key state, so an overloaded node does as little work as possible
+        if (loadShedder.pendingConnections() > budget.getMaxPendingConnections()) {
+            throw new OverloadedException("Connection pool saturated for " + requestClass + " requests", 1);
+        }
+        AtomicInteger classInFlight = inFlight.get(requestClass);
+        if (classInFlight.get() >= budget.getMaxInFlight()) {
+            throw new OverloadedException("Too many " + requestClass + " requests in flight", 1);
+        }
+
+        long now = System.nanoTime();
+        Long accountId = accountId(request);
+        TokenBuckets<Long> accountBucket = accountBuckets.get(requestClass);
+        if (accountId != null) {
+            rateLimit(accountBucket.tryAcquire(accountId, now), "account " + accountId);
+        }
+        String client = client(request);
+        long clientWaitNanos = clientBuckets.get(requestClass).tryAcquire(client, now);
+        if (clientWaitNanos > 0 && accountId != null) {
+            // A client over its limit must not use up the account's budget for everyone else
+            accountBucket.refund(accountId);
+        }
+        rateLimit(clientWaitNanos, "client " + client);
+
+        classInFlight.incrementAndGet();
+        request.setAttribute(ADMITTED_ATTRIBUTE, requestClass);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private void release(HttpServletRequest request) {
+        Object admitted = request.getAttribute(ADMITTED_ATTRIBUTE);
+        if (admitted instanceof RequestClass requestClass) {
+            request.removeAttribute(ADMITTED_ATTRIBUTE);
+            inFlight.get(requestClass).decrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.admission.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        accountBuckets.values().forEach(buckets -> buckets.evictIdle(now));
+        clientBuckets.values().forEach(buckets -> buckets.evictIdle(now));
+    }
+
+    private void rateLimit(long waitNanos, String subject) {
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new RateLimitedException("Rate limit exceeded for " + subject, retryAfterSeconds);
+        }
+    }
+
+    private RequestClass classify(HttpServletRequest request) {
+        if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())) {
+            return RequestClass.READ;
+        }
+        if (request.getRequestURI().endsWith("/execute")) {
+            return RequestClass.EXECUTE;
+        }
+        return RequestClass.WRITE;
+    }
+
+    private Long accountId(HttpServletRequest request) {
+        Matcher matcher = ACCOUNT_PATH.matcher(request.getRequestURI());
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private String client(HttpServletRequest request) {
+        String principal = permissionProperties.isEnabled()
+                ? request.getHeader(permissionProperties.getPrincipalHeader()) : null;
+        return principal != null ? "principal:" + principal : "address:" + request.getRemoteAddr();
+    }
+}
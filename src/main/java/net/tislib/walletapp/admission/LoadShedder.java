@@ -0,0 +1,47 @@
+package net.tislib.walletapp.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Reports how saturated the DB connection pool is, so requests can be shed before they queue for a connection.
+ */
+@Component
+public class LoadShedder {
+
+    private final DataSource dataSource;
+    private volatile HikariPoolMXBean pool;
+
+    public LoadShedder(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @return the number of threads currently waiting for a pooled connection, or 0 if unknown
+     */
+    public int pendingConnections() {
+        HikariPoolMXBean poolBean = pool();
+        return poolBean != null ? poolBean.getThreadsAwaitingConnection() : 0;
+    }
+
+    private HikariPoolMXBean pool() {
+        HikariPoolMXBean poolBean = pool;
+        if (poolBean != null) {
+            return poolBean;
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                // The pool bean only exists once the pool has started
+                poolBean = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+                pool = poolBean;
+            }
+        } catch (SQLException e) {
+            return null;
+        }
+        return poolBean;
+    }
+}
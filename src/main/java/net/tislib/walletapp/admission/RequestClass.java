@@ -0,0 +1,21 @@
+package net.tislib.walletapp.admission;
+
+/**
+ * Enum representing the budget classes that admission control keeps apart.
+ */
+public enum RequestClass {
+    /**
+     * Side-effect free requests, such as balance and transaction reads.
+     */
+    READ,
+
+    /**
+     * Requests that create, change or delete resources, other than executions.
+     */
+    WRITE,
+
+    /**
+     * Transaction executions, which hold row locks and run balance queries.
+     */
+    EXECUTE
+}
@@ -0,0 +1,79 @@
+package net.tislib.walletapp.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets keyed by an arbitrary id.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the GCRA form of a
+ * token bucket), updated with a compare-and-set loop. A bucket whose arrival time lies in the past is
+ * full, which is the same as not existing, so idle buckets can be dropped without losing state.
+ *
+ * @param <K> key type
+ */
+final class TokenBuckets<K> {
+
+    private final Map<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    /**
+     * @param ratePerSecond sustained rate; 0 or less disables the limit
+     * @param burst         requests allowed at once when the bucket is full
+     */
+    TokenBuckets(double ratePerSecond, int burst) {
+        this.emissionIntervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(1, burst);
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return 0 if the token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(K key, long nowNanos) {
+        if (emissionIntervalNanos == 0) {
+            return 0;
+        }
+
+        AtomicLong arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns a token taken with {@link #tryAcquire} for a request that was rejected afterwards.
+     */
+    void refund(K key) {
+        if (emissionIntervalNanos == 0) {
+            return;
+        }
+        AtomicLong arrival = buckets.get(key);
+        if (arrival != null) {
+            arrival.addAndGet(-emissionIntervalNanos);
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     */
+    void evictIdle(long nowNanos) {
+        buckets.values().removeIf(arrival -> arrival.get() - nowNanos <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
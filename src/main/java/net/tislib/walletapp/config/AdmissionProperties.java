@@ -0,0 +1,75 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import net.tislib.walletapp.admission.RequestClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rate limits and load shedding thresholds, with a separate budget per request class.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.admission")
+public class AdmissionProperties {
+    /**
+     * Whether admission control runs in front of the controllers.
+     */
+    private boolean enabled = false;
+
+    private Budget read = new Budget(200, 400, 500, 1000, 512, 20);
+    private Budget write = new Budget(50, 100, 200, 400, 128, 5);
+    private Budget execute = new Budget(20, 40, 100, 200, 64, 2);
+
+    public Budget budget(RequestClass requestClass) {
+        return switch (requestClass) {
+            case READ -> read;
+            case WRITE -> write;
+            case EXECUTE -> execute;
+        };
+    }
+
+    @Data
+    public static class Budget {
+        /**
+         * Sustained requests per second per account, 0 for unlimited.
+         */
+        private double accountRate;
+
+        /**
+         * Requests an idle account may make at once.
+         */
+        private int accountBurst;
+
+        /**
+         * Sustained requests per second per client, 0 for unlimited.
+         */
+        private double clientRate;
+
+        /**
+         * Requests an idle client may make at once.
+         */
+        private int clientBurst;
+
+        /**
+         * Requests of this class allowed in flight on this node before new ones are shed.
+         */
+        private int maxInFlight;
+
+        /**
+         * Threads allowed to wait for a pooled DB connection before requests of this class are shed.
+         */
+        private int maxPendingConnections;
+
+        public Budget() {
+        }
+
+        public Budget(double accountRate, int accountBurst, double clientRate, int clientBurst,
+                      int maxInFlight, int maxPendingConnections) {
+            this.accountRate = accountRate;
+            this.accountBurst = accountBurst;
+            this.clientRate = clientRate;
+            this.clientBurst = clientBurst;
+            this.maxInFlight = maxInFlight;
+            this.maxPendingConnections = maxPendingConnections;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the detection of hot accounts among transaction executions.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.contention")
+public class ContentionProperties {
+    /**
+     * Whether executions and lock waits are counted per account.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Counters per row of each sketch; a power of two. Estimates overcount by at most about
+     * {@code 2.7 / width} of the total.
+     */
+    private int width = 2048;
+
+    /**
+     * Rows of each sketch; each row halves the chance of an estimate beyond that bound.
+     */
+    private int depth = 4;
+
+    /**
+     * How many of the hottest accounts are kept and reported.
+     */
+    private int topK = 20;
+
+    /**
+     * Interval at which all counts are halved, so that the ranking follows recent load.
+     */
+    private Duration decayInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,62 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import net.tislib.walletapp.model.ExecutionMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for transaction execution.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.execution")
+public class ExecutionProperties {
+    /**
+     * Concurrency control used by executeTransaction.
+     */
+    private ExecutionMode mode = ExecutionMode.PESSIMISTIC;
+
+    /**
+     * Retries after a version conflict or serialization failure in optimistic mode.
+     */
+    private int maxRetries = 5;
+
+    /**
+     * Backoff before the first retry; doubles with every further retry, with full jitter.
+     */
+    private Duration baseBackoff = Duration.ofMillis(5);
+
+    /**
+     * Upper bound on a single backoff.
+     */
+    private Duration maxBackoff = Duration.ofMillis(200);
+
+    private Batch batch = new Batch();
+
+    /**
+     * Group commit for PESSIMISTIC and OPTIMISTIC executions.
+     */
+    @Data
+    public static class Batch {
+        /**
+         * Whether executions are collected into shared DB transactions.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long a batch waits for more executions after the first one arrives.
+         */
+        private Duration window = Duration.ofMillis(2);
+
+        /**
+         * Executions per batch; a full batch is run without waiting for the window to end.
+         */
+        private int maxSize = 64;
+
+        /**
+         * Threads running batches, each on its own DB connection.
+         */
+        private int dispatchers = 1;
+    }
+}
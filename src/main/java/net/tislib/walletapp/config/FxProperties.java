@@ -0,0 +1,18 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the exchange rates used by cross-currency transfers.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.fx")
+public class FxProperties {
+    /**
+     * Pause between reloads of the {@code fx_rate} table; transfers use the last loaded rates meanwhile.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+}
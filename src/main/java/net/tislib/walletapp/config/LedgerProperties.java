@@ -0,0 +1,54 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory ledger engine, used when wallet.execution.mode is IN_MEMORY.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.ledger")
+public class LedgerProperties {
+    /**
+     * Directory holding journal segments and snapshots.
+     */
+    private String directory = "ledger";
+
+    /**
+     * Size of one memory-mapped journal segment.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Commands applied by the sequencer before the journal is forced to disk.
+     */
+    private int maxBatchSize = 1024;
+
+    /**
+     * Commands waiting for the sequencer; submissions beyond this are shed.
+     */
+    private int queueCapacity = 65_536;
+
+    /**
+     * How long a request waits for its command to be applied and journaled.
+     */
+    private Duration submitTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Journal records between snapshots of the balances.
+     */
+    private long snapshotEvery = 1_000_000;
+
+    /**
+     * Journal records written to the database per projection transaction.
+     */
+    private int projectionBatchSize = 500;
+
+    /**
+     * How long executed transactions are still recognised in memory after their projection committed.
+     */
+    private Duration dedupeRetention = Duration.ofSeconds(30);
+}
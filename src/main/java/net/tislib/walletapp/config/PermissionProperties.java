@@ -0,0 +1,33 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Set;
+
+/**
+ * Settings for per-account permission checks.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.permissions")
+public class PermissionProperties {
+    /**
+     * Whether account endpoints require a principal with a matching grant.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Request header carrying the id of the calling principal, set by the upstream gateway.
+     */
+    private String principalHeader = "X-Principal-Id";
+
+    /**
+     * Upper bound on principals whose precomputed permissions are cached.
+     */
+    private int cacheSize = 10_000;
+
+    /**
+     * Principals allowed to manage rules that apply to no single account.
+     */
+    private Set<Long> systemAdmins = Set.of();
+}
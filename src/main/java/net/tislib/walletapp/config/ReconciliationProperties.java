@@ -0,0 +1,32 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Defaults for ledger reconciliation runs; each run may override them.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.reconciliation")
+public class ReconciliationProperties {
+    /**
+     * Width of the account id range handled by one worker in one step.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Number of chunks reconciled concurrently; each holds one DB connection.
+     */
+    private int parallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Upper bound on accounts reconciled per second across all workers, 0 for unlimited.
+     */
+    private int maxAccountsPerSecond = 0;
+
+    /**
+     * Whether to compare recomputed balances with the stored ones: the sum of each account's
+     * postings and, for sharded accounts, of its balance slots.
+     */
+    private boolean compareStoredBalance = true;
+}
@@ -0,0 +1,16 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the wallet restrictions engine.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.restrictions")
+public class RestrictionProperties {
+    /**
+     * Upper bound on accounts whose rolling-window counters are kept in memory.
+     */
+    private int maxTrackedAccounts = 100_000;
+}
@@ -0,0 +1,65 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the cleanup of abandoned and failed transactions.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.retention")
+public class RetentionProperties {
+    /**
+     * Whether this node runs the cleanup; nodes running it concurrently skip each other's rows.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Pause between cleanup runs.
+     */
+    private Duration interval = Duration.ofMinutes(10);
+
+    /**
+     * Age after which a transaction still PENDING is considered abandoned and failed.
+     */
+    private Duration pendingTtl = Duration.ofDays(1);
+
+    /**
+     * How long FAILED transactions are kept after their last change.
+     */
+    private Duration failedRetention = Duration.ofDays(30);
+
+    /**
+     * What happens to FAILED transactions past their retention.
+     */
+    private FailedAction failedAction = FailedAction.ARCHIVE;
+
+    /**
+     * Rows changed per DB transaction; small chunks keep locks short and WAL writes spread out.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Pause between chunks.
+     */
+    private Duration chunkPause = Duration.ofMillis(100);
+
+    /**
+     * Chunks per run and kind of cleanup; the rest is left for the next run.
+     */
+    private int maxChunksPerRun = 1000;
+
+    public enum FailedAction {
+        /**
+         * Move the rows to transaction_archive.
+         */
+        ARCHIVE,
+
+        /**
+         * Delete the rows.
+         */
+        DELETE
+    }
+}
@@ -0,0 +1,54 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the dispatcher of scheduled and recurring transactions.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.schedule")
+public class ScheduleProperties {
+    /**
+     * Whether this node dispatches due schedules.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Interval between claims of due schedules from the database.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * How far ahead schedules are claimed; they wait in memory until due, so claims are not on the firing path.
+     */
+    private Duration horizon = Duration.ofSeconds(30);
+
+    /**
+     * How long a claim holds; schedules of a node that stopped are claimed by others afterwards.
+     * Must be longer than the horizon.
+     */
+    private Duration lease = Duration.ofMinutes(2);
+
+    /**
+     * Resolution of the in-memory timing wheel.
+     */
+    private Duration tick = Duration.ofMillis(100);
+
+    /**
+     * Schedules claimed per query.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Claimed schedules held by this node, waiting or firing, before it stops claiming more.
+     */
+    private int maxInFlight = 10000;
+
+    /**
+     * Threads creating and executing the transactions of due schedules.
+     */
+    private int workers = 4;
+}
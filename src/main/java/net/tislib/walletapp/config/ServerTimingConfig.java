@@ -0,0 +1,42 @@
+package net.tislib.walletapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tislib.walletapp.timing.RepositoryTimingInterceptor;
+import net.tislib.walletapp.timing.TimedJacksonHttpMessageConverter;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+@Configuration(proxyBeanMethods = false)
+public class ServerTimingConfig {
+
+    /**
+     * Adds repository timing to the proxies Spring Data creates. Post-processors are created before
+     * configuration properties are bound, hence the property is read from the environment.
+     */
+    @Bean
+    static BeanPostProcessor repositoryTimingPostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("wallet.server-timing.enabled", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof Repository<?, ?> && bean instanceof Advised advised) {
+                    advised.addAdvice(new RepositoryTimingInterceptor());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Replaces the default JSON converter, keeping Boot's configured object mapper.
+     */
+    @Bean
+    MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,30 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-request phase timing, reported in the {@code Server-Timing} response header.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.server-timing")
+public class ServerTimingProperties {
+    /**
+     * Whether to time request phases and report them. Read once at startup for the repository timing,
+     * since it decides whether repositories are advised. Off by default, since the header tells every
+     * caller how the request was processed.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Requests taking at least this long are kept in the slow request log.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * How many slow requests are kept; the oldest are dropped first.
+     */
+    private int slowLogSize = 100;
+}
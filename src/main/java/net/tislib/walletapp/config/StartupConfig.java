@@ -0,0 +1,61 @@
+package net.tislib.walletapp.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Makes migrations and schema validation controllable at runtime. Both are decided by properties rather
+ * than by conditional beans, so they still apply when the context was prepared ahead of time by Spring AOT.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class StartupConfig {
+
+    private final StartupProperties startupProperties;
+    // Looked up lazily, since the persistence unit itself waits for the migration strategy
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            if (startupProperties.isMigrate()) {
+                flyway.migrate();
+            } else {
+                log.info("Skipping database migrations (wallet.startup.migrate=false)");
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateSchema() {
+        if (!startupProperties.isDeferSchemaValidation()) {
+            return;
+        }
+
+        Thread thread = new Thread(() -> {
+            try {
+                entityManagerFactory.getObject().unwrap(SessionFactory.class).getSchemaManager().validateMappedObjects();
+                log.info("Deferred schema validation passed");
+            } catch (RuntimeException e) {
+                // Already serving, so take the instance out of rotation instead of failing startup
+                log.error("Deferred schema validation failed", e);
+                AvailabilityChangeEvent.publish(eventPublisher, e, ReadinessState.REFUSING_TRAFFIC);
+            }
+        }, "schema-validation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
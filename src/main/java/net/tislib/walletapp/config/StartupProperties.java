@@ -0,0 +1,24 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Startup work that replicas can skip or postpone; see the {@code fast-startup} profile.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.startup")
+public class StartupProperties {
+    /**
+     * Whether to apply Flyway migrations on startup. Replicas can leave this to the instance that
+     * deploys a release.
+     */
+    private boolean migrate = true;
+
+    /**
+     * Whether to validate the schema against the entity mappings once the application is ready,
+     * rather than while building the persistence unit. Meant to be combined with
+     * {@code spring.jpa.hibernate.ddl-auto=none}.
+     */
+    private boolean deferSchemaValidation = false;
+}
@@ -0,0 +1,31 @@
+package net.tislib.walletapp.config;
+
+import net.tislib.walletapp.jdbc.StatementCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+public class StatementStatsConfig {
+
+    /**
+     * Wraps the DataSource so that statements are counted. Post-processors are created before
+     * configuration properties are bound, hence the property is read from the environment.
+     */
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("wallet.statement-stats.enabled", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-request accounting of the SQL statements sent through the application's DataSource.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.statement-stats")
+public class StatementStatsProperties {
+    /**
+     * Whether to count statements, rows and JDBC time per HTTP request and record them as metrics.
+     * Read once at startup, since it decides whether the DataSource is wrapped. Off by default, since every
+     * JDBC call then goes through the counting proxy.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Whether to report each request's totals in the {@code X-SQL-Stats} response header; for debugging.
+     */
+    private boolean debugHeader = false;
+}
@@ -0,0 +1,55 @@
+package net.tislib.walletapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the server-sent event streams of transaction status and balance changes.
+ */
+@Data
+@ConfigurationProperties(prefix = "wallet.stream")
+public class StreamProperties {
+    /**
+     * How long a stream stays open; clients reconnect afterwards and resume from their last event.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval of comment lines sent to keep idle connections open through proxies.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /**
+     * Open streams allowed on this node before new subscriptions are shed.
+     */
+    private int maxSubscribers = 50000;
+
+    /**
+     * Recent events kept per account for resuming streams.
+     */
+    private int historySize = 64;
+
+    /**
+     * Accounts whose recent events are kept; the least recently active ones are dropped first.
+     */
+    private int maxTrackedAccounts = 10000;
+
+    /**
+     * Threads that read balances and write events to the streams.
+     */
+    private int senderThreads = 4;
+
+    /**
+     * Events waiting to be sent to one stream; a client falling further behind is disconnected and resumes
+     * from its last event when it reconnects.
+     */
+    private int maxPendingEvents = 256;
+
+    /**
+     * How long writing one event may take before the client is treated as stalled and disconnected; checked
+     * with every heartbeat.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,27 @@
+package net.tislib.walletapp.config;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.admission.AdmissionInterceptor;
+import net.tislib.walletapp.security.PermissionInterceptor;
+import net.tislib.walletapp.timing.ServerTimingInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionInterceptor admissionInterceptor;
+    private final PermissionInterceptor permissionInterceptor;
+    private final ServerTimingInterceptor serverTimingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Admission runs first so that shed requests never reach permission lookups
+        registry.addInterceptor(admissionInterceptor);
+        registry.addInterceptor(permissionInterceptor);
+        // Last, so that the handler phase starts once the request has been admitted and authorized
+        registry.addInterceptor(serverTimingInterceptor);
+    }
+}
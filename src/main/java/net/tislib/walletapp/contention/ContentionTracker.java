@@ -0,0 +1,83 @@
+package net.tislib.walletapp.contention;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.ContentionProperties;
+import net.tislib.walletapp.dto.HotAccountDto;
+import net.tislib.walletapp.dto.HotAccountsDto;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ranks accounts by how often their transactions are executed and how long executions wait for their
+ * row locks, over recent load. Counts are estimates from {@link HeavyHitters} sketches, so memory stays
+ * fixed however many accounts there are; they are halved every decay interval.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentionTracker {
+
+    private final ContentionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private HeavyHitters executions;
+    private HeavyHitters lockWaitNanos;
+
+    @PostConstruct
+    void init() {
+        executions = new HeavyHitters(properties.getWidth(), properties.getDepth(), properties.getTopK());
+        lockWaitNanos = new HeavyHitters(properties.getWidth(), properties.getDepth(), properties.getTopK());
+
+        Gauge.builder("wallet.contention.hottest.executions", executions, ContentionTracker::hottest)
+                .description("Decayed execution count of the most executed account")
+                .register(meterRegistry);
+        Gauge.builder("wallet.contention.hottest.lock-wait", lockWaitNanos, sketch -> hottest(sketch) / 1e9)
+                .description("Decayed lock wait of the account waited on longest, in seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void recordExecution(Long accountId) {
+        if (properties.isEnabled()) {
+            executions.add(accountId, 1);
+        }
+    }
+
+    public void recordLockWait(Long accountId, long nanos) {
+        if (properties.isEnabled()) {
+            lockWaitNanos.add(accountId, nanos);
+        }
+    }
+
+    public HotAccountsDto getHotAccounts() {
+        HotAccountsDto hotAccounts = new HotAccountsDto();
+        hotAccounts.setByExecutions(toDtos(executions.top()));
+        hotAccounts.setByLockWait(toDtos(lockWaitNanos.top()));
+        return hotAccounts;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.contention.decay-interval:PT1M}")
+    public void decay() {
+        executions.decay();
+        lockWaitNanos.decay();
+    }
+
+    private List<HotAccountDto> toDtos(List<HeavyHitters.Entry> entries) {
+        return entries.stream().map(entry -> {
+            HotAccountDto dto = new HotAccountDto();
+            dto.setAccountId(entry.key());
+            dto.setExecutions(executions.estimate(entry.key()));
+            dto.setLockWaitMs(lockWaitNanos.estimate(entry.key()) / 1e6);
+            return dto;
+        }).toList();
+    }
+
+    private static double hottest(HeavyHitters sketch) {
+        List<HeavyHitters.Entry> top = sketch.top();
+        return top.isEmpty() ? 0 : top.get(0).estimate();
+    }
+}
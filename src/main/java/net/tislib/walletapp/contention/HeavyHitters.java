@@ -0,0 +1,165 @@
+package net.tislib.walletapp.contention;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Heavy-hitters sketch over long keys: a count-min sketch estimates the weight added for any key, and a
+ * small set of candidates keeps the keys with the largest estimates. Memory is fixed by the width, depth
+ * and capacity, however many distinct keys are added.
+ * <p>
+ * Estimates never undercount; they overcount by at most {@code e / width} of the total weight with
+ * probability {@code 1 - e^-depth}. Adding is lock-free: a key below the smallest candidate, which is
+ * almost every key, only costs {@code depth} atomic adds and a scan of the candidate ids. The candidates
+ * are re-ranked under a lock when a key outgrows the smallest of them, with their estimates read back
+ * from the sketch rather than kept in a heap, since those change with every add.
+ */
+public final class HeavyHitters {
+
+    private final int depth;
+    private final int mask;
+    private final int capacity;
+    private final long[] seeds;
+    private final AtomicLongArray counters;
+
+    // Copy-on-write candidate ids, read without locking
+    private volatile long[] candidates = new long[0];
+    // Estimate a key must exceed to become a candidate; 0 while there is room
+    private volatile long threshold;
+
+    public HeavyHitters(int width, int depth, int capacity) {
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Width must be a power of two: " + width);
+        }
+        if (depth <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Depth and capacity must be positive");
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.capacity = capacity;
+        this.counters = new AtomicLongArray(width * depth);
+        this.seeds = new long[depth];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int row = 0; row < depth; row++) {
+            seed = mix(seed + row);
+            seeds[row] = seed;
+        }
+    }
+
+    public void add(long key, long weight) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(key, row), weight));
+        }
+        if (estimate > threshold && !contains(candidates, key)) {
+            offer(key, estimate);
+        }
+    }
+
+    /**
+     * @return the estimated weight added for the key since it was last decayed
+     */
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(key, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @return the candidates with their estimates, largest first
+     */
+    public List<Entry> top() {
+        long[] keys = candidates;
+        List<Entry> entries = new ArrayList<>(keys.length);
+        for (long key : keys) {
+            entries.add(new Entry(key, estimate(key)));
+        }
+        entries.sort(Comparator.comparingLong(Entry::estimate).reversed());
+        return entries;
+    }
+
+    /**
+     * Halves every counter, so that estimates follow recent weight rather than everything ever added.
+     * Adds made concurrently may be halved or not.
+     */
+    public synchronized void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        threshold = smallest(candidates);
+    }
+
+    private synchronized void offer(long key, long estimate) {
+        long[] current = candidates;
+        if (contains(current, key)) {
+            return;
+        }
+        if (current.length < capacity) {
+            long[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = key;
+            candidates = grown;
+            threshold = grown.length < capacity ? 0 : smallest(grown);
+            return;
+        }
+
+        int smallestIndex = 0;
+        long smallestEstimate = Long.MAX_VALUE;
+        for (int i = 0; i < current.length; i++) {
+            long candidateEstimate = estimate(current[i]);
+            if (candidateEstimate < smallestEstimate) {
+                smallestEstimate = candidateEstimate;
+                smallestIndex = i;
+            }
+        }
+        if (estimate > smallestEstimate) {
+            long[] replaced = current.clone();
+            replaced[smallestIndex] = key;
+            candidates = replaced;
+            threshold = smallest(replaced);
+        } else {
+            threshold = smallestEstimate;
+        }
+    }
+
+    private long smallest(long[] keys) {
+        if (keys.length < capacity) {
+            return 0;
+        }
+        long smallest = Long.MAX_VALUE;
+        for (long key : keys) {
+            smallest = Math.min(smallest, estimate(key));
+        }
+        return smallest;
+    }
+
+    private int index(long key, int row) {
+        return row * (mask + 1) + ((int) (mix(key ^ seeds[row]) >>> 32) & mask);
+    }
+
+    private static boolean contains(long[] keys, long key) {
+        for (long candidate : keys) {
+            if (candidate == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Finalizer of MurmurHash3, spreads sequential ids over all counters
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    public record Entry(long key, long estimate) {
+    }
+}
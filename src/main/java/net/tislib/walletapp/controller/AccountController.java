@@ -1,7 +1,13 @@
 package net.tislib.walletapp.controller;
 
+import net.tislib.walletapp.dto.AccountBalancesDto;
 import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.model.Permission;
+import net.tislib.walletapp.security.Authenticated;
+import net.tislib.walletapp.security.CurrentPrincipal;
+import net.tislib.walletapp.security.RequiresPermission;
 import net.tislib.walletapp.service.AccountService;
+import net.tislib.walletapp.service.PermissionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,40 +23,59 @@ import java.util.NoSuchElementException;
 public class AccountController {
 
     private final AccountService accountService;
+    private final PermissionService permissionService;
 
     @GetMapping
     public ResponseEntity<List<AccountDto>> getAllAccounts() {
-        List<AccountDto> accounts = accountService.getAllAccounts();
+        Long principalId = CurrentPrincipal.get();
+        List<AccountDto> accounts = accountService.getAllAccounts().stream()
+                .filter(account -> permissionService.isAllowed(principalId, account.getId(), Permission.VIEW))
+                .toList();
         return ResponseEntity.ok(accounts);
     }
 
     @GetMapping("/{id}")
+    @RequiresPermission(value = Permission.VIEW, accountId = "id")
     public ResponseEntity<AccountDto> getAccountById(@PathVariable Long id) {
         AccountDto account = accountService.getAccountById(id);
         return ResponseEntity.ok(account);
     }
 
     @PostMapping
+    @Authenticated
     public ResponseEntity<AccountDto> createAccount(@RequestBody AccountDto accountDto) {
-        AccountDto createdAccount = accountService.createAccount(accountDto);
+        AccountDto createdAccount = accountService.createAccount(accountDto, CurrentPrincipal.get());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdAccount);
     }
 
     @PutMapping("/{id}")
+    @RequiresPermission(value = Permission.ADMIN, accountId = "id")
     public ResponseEntity<AccountDto> updateAccount(@PathVariable Long id, @RequestBody AccountDto accountDto) {
         AccountDto updatedAccount = accountService.updateAccount(id, accountDto);
         return ResponseEntity.ok(updatedAccount);
     }
 
     @DeleteMapping("/{id}")
+    @RequiresPermission(value = Permission.ADMIN, accountId = "id")
     public ResponseEntity<Void> deleteAccount(@PathVariable Long id) {
         accountService.deleteAccount(id);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{id}/balance")
+    @RequiresPermission(value = Permission.VIEW, accountId = "id")
     public ResponseEntity<BigDecimal> getAccountBalance(@PathVariable Long id) {
         BigDecimal balance = accountService.calculateAccountBalance(id);
         return ResponseEntity.ok(balance);
     }
+
+    @PostMapping("/balances")
+    @Authenticated
+    public ResponseEntity<AccountBalancesDto> getAccountBalances(@RequestBody List<Long> accountIds) {
+        if (accountIds != null && !accountIds.contains(null)) {
+            permissionService.checkAll(CurrentPrincipal.get(), accountIds, Permission.VIEW);
+        }
+        AccountBalancesDto balances = accountService.calculateAccountBalances(accountIds);
+        return ResponseEntity.ok(balances);
+    }
 }
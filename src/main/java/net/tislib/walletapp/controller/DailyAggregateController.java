@@ -0,0 +1,41 @@
+package net.tislib.walletapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.DailyAggregateDto;
+import net.tislib.walletapp.model.Permission;
+import net.tislib.walletapp.security.RequiresPermission;
+import net.tislib.walletapp.security.RequiresSystemAdmin;
+import net.tislib.walletapp.service.DailyAggregateService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/aggregates/daily")
+@RequiredArgsConstructor
+public class DailyAggregateController {
+
+    private final DailyAggregateService dailyAggregateService;
+
+    @GetMapping
+    @RequiresPermission(Permission.VIEW)
+    public ResponseEntity<List<DailyAggregateDto>> getDailyAggregates(
+            @RequestParam Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<DailyAggregateDto> aggregates = dailyAggregateService.getDailyAggregates(accountId, from, to);
+        return ResponseEntity.ok(aggregates);
+    }
+
+    @PostMapping("/backfill")
+    @RequiresSystemAdmin
+    public ResponseEntity<Integer> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int rows = dailyAggregateService.backfill(from, to);
+        return ResponseEntity.ok(rows);
+    }
+}
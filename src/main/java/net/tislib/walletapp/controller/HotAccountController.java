@@ -0,0 +1,24 @@
+package net.tislib.walletapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.contention.ContentionTracker;
+import net.tislib.walletapp.dto.HotAccountsDto;
+import net.tislib.walletapp.security.RequiresSystemAdmin;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/hot-accounts")
+@RequiredArgsConstructor
+public class HotAccountController {
+
+    private final ContentionTracker contentionTracker;
+
+    @GetMapping
+    @RequiresSystemAdmin
+    public ResponseEntity<HotAccountsDto> getHotAccounts() {
+        return ResponseEntity.ok(contentionTracker.getHotAccounts());
+    }
+}
@@ -0,0 +1,78 @@
+package net.tislib.walletapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.AccountGrantDto;
+import net.tislib.walletapp.dto.PrincipalDto;
+import net.tislib.walletapp.model.Permission;
+import net.tislib.walletapp.security.Authenticated;
+import net.tislib.walletapp.security.CurrentPrincipal;
+import net.tislib.walletapp.security.RequiresSystemAdmin;
+import net.tislib.walletapp.service.PermissionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/principals")
+@RequiredArgsConstructor
+public class PrincipalController {
+
+    private final PermissionService permissionService;
+
+    @PostMapping
+    @RequiresSystemAdmin
+    public ResponseEntity<PrincipalDto> createPrincipal(@RequestBody PrincipalDto principalDto) {
+        PrincipalDto createdPrincipal = permissionService.createPrincipal(principalDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdPrincipal);
+    }
+
+    @GetMapping("/{id}")
+    @Authenticated
+    public ResponseEntity<PrincipalDto> getPrincipalById(@PathVariable Long id) {
+        checkSelfOrSystemAdmin(id);
+
+        PrincipalDto principal = permissionService.getPrincipal(id);
+        return ResponseEntity.ok(principal);
+    }
+
+    @GetMapping("/{id}/grants")
+    @Authenticated
+    public ResponseEntity<List<AccountGrantDto>> getGrants(@PathVariable Long id) {
+        checkSelfOrSystemAdmin(id);
+
+        List<AccountGrantDto> grants = permissionService.getGrants(id);
+        return ResponseEntity.ok(grants);
+    }
+
+    @PostMapping("/{id}/grants")
+    @Authenticated
+    public ResponseEntity<AccountGrantDto> grant(@PathVariable Long id, @RequestBody AccountGrantDto grantDto) {
+        // Only administrators of the account may hand out access to it
+        permissionService.check(CurrentPrincipal.get(), grantDto.getAccountId(), Permission.ADMIN);
+
+        AccountGrantDto grant = permissionService.grant(id, grantDto.getAccountId(), grantDto.getPermission());
+        return ResponseEntity.status(HttpStatus.CREATED).body(grant);
+    }
+
+    @DeleteMapping("/{id}/grants")
+    @Authenticated
+    public ResponseEntity<Void> revoke(@PathVariable Long id,
+                                       @RequestParam Long accountId,
+                                       @RequestParam Permission permission) {
+        permissionService.check(CurrentPrincipal.get(), accountId, Permission.ADMIN);
+
+        permissionService.revoke(id, accountId, permission);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Principals may look at themselves; anyone else's details are for system administrators.
+     */
+    private void checkSelfOrSystemAdmin(Long id) {
+        if (!id.equals(CurrentPrincipal.get())) {
+            permissionService.checkSystemAdmin(CurrentPrincipal.get());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package net.tislib.walletapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.ReconciliationMismatchDto;
+import net.tislib.walletapp.dto.ReconciliationRequest;
+import net.tislib.walletapp.dto.ReconciliationRunDto;
+import net.tislib.walletapp.security.RequiresSystemAdmin;
+import net.tislib.walletapp.service.ReconciliationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/reconciliation/runs")
+@RequiredArgsConstructor
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @PostMapping
+    @RequiresSystemAdmin
+    public ResponseEntity<ReconciliationRunDto> startRun(@RequestBody(required = false) ReconciliationRequest request) {
+        ReconciliationRunDto run = reconciliationService.startRun(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+    }
+
+    @GetMapping("/{id}")
+    @RequiresSystemAdmin
+    public ResponseEntity<ReconciliationRunDto> getRun(@PathVariable Long id) {
+        ReconciliationRunDto run = reconciliationService.getRun(id);
+        return ResponseEntity.ok(run);
+    }
+
+    @GetMapping("/{id}/mismatches")
+    @RequiresSystemAdmin
+    public ResponseEntity<List<ReconciliationMismatchDto>> getMismatches(@PathVariable Long id) {
+        List<ReconciliationMismatchDto> mismatches = reconciliationService.getMismatches(id);
+        return ResponseEntity.ok(mismatches);
+    }
+
+    @PostMapping("/{id}/pause")
+    @RequiresSystemAdmin
+    public ResponseEntity<ReconciliationRunDto> pauseRun(@PathVariable Long id) {
+        ReconciliationRunDto run = reconciliationService.pauseRun(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+    }
+
+    @PostMapping("/{id}/resume")
+    @RequiresSystemAdmin
+    public ResponseEntity<ReconciliationRunDto> resumeRun(@PathVariable Long id) {
+        ReconciliationRunDto run = reconciliationService.resumeRun(id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(run);
+    }
+}
@@ -0,0 +1,75 @@
+package net.tislib.walletapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.RestrictionDto;
+import net.tislib.walletapp.model.Permission;
+import net.tislib.walletapp.security.Authenticated;
+import net.tislib.walletapp.security.CurrentPrincipal;
+import net.tislib.walletapp.service.PermissionService;
+import net.tislib.walletapp.service.RestrictionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/restrictions")
+@RequiredArgsConstructor
+public class RestrictionController {
+
+    private final RestrictionService restrictionService;
+    private final PermissionService permissionService;
+
+    @GetMapping
+    public ResponseEntity<List<RestrictionDto>> getAllRestrictions() {
+        List<RestrictionDto> restrictions = restrictionService.getAllRestrictions();
+        return ResponseEntity.ok(restrictions);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RestrictionDto> getRestrictionById(@PathVariable Long id) {
+        RestrictionDto restriction = restrictionService.getRestriction(id);
+        return ResponseEntity.ok(restriction);
+    }
+
+    @PostMapping
+    @Authenticated
+    public ResponseEntity<RestrictionDto> createRestriction(@RequestBody RestrictionDto restrictionDto) {
+        checkManage(restrictionDto.getAccountId());
+
+        RestrictionDto createdRestriction = restrictionService.createRestriction(restrictionDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdRestriction);
+    }
+
+    @PutMapping("/{id}")
+    @Authenticated
+    public ResponseEntity<RestrictionDto> updateRestriction(@PathVariable Long id, @RequestBody RestrictionDto restrictionDto) {
+        // Both the rule as it is and as it becomes must be within the caller's reach
+        checkManage(restrictionService.getRestriction(id).getAccountId());
+        checkManage(restrictionDto.getAccountId());
+
+        RestrictionDto updatedRestriction = restrictionService.updateRestriction(id, restrictionDto);
+        return ResponseEntity.ok(updatedRestriction);
+    }
+
+    @DeleteMapping("/{id}")
+    @Authenticated
+    public ResponseEntity<Void> deleteRestriction(@PathVariable Long id) {
+        checkManage(restrictionService.getRestriction(id).getAccountId());
+
+        restrictionService.deleteRestriction(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Rules of one account are managed by its administrators, global and per-currency rules by system administrators.
+     */
+    private void checkManage(Long accountId) {
+        if (accountId == null) {
+            permissionService.checkSystemAdmin(CurrentPrincipal.get());
+        } else {
+            permissionService.check(CurrentPrincipal.get(), accountId, Permission.ADMIN);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package net.tislib.walletapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.SlowRequestDto;
+import net.tislib.walletapp.security.RequiresSystemAdmin;
+import net.tislib.walletapp.timing.SlowRequestLog;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/slow-requests")
+@RequiredArgsConstructor
+public class SlowRequestController {
+
+    private final SlowRequestLog slowRequestLog;
+
+    @GetMapping
+    @RequiresSystemAdmin
+    public ResponseEntity<List<SlowRequestDto>> getSlowRequests() {
+        return ResponseEntity.ok(slowRequestLog.getEntries());
+    }
+}
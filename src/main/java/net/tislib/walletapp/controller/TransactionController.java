@@ -2,12 +2,21 @@ package net.tislib.walletapp.controller;
 
 import lombok.RequiredArgsConstructor;
 import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.TransactionPageDto;
+import net.tislib.walletapp.dto.TransactionSearchCriteria;
+import net.tislib.walletapp.model.Permission;
+import net.tislib.walletapp.security.RequiresPermission;
+import net.tislib.walletapp.service.TransactionResponseCache;
+import net.tislib.walletapp.service.TransactionSearchService;
 import net.tislib.walletapp.service.TransactionService;
+import net.tislib.walletapp.stream.TransactionEventHub;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/accounts/{accountId}/transactions")
@@ -15,20 +24,54 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionResponseCache transactionResponseCache;
+    private final TransactionSearchService transactionSearchService;
+    private final TransactionEventHub transactionEventHub;
 
     @GetMapping
-    public ResponseEntity<List<TransactionDto>> getTransactionsByAccountId(@PathVariable Long accountId) {
-        List<TransactionDto> transactions = transactionService.getTransactionsByAccountId(accountId);
-        return ResponseEntity.ok(transactions);
+    @RequiresPermission(Permission.VIEW)
+    public ResponseEntity<byte[]> getTransactionsByAccountId(@PathVariable Long accountId, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(transactionResponseCache.getListingETag(accountId))) {
+            return null;
+        }
+        return toResponse(transactionResponseCache.getListing(accountId));
+    }
+
+    /**
+     * Transactions of the account matching the supplied filters, newest first. Further pages are requested
+     * with the {@code nextCursor} of the previous page and the same filters.
+     */
+    @GetMapping("/search")
+    @RequiresPermission(Permission.VIEW)
+    public ResponseEntity<TransactionPageDto> searchTransactions(@PathVariable Long accountId,
+                                                                 TransactionSearchCriteria criteria) {
+        return ResponseEntity.ok(transactionSearchService.searchTransactions(accountId, criteria));
+    }
+
+    /**
+     * Server-sent events of the account's transaction status and balance changes. Reconnecting clients
+     * send the standard {@code Last-Event-ID} header to receive the events they missed.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequiresPermission(Permission.VIEW)
+    public SseEmitter streamTransactionEvents(@PathVariable Long accountId,
+                                              @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return transactionEventHub.subscribe(accountId, lastEventId);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TransactionDto> getTransactionById(@PathVariable Long accountId, @PathVariable Long id) {
-        TransactionDto transaction = transactionService.getTransaction(id, accountId);
-        return ResponseEntity.ok(transaction);
+    @RequiresPermission(Permission.VIEW)
+    public ResponseEntity<byte[]> getTransactionById(@PathVariable Long accountId, @PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(transactionResponseCache.getTransactionETag(id, accountId))) {
+            return null;
+        }
+        return toResponse(transactionResponseCache.getTransaction(id, accountId));
     }
 
     @PostMapping
+    @RequiresPermission(Permission.TRANSACT)
     public ResponseEntity<TransactionDto> createTransaction(
             @PathVariable Long accountId,
             @RequestBody TransactionDto transactionDto) {
@@ -40,7 +83,21 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTransaction);
     }
 
+    @PostMapping("/execute")
+    @RequiresPermission(Permission.TRANSACT)
+    public ResponseEntity<TransactionDto> createAndExecuteTransaction(
+            @PathVariable Long accountId,
+            @RequestBody TransactionDto transactionDto) {
+
+        // Ensure the transaction is associated with the correct account
+        transactionDto.setAccountId(accountId);
+
+        TransactionDto executedTransaction = transactionService.createAndExecuteTransaction(transactionDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(executedTransaction);
+    }
+
     @PutMapping("/{id}")
+    @RequiresPermission(Permission.TRANSACT)
     public ResponseEntity<TransactionDto> updateTransaction(
             @PathVariable Long accountId,
             @PathVariable Long id,
@@ -54,14 +111,23 @@ public class TransactionController {
     }
 
     @DeleteMapping("/{id}")
+    @RequiresPermission(Permission.TRANSACT)
     public ResponseEntity<Void> deleteTransaction(@PathVariable Long accountId, @PathVariable Long id) {
         transactionService.deleteTransaction(id, accountId);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{id}/execute")
+    @RequiresPermission(Permission.TRANSACT)
     public ResponseEntity<TransactionDto> executeTransaction(@PathVariable Long accountId, @PathVariable Long id) {
         TransactionDto executedTransaction = transactionService.executeTransaction(id, accountId);
         return ResponseEntity.ok(executedTransaction);
     }
+
+    private ResponseEntity<byte[]> toResponse(TransactionResponseCache.CachedResponse response) {
+        return ResponseEntity.ok()
+                .eTag(response.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
+    }
 }
@@ -0,0 +1,55 @@
+package net.tislib.walletapp.controller;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.TransactionScheduleDto;
+import net.tislib.walletapp.model.Permission;
+import net.tislib.walletapp.security.RequiresPermission;
+import net.tislib.walletapp.service.TransactionScheduleService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/accounts/{accountId}/schedules")
+@RequiredArgsConstructor
+public class TransactionScheduleController {
+
+    private final TransactionScheduleService scheduleService;
+
+    @GetMapping
+    @RequiresPermission(Permission.VIEW)
+    public ResponseEntity<List<TransactionScheduleDto>> getSchedules(@PathVariable Long accountId) {
+        return ResponseEntity.ok(scheduleService.getSchedules(accountId));
+    }
+
+    @GetMapping("/{id}")
+    @RequiresPermission(Permission.VIEW)
+    public ResponseEntity<TransactionScheduleDto> getSchedule(@PathVariable Long accountId, @PathVariable Long id) {
+        return ResponseEntity.ok(scheduleService.getSchedule(id, accountId));
+    }
+
+    /**
+     * Schedules a transaction at {@code nextRunAt}, repeated every {@code repeatInterval} when set, for
+     * {@code remainingRuns} runs or until cancelled.
+     */
+    @PostMapping
+    @RequiresPermission(Permission.TRANSACT)
+    public ResponseEntity<TransactionScheduleDto> createSchedule(
+            @PathVariable Long accountId,
+            @RequestBody TransactionScheduleDto scheduleDto) {
+
+        // Ensure the schedule is associated with the correct account
+        scheduleDto.setAccountId(accountId);
+
+        TransactionScheduleDto createdSchedule = scheduleService.createSchedule(scheduleDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdSchedule);
+    }
+
+    @PostMapping("/{id}/cancel")
+    @RequiresPermission(Permission.TRANSACT)
+    public ResponseEntity<TransactionScheduleDto> cancelSchedule(@PathVariable Long accountId, @PathVariable Long id) {
+        return ResponseEntity.ok(scheduleService.cancelSchedule(id, accountId));
+    }
+}
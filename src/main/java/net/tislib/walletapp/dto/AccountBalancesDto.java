@@ -0,0 +1,13 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class AccountBalancesDto {
+    private Map<Long, BigDecimal> balances;
+    private List<Long> missingAccountIds;
+}
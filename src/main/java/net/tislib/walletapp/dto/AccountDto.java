@@ -1,14 +1,19 @@
 package net.tislib.walletapp.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AccountDto {
     private Long id;
     private String name;
     private String currency;
+    private Integer balanceSlots;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,14 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+import net.tislib.walletapp.model.Permission;
+
+import java.time.LocalDateTime;
+
+@Data
+public class AccountGrantDto {
+    private Long principalId;
+    private Long accountId;
+    private Permission permission;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,11 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BalanceEventDto {
+    private Long accountId;
+    private BigDecimal balance;
+}
@@ -0,0 +1,16 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+import net.tislib.walletapp.model.AggregateType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class DailyAggregateDto {
+    private Long accountId;
+    private LocalDate day;
+    private AggregateType type;
+    private BigDecimal total;
+    private Long transactionCount;
+}
@@ -0,0 +1,10 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+
+@Data
+public class HotAccountDto {
+    private Long accountId;
+    private long executions;
+    private double lockWaitMs;
+}
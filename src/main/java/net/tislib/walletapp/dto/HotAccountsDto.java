@@ -0,0 +1,11 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class HotAccountsDto {
+    private List<HotAccountDto> byExecutions;
+    private List<HotAccountDto> byLockWait;
+}
@@ -0,0 +1,16 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+import net.tislib.walletapp.model.MismatchKind;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class ReconciliationMismatchDto {
+    private Long accountId;
+    private MismatchKind kind;
+    private BigDecimal expected;
+    private BigDecimal actual;
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,14 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+
+/**
+ * Optional overrides for a reconciliation run; unset fields fall back to configured defaults.
+ */
+@Data
+public class ReconciliationRequest {
+    private Integer chunkSize;
+    private Integer parallelism;
+    private Integer maxAccountsPerSecond;
+    private Boolean compareStoredBalance;
+}
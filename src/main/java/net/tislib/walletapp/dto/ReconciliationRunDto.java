@@ -0,0 +1,29 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+import net.tislib.walletapp.model.ReconciliationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class ReconciliationRunDto {
+    private Long id;
+    private ReconciliationStatus status;
+    private Integer chunkSize;
+    private Integer parallelism;
+    private Integer maxAccountsPerSecond;
+    private Boolean compareStoredBalance;
+    private Long fromAccountId;
+    private Long toAccountId;
+    private Long nextAccountId;
+    private Long maxTransactionId;
+    private Long accountsChecked;
+    private Long mismatchCount;
+    private BigDecimal transfersOut;
+    private BigDecimal transfersIn;
+    private Long elapsedMillis;
+    private Double accountsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
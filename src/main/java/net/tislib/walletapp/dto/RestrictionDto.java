@@ -0,0 +1,19 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+import net.tislib.walletapp.model.RestrictionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class RestrictionDto {
+    private Long id;
+    private RestrictionType type;
+    private Long accountId;
+    private String currency;
+    private BigDecimal limitValue;
+    private Boolean enabled;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
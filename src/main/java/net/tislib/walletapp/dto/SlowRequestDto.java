@@ -0,0 +1,19 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class SlowRequestDto {
+    private LocalDateTime completedAt;
+    private String method;
+    private String uri;
+    private int status;
+    private double durationMs;
+    private int statements;
+    private double sqlMs;
+    private double connectionMs;
+    private Map<String, Double> phasesMs;
+}
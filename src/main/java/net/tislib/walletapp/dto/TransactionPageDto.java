@@ -0,0 +1,14 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a transaction search, newest first. {@code nextCursor} is null on the last page.
+ */
+@Data
+public class TransactionPageDto {
+    private List<TransactionDto> items;
+    private String nextCursor;
+}
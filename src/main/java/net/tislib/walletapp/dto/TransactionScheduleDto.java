@@ -0,0 +1,24 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+import net.tislib.walletapp.model.ScheduleStatus;
+import net.tislib.walletapp.model.TransactionType;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TransactionScheduleDto {
+    private Long id;
+    private Long accountId;
+    private TransactionType type;
+    private TransactionData data;
+    private ScheduleStatus status;
+    private LocalDateTime nextRunAt;
+    private String repeatInterval;
+    private Integer remainingRuns;
+    private Integer runs;
+    private Long lastTransactionId;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
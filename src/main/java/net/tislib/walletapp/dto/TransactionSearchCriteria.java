@@ -0,0 +1,40 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters of a transaction search; unset fields do not restrict the result. The created range is
+ * inclusive of {@code createdFrom} and exclusive of {@code createdTo}, the amount range is inclusive.
+ */
+@Data
+public class TransactionSearchCriteria {
+    private TransactionType type;
+    private TransactionStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    /**
+     * Destination account of the transfers made from the searched account.
+     */
+    private Long counterpartyAccountId;
+
+    /**
+     * Opaque position returned as {@code nextCursor} by the previous page.
+     */
+    private String cursor;
+
+    private Integer limit;
+}
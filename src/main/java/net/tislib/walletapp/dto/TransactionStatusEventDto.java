@@ -0,0 +1,11 @@
+package net.tislib.walletapp.dto;
+
+import lombok.Data;
+import net.tislib.walletapp.model.TransactionStatus;
+
+@Data
+public class TransactionStatusEventDto {
+    private Long accountId;
+    private Long transactionId;
+    private TransactionStatus status;
+}
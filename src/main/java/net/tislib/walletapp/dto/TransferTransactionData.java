@@ -16,6 +16,36 @@ public final class TransferTransactionData implements TransactionData {
     private BigDecimal amount;
     private String description;
 
+    /**
+     * Exchange rate applied when the destination account has another currency; set on execution.
+     */
+    private BigDecimal rate;
+
+    /**
+     * Amount credited in the destination account's currency when it differs; set on execution.
+     */
+    private BigDecimal destinationAmount;
+
+    /**
+     * @return the amount credited to the destination account
+     */
+    public BigDecimal creditedAmount() {
+        return destinationAmount != null ? destinationAmount : amount;
+    }
+
+    /**
+     * @return a copy of this transfer credited with the given conversion
+     */
+    public TransferTransactionData converted(BigDecimal rate, BigDecimal destinationAmount) {
+        TransferTransactionData converted = new TransferTransactionData();
+        converted.setDestinationAccountId(destinationAccountId);
+        converted.setAmount(amount);
+        converted.setDescription(description);
+        converted.setRate(rate);
+        converted.setDestinationAmount(destinationAmount);
+        return converted;
+    }
+
     @Override
     public TransactionType type() {
         return TransactionType.TRANSFER;
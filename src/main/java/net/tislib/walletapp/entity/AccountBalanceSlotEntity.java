@@ -0,0 +1,30 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "account_balance_slot")
+@IdClass(AccountBalanceSlotId.class)
+@Getter
+@Setter
+@EqualsAndHashCode(of = {"accountId", "slot"})
+@ToString
+public class AccountBalanceSlotEntity {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Id
+    @Column(nullable = false)
+    private Integer slot;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+}
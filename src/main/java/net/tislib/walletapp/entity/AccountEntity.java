@@ -26,6 +26,8 @@ public class AccountEntity {
     @Column(nullable = false)
     private String currency;
 
+    @Column(name = "balance_slots", nullable = false)
+    private Integer balanceSlots;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -33,9 +35,15 @@ public class AccountEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (balanceSlots == null) {
+            balanceSlots = 1;
+        }
     }
 
     @PreUpdate
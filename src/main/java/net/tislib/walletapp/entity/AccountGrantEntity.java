@@ -0,0 +1,41 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.tislib.walletapp.model.Permission;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "account_grant")
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class AccountGrantEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "principal_id", nullable = false)
+    private Long principalId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Permission permission;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,44 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.tislib.walletapp.model.AggregateType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_account_aggregate")
+@IdClass(DailyAggregateId.class)
+@Getter
+@Setter
+@EqualsAndHashCode(of = {"accountId", "day", "type", "slot"})
+@ToString
+public class DailyAggregateEntity {
+
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AggregateType type;
+
+    @Id
+    @Column(nullable = false)
+    private Integer slot;
+
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+}
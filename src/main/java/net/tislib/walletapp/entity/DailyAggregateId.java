@@ -0,0 +1,19 @@
+package net.tislib.walletapp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import net.tislib.walletapp.model.AggregateType;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyAggregateId implements Serializable {
+    private Long accountId;
+    private LocalDate day;
+    private AggregateType type;
+    private Integer slot;
+}
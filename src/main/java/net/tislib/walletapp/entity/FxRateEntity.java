@@ -0,0 +1,34 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "fx_rate")
+@IdClass(FxRateId.class)
+@Getter
+@Setter
+@EqualsAndHashCode(of = {"baseCurrency", "quoteCurrency"})
+@ToString
+public class FxRateEntity {
+
+    @Id
+    @Column(name = "base_currency", nullable = false, length = 3)
+    private String baseCurrency;
+
+    @Id
+    @Column(name = "quote_currency", nullable = false, length = 3)
+    private String quoteCurrency;
+
+    @Column(nullable = false)
+    private BigDecimal rate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
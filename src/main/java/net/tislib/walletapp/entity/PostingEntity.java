@@ -0,0 +1,37 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "posting")
+@IdClass(PostingId.class)
+@Getter
+@Setter
+@EqualsAndHashCode(of = {"transactionId", "leg"})
+@ToString
+public class PostingEntity {
+
+    @Id
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Id
+    @Column(nullable = false)
+    private Short leg;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,15 @@
+package net.tislib.walletapp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostingId implements Serializable {
+    private Long transactionId;
+    private Short leg;
+}
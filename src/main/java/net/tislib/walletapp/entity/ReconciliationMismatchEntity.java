@@ -0,0 +1,48 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.tislib.walletapp.model.MismatchKind;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reconciliation_mismatch")
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class ReconciliationMismatchEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MismatchKind kind;
+
+    @Column
+    private BigDecimal expected;
+
+    @Column
+    private BigDecimal actual;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        detectedAt = LocalDateTime.now();
+    }
+}
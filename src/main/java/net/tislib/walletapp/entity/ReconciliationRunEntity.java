@@ -0,0 +1,92 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.tislib.walletapp.model.ReconciliationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reconciliation_run")
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class ReconciliationRunEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReconciliationStatus status = ReconciliationStatus.RUNNING;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(nullable = false)
+    private Integer parallelism;
+
+    @Column(name = "max_accounts_per_second", nullable = false)
+    private Integer maxAccountsPerSecond;
+
+    @Column(name = "compare_stored_balance", nullable = false)
+    private Boolean compareStoredBalance;
+
+    @Column(name = "from_account_id", nullable = false)
+    private Long fromAccountId;
+
+    @Column(name = "to_account_id", nullable = false)
+    private Long toAccountId;
+
+    /**
+     * Checkpoint: every account below this id has been reconciled.
+     */
+    @Column(name = "next_account_id", nullable = false)
+    private Long nextAccountId;
+
+    /**
+     * Highest transaction id visible to this run, so resumed runs keep looking at the same ledger cut.
+     */
+    @Column(name = "max_transaction_id", nullable = false)
+    private Long maxTransactionId;
+
+    @Column(name = "accounts_checked", nullable = false)
+    private Long accountsChecked = 0L;
+
+    @Column(name = "mismatch_count", nullable = false)
+    private Long mismatchCount = 0L;
+
+    @Column(name = "transfers_out", nullable = false)
+    private BigDecimal transfersOut = BigDecimal.ZERO;
+
+    @Column(name = "transfers_in", nullable = false)
+    private BigDecimal transfersIn = BigDecimal.ZERO;
+
+    @Column(name = "elapsed_millis", nullable = false)
+    private Long elapsedMillis = 0L;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
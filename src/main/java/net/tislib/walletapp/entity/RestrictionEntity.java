@@ -0,0 +1,60 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import net.tislib.walletapp.model.RestrictionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A limit on outgoing money, scoped to one account, to all accounts of a currency,
+ * or to every account when neither is set.
+ */
+@Entity
+@Table(name = "wallet_restriction")
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class RestrictionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RestrictionType type;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column
+    private String currency;
+
+    @Column(name = "limit_value", nullable = false)
+    private BigDecimal limitValue;
+
+    @Column(nullable = false)
+    private Boolean enabled = true;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -47,6 +47,12 @@ public class TransactionEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * When the transaction became DONE, in UTC.
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
     @Version
     private Long version;
 
@@ -0,0 +1,99 @@
+package net.tislib.walletapp.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.model.ScheduleStatus;
+import net.tislib.walletapp.model.TransactionType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A transaction to be created and executed at a future time, once or on a recurrence.
+ * <p>
+ * A dispatcher node claims the schedule shortly before it is due by setting {@code claimedBy} until
+ * {@code claimedUntil}; other nodes pick it up again once that lease has expired. While a run's
+ * transaction has been created but its execution has not been recorded, it is kept in
+ * {@code pendingTransactionId}, so that a run interrupted by a crash is finished rather than repeated.
+ */
+@Entity
+@Table(name = "transaction_schedule")
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@ToString
+public class TransactionScheduleEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "transaction_data", columnDefinition = "jsonb", nullable = false)
+    private TransactionData transactionData;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduleStatus status = ScheduleStatus.ACTIVE;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    /**
+     * ISO-8601 period ({@code P1M}) or duration ({@code PT1H}) between runs; null for a single run.
+     */
+    @Column(name = "repeat_interval")
+    private String repeatInterval;
+
+    /**
+     * Runs left including the next one; null repeats until cancelled.
+     */
+    @Column(name = "remaining_runs")
+    private Integer remainingRuns;
+
+    @Column(nullable = false)
+    private Integer runs = 0;
+
+    @Column(name = "pending_transaction_id")
+    private Long pendingTransactionId;
+
+    @Column(name = "last_transaction_id")
+    private Long lastTransactionId;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
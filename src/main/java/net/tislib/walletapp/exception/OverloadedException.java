@@ -0,0 +1,17 @@
+package net.tislib.walletapp.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is shed because the node is saturated.
+ */
+@Getter
+public class OverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package net.tislib.walletapp.exception;
+
+/**
+ * Thrown when the current principal lacks the permission required on an account.
+ */
+public class PermissionDeniedException extends RuntimeException {
+
+    public PermissionDeniedException(String message) {
+        super(message);
+    }
+}
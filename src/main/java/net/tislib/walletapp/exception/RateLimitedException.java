@@ -0,0 +1,17 @@
+package net.tislib.walletapp.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request exceeds its per-account or per-client rate budget.
+ */
+@Getter
+public class RateLimitedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package net.tislib.walletapp.exception;
+
+/**
+ * Thrown when a request does not identify a principal but permission checks are enabled.
+ */
+public class UnauthenticatedException extends RuntimeException {
+
+    public UnauthenticatedException(String message) {
+        super(message);
+    }
+}
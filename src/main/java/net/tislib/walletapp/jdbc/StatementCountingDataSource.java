@@ -0,0 +1,167 @@
+package net.tislib.walletapp.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records the statements executed through its connections into the thread's {@link StatementStats}.
+ * <p>
+ * Connections, statements and result sets are wrapped in JDK proxies. Statements executed while no
+ * totals are being recorded, such as those of scheduled jobs, go straight to the driver. The time taken
+ * to obtain connections is recorded as well.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        recordConnection(start);
+        return wrap(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        recordConnection(start);
+        return wrap(connection);
+    }
+
+    private static void recordConnection(long start) {
+        StatementStats stats = StatementStats.current();
+        if (stats != null) {
+            stats.recordConnection(System.nanoTime() - start);
+        }
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, new Handler(connection) {
+            @Override
+            Object handle(Method method, Object[] args) throws Throwable {
+                Object result = invokeTarget(method, args);
+                return result instanceof Statement statement ? wrap(statement) : result;
+            }
+        });
+    }
+
+    private static Statement wrap(Statement statement) {
+        Handler handler = new Handler(statement) {
+            @Override
+            Object handle(Method method, Object[] args) throws Throwable {
+                StatementStats stats = StatementStats.current();
+                if (stats == null) {
+                    return invokeTarget(method, args);
+                }
+                if (!method.getName().startsWith("execute")) {
+                    Object result = invokeTarget(method, args);
+                    return result instanceof ResultSet resultSet ? wrap(resultSet, stats) : result;
+                }
+
+                long start = System.nanoTime();
+                Object result = null;
+                try {
+                    result = invokeTarget(method, args);
+                    return result instanceof ResultSet resultSet ? wrap(resultSet, stats) : result;
+                } finally {
+                    stats.recordExecution(System.nanoTime() - start, updatedRows(result));
+                }
+            }
+        };
+
+        if (statement instanceof CallableStatement) {
+            return proxy(CallableStatement.class, handler);
+        }
+        if (statement instanceof PreparedStatement) {
+            return proxy(PreparedStatement.class, handler);
+        }
+        return proxy(Statement.class, handler);
+    }
+
+    private static ResultSet wrap(ResultSet resultSet, StatementStats stats) {
+        return proxy(ResultSet.class, new Handler(resultSet) {
+            @Override
+            Object handle(Method method, Object[] args) throws Throwable {
+                Object result = invokeTarget(method, args);
+                if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                    stats.recordRow();
+                }
+                return result;
+            }
+        });
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * Delegates to the target, with identity semantics for {@code equals} and {@code hashCode}, since
+     * Hibernate keeps statements in hash maps.
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        private final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            return handle(method, args);
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package net.tislib.walletapp.jdbc;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Statements, rows and JDBC time of the work done on one thread between {@link #start} and {@link #stop},
+ * such as one HTTP request. Work handed to other threads, like group commit dispatchers, is not included.
+ * <p>
+ * A statement is one execution: a batch counts once, however many rows it carries. Rows are those
+ * read from result sets plus those reported as updated. Connection time is the wait for connections
+ * handed out by the pool, which is where requests queue when the pool is exhausted.
+ */
+@Getter
+public final class StatementStats {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private int connections;
+    private long connectionNanos;
+
+    private StatementStats() {
+    }
+
+    public static StatementStats start() {
+        StatementStats stats = new StatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the totals being recorded on this thread, or {@code null} if none are
+     */
+    public static StatementStats current() {
+        return CURRENT.get();
+    }
+
+    void recordExecution(long elapsedNanos, long updatedRows) {
+        statements++;
+        nanos += elapsedNanos;
+        rows += updatedRows;
+    }
+
+    void recordConnection(long elapsedNanos) {
+        connections++;
+        connectionNanos += elapsedNanos;
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "statements=%d; rows=%d; time=%.3fms", statements, rows, nanos / 1e6);
+    }
+}
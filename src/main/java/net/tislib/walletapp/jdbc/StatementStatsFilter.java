@@ -0,0 +1,90 @@
+package net.tislib.walletapp.jdbc;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.StatementStatsProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the statements, rows and JDBC time of each HTTP request, tagged with its method and URI pattern.
+ * Event streams are not recorded, since they go async after subscribing. Wraps the server timing filter,
+ * which reports the totals once the rest of the chain has returned.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class StatementStatsFilter extends OncePerRequestFilter {
+
+    private final StatementStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * Requests being measured. Their totals are recorded only after the response may have reached the
+     * client, so whoever reads the metrics right after a response waits for this to drop to 0.
+     */
+    public int activeRequests() {
+        return active.get();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementStats stats = StatementStats.start();
+        active.incrementAndGet();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementStats.stop();
+            try {
+                if (!request.isAsyncStarted()) {
+                    record(request, stats);
+                }
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        DistributionSummary.builder("wallet.request.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("wallet.request.sql.rows")
+                .description("Rows read or updated per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("wallet.request.sql.time")
+                .description("Time spent executing SQL statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+}
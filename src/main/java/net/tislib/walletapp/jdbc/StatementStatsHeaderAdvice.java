@@ -0,0 +1,41 @@
+package net.tislib.walletapp.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.StatementStatsProperties;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Reports the request's statement totals in a response header, when debugging is enabled. The header is
+ * added just before the body is written, since headers cannot change once the response is committed;
+ * responses without a body do not get it.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class StatementStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-SQL-Stats";
+
+    private final StatementStatsProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled() && properties.isDebugHeader();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StatementStats stats = StatementStats.current();
+        if (stats != null) {
+            response.getHeaders().set(HEADER, stats.toString());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,25 @@
+package net.tislib.walletapp.ledger;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Work handed to the sequencer thread. All ledger state is only touched through these commands.
+ */
+sealed interface LedgerCommand {
+
+    record Execute(long transactionId, byte kind, long accountId, long counterpartyId, long amount,
+                   long readAtNanos, CompletableFuture<LedgerOutcome> result) implements LedgerCommand {
+    }
+
+    record Open(long accountId, long balance, String currency, CompletableFuture<Boolean> result) implements LedgerCommand {
+    }
+
+    record ReadBalances(long[] accountIds, CompletableFuture<long[]> result) implements LedgerCommand {
+    }
+
+    record IsApplied(long transactionId, CompletableFuture<Boolean> result) implements LedgerCommand {
+    }
+
+    record Projected(long[] transactionIds, long upToSequence, long committedAtNanos) implements LedgerCommand {
+    }
+}
@@ -0,0 +1,424 @@
+package net.tislib.walletapp.ledger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tislib.walletapp.config.ExecutionProperties;
+import net.tislib.walletapp.config.LedgerProperties;
+import net.tislib.walletapp.exception.OverloadedException;
+import net.tislib.walletapp.model.ExecutionMode;
+import net.tislib.walletapp.model.Money;
+import net.tislib.walletapp.model.TransactionType;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * In-memory execution engine for {@link ExecutionMode#IN_MEMORY}.
+ * <p>
+ * Balances are held in minor units in a primitive map owned by a single sequencer thread, which applies
+ * commands in arrival order without locks. Every execution is appended to a memory-mapped
+ * {@link LedgerJournal}; the sequencer applies a whole batch of queued commands, forces the journal once
+ * and only then completes their futures, so each caller's result is durable when it returns. The
+ * database is updated afterwards by the {@link LedgerProjector}.
+ * <p>
+ * On start the balances are restored from the newest snapshot plus the journal after it, and every
+ * journaled execution that may not have been projected yet is projected again; projection is idempotent.
+ * Accounts enter the ledger through {@link #open}, seeded with their balance and currency from the
+ * database. Currencies are not journaled, so an account recovered from the journal is opened again
+ * before its first transfer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LedgerEngine implements SmartLifecycle {
+
+    /**
+     * Decimal places kept for amounts; fine enough for every currency's minor unit.
+     */
+    public static final int SCALE = Money.DEFAULT_SCALE;
+
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final LedgerProperties properties;
+    private final ExecutionProperties executionProperties;
+    private final LedgerProjector projector;
+
+    private BlockingQueue<LedgerCommand> commands;
+    private LedgerJournal journal;
+    private LedgerSnapshotStore snapshots;
+    private Thread sequencer;
+    private volatile boolean running;
+    private volatile Throwable failure;
+
+    // Sequencer-owned state
+    private final LongLongMap balances = new LongLongMap(1024);
+    private final LongLongMap appliedTransactions = new LongLongMap(1024);
+    private final LongLongMap currencies = new LongLongMap(1024);
+    private final Map<String, Long> currencyIds = new HashMap<>();
+    private final Deque<LedgerCommand.Projected> projectedBatches = new ArrayDeque<>();
+    private long sequence;
+    private long snapshotSequence;
+    private long projectedSequence;
+    private long staleBeforeNanos;
+    private boolean hasForgotten;
+
+    @Override
+    public synchronized void start() {
+        if (running || executionProperties.getMode() != ExecutionMode.IN_MEMORY) {
+            return;
+        }
+
+        List<LedgerRecord> unprojected = new ArrayList<>();
+        try {
+            Path directory = Path.of(properties.getDirectory());
+            snapshots = new LedgerSnapshotStore(directory);
+            snapshotSequence = snapshots.readLatest(balances);
+            journal = new LedgerJournal(directory, (int) properties.getSegmentSize().toBytes());
+            long last = journal.replay(record -> {
+                if (record.sequence() > snapshotSequence) {
+                    apply(record);
+                }
+                if (record.isExecution() && record.applied()) {
+                    appliedTransactions.put(record.transactionId(), record.sequence());
+                }
+                unprojected.add(record);
+            });
+            sequence = Math.max(last, snapshotSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the ledger", e);
+        }
+        log.info("Ledger recovered at sequence {} with {} accounts, {} records to project",
+                sequence, balances.size(), unprojected.size());
+
+        commands = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        running = true;
+        // Replayed records are queued for projection ahead of anything the sequencer appends
+        projector.start(this, unprojected);
+        sequencer = new Thread(this::runSequencer, "ledger-sequencer");
+        sequencer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            // The sequencer drains queued commands before exiting; the projector then drains its records
+            sequencer.join();
+            projector.stop();
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Could not close the ledger journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so requests never reach a stopped engine.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Applies an execution and waits until it is journaled.
+     *
+     * @param readAtNanos {@link System#nanoTime()} taken before the caller read the transaction status
+     */
+    public LedgerOutcome execute(long transactionId, TransactionType type, long accountId, long destinationAccountId,
+                                 BigDecimal amount, long readAtNanos) {
+        byte kind = switch (type) {
+            case DEPOSIT -> LedgerRecord.DEPOSIT;
+            case WITHDRAW -> LedgerRecord.WITHDRAW;
+            case TRANSFER -> LedgerRecord.TRANSFER;
+        };
+        // The amount is read from the database, so legacy rows are rounded like stored amounts are
+        RoundingMode rounding = type == TransactionType.DEPOSIT ? RoundingMode.FLOOR : RoundingMode.CEILING;
+        long minorUnits = Money.toMinorUnits(amount, SCALE, rounding);
+        CompletableFuture<LedgerOutcome> result = new CompletableFuture<>();
+        return submit(new LedgerCommand.Execute(transactionId, kind, accountId, destinationAccountId,
+                minorUnits, readAtNanos, result), result);
+    }
+
+    /**
+     * Adds an account with its current balance, unless the ledger already knows it, and records its currency.
+     *
+     * @return whether the account was added
+     */
+    public boolean open(long accountId, BigDecimal balance, String currency) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        // The balance is read from the database, so it is rounded down like stored balances are
+        long minorUnits = Money.toMinorUnits(balance, SCALE, RoundingMode.FLOOR);
+        return submit(new LedgerCommand.Open(accountId, minorUnits, currency, result), result);
+    }
+
+    /**
+     * Returns the balances of the given accounts that the ledger knows.
+     */
+    public Map<Long, BigDecimal> getBalances(Collection<Long> accountIds) {
+        long[] ids = accountIds.stream().mapToLong(Long::longValue).toArray();
+        CompletableFuture<long[]> result = new CompletableFuture<>();
+        long[] values = submit(new LedgerCommand.ReadBalances(ids, result), result);
+
+        Map<Long, BigDecimal> found = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (values[i] != UNKNOWN) {
+                found.put(ids[i], Money.toDecimal(values[i], SCALE));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Whether the transaction was applied by the ledger but its projection may not have committed yet.
+     */
+    public boolean isApplied(long transactionId) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        return submit(new LedgerCommand.IsApplied(transactionId, result), result);
+    }
+
+    void markProjected(long[] transactionIds, long upToSequence, long committedAtNanos) throws InterruptedException {
+        // After shutdown nobody consumes the queue; the records are projected again on the next start
+        if (running) {
+            commands.put(new LedgerCommand.Projected(transactionIds, upToSequence, committedAtNanos));
+        }
+    }
+
+    private <T> T submit(LedgerCommand command, CompletableFuture<T> result) {
+        if (!running || failure != null) {
+            throw new IllegalStateException("Ledger engine is not running");
+        }
+        if (!commands.offer(command)) {
+            throw new OverloadedException("Ledger queue is full", 1);
+        }
+
+        try {
+            return result.get(properties.getSubmitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the ledger", e);
+        } catch (TimeoutException e) {
+            throw new OverloadedException("Ledger did not answer in time", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Ledger command failed", e.getCause());
+        }
+    }
+
+    private void runSequencer() {
+        List<LedgerCommand> batch = new ArrayList<>(properties.getMaxBatchSize());
+        List<Runnable> completions = new ArrayList<>();
+        List<LedgerRecord> appended = new ArrayList<>();
+
+        while (running || !commands.isEmpty()) {
+            try {
+                LedgerCommand first = commands.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                commands.drainTo(batch, properties.getMaxBatchSize() - 1);
+
+                for (LedgerCommand command : batch) {
+                    handle(command, completions, appended);
+                }
+
+                // Group commit: one force for the whole batch, then everyone is answered
+                if (!appended.isEmpty()) {
+                    journal.flush();
+                    projector.enqueue(appended);
+                }
+                completions.forEach(Runnable::run);
+
+                if (sequence - snapshotSequence >= properties.getSnapshotEvery()) {
+                    snapshots.write(sequence, balances);
+                    snapshotSequence = sequence;
+                    journal.deleteSegmentsUpTo(Math.min(snapshotSequence, projectedSequence));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                // State may be ahead of the journal now; refuse further work until restarted and recovered
+                log.error("Ledger sequencer failed", e);
+                failure = e;
+                for (LedgerCommand command : batch) {
+                    fail(command, e);
+                }
+                commands.forEach(command -> fail(command, e));
+                return;
+            } finally {
+                batch.clear();
+                completions.clear();
+                appended.clear();
+            }
+        }
+    }
+
+    private void handle(LedgerCommand command, List<Runnable> completions, List<LedgerRecord> appended) throws IOException {
+        if (command instanceof LedgerCommand.Execute execute) {
+            LedgerOutcome outcome;
+            try {
+                outcome = execute(execute, appended);
+            } catch (ArithmeticException e) {
+                execute.result().completeExceptionally(new IllegalArgumentException("Balance out of range", e));
+                return;
+            }
+            completions.add(() -> execute.result().complete(outcome));
+        } else if (command instanceof LedgerCommand.Open open) {
+            boolean added = !balances.containsKey(open.accountId());
+            if (added) {
+                append(new LedgerRecord(++sequence, LedgerRecord.OPEN, true, 0, open.accountId(), 0, open.balance()), appended);
+            }
+            currencies.put(open.accountId(), currencyIds.computeIfAbsent(open.currency(), code -> currencyIds.size() + 1L));
+            completions.add(() -> open.result().complete(added));
+        } else if (command instanceof LedgerCommand.ReadBalances read) {
+            long[] values = new long[read.accountIds().length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = balances.get(read.accountIds()[i], UNKNOWN);
+            }
+            read.result().complete(values);
+        } else if (command instanceof LedgerCommand.IsApplied isApplied) {
+            isApplied.result().complete(appliedTransactions.containsKey(isApplied.transactionId()));
+        } else if (command instanceof LedgerCommand.Projected projected) {
+            forgetProjected(projected);
+        }
+    }
+
+    private LedgerOutcome execute(LedgerCommand.Execute command, List<LedgerRecord> appended) throws IOException {
+        if (appliedTransactions.containsKey(command.transactionId())) {
+            return LedgerOutcome.ALREADY_APPLIED;
+        }
+        if (hasForgotten && command.readAtNanos() - staleBeforeNanos < 0) {
+            return LedgerOutcome.STALE;
+        }
+
+        long source = balances.get(command.accountId(), UNKNOWN);
+        long destination = command.kind() == LedgerRecord.TRANSFER ? balances.get(command.counterpartyId(), UNKNOWN) : 0;
+        if (source == UNKNOWN || destination == UNKNOWN) {
+            return LedgerOutcome.UNKNOWN_ACCOUNT;
+        }
+        if (command.kind() == LedgerRecord.TRANSFER) {
+            long sourceCurrency = currencies.get(command.accountId(), UNKNOWN);
+            long destinationCurrency = currencies.get(command.counterpartyId(), UNKNOWN);
+            if (sourceCurrency == UNKNOWN || destinationCurrency == UNKNOWN) {
+                return LedgerOutcome.UNKNOWN_ACCOUNT;
+            }
+            if (sourceCurrency != destinationCurrency) {
+                return LedgerOutcome.CURRENCY_MISMATCH;
+            }
+        }
+
+        // Validate and compute before journaling, so a rejected command leaves no partial change
+        boolean applied = command.kind() == LedgerRecord.DEPOSIT || source >= command.amount();
+        if (applied && command.kind() == LedgerRecord.DEPOSIT) {
+            Math.addExact(source, command.amount());
+        } else if (applied && command.kind() == LedgerRecord.TRANSFER) {
+            long destinationBefore = command.counterpartyId() == command.accountId() ? source - command.amount() : destination;
+            Math.addExact(destinationBefore, command.amount());
+        }
+
+        LedgerRecord record = new LedgerRecord(++sequence, command.kind(), applied, command.transactionId(),
+                command.accountId(), command.counterpartyId(), command.amount());
+        append(record, appended);
+        if (!applied) {
+            return LedgerOutcome.INSUFFICIENT_FUNDS;
+        }
+        apply(record);
+        appliedTransactions.put(command.transactionId(), record.sequence());
+        return LedgerOutcome.APPLIED;
+    }
+
+    private void apply(LedgerRecord record) {
+        if (record.kind() == LedgerRecord.OPEN) {
+            if (!balances.containsKey(record.accountId())) {
+                balances.put(record.accountId(), record.amount());
+            }
+            return;
+        }
+        if (!record.applied()) {
+            return;
+        }
+
+        long amount = record.amount();
+        switch (record.kind()) {
+            case LedgerRecord.DEPOSIT -> balances.put(record.accountId(), balances.get(record.accountId(), 0) + amount);
+            case LedgerRecord.WITHDRAW -> balances.put(record.accountId(), balances.get(record.accountId(), 0) - amount);
+            case LedgerRecord.TRANSFER -> {
+                balances.put(record.accountId(), balances.get(record.accountId(), 0) - amount);
+                balances.put(record.counterpartyId(), balances.get(record.counterpartyId(), 0) + amount);
+            }
+            default -> throw new IllegalStateException("Unknown ledger record kind: " + record.kind());
+        }
+    }
+
+    private void append(LedgerRecord record, List<LedgerRecord> appended) throws IOException {
+        journal.append(record);
+        appended.add(record);
+    }
+
+    /**
+     * Keeps projected transactions for the retention period, so that callers who read the transaction
+     * just before its projection committed are still answered from memory, then forgets them.
+     */
+    private void forgetProjected(LedgerCommand.Projected projected) throws IOException {
+        projectedBatches.addLast(projected);
+        projectedSequence = Math.max(projectedSequence, projected.upToSequence());
+
+        long retentionNanos = properties.getDedupeRetention().toNanos();
+        long now = System.nanoTime();
+        while (!projectedBatches.isEmpty() && now - projectedBatches.peekFirst().committedAtNanos() > retentionNanos) {
+            LedgerCommand.Projected expired = projectedBatches.removeFirst();
+            for (long transactionId : expired.transactionIds()) {
+                appliedTransactions.remove(transactionId);
+            }
+            staleBeforeNanos = expired.committedAtNanos();
+            hasForgotten = true;
+        }
+
+        journal.deleteSegmentsUpTo(Math.min(snapshotSequence, projectedSequence));
+    }
+
+    private void fail(LedgerCommand command, Throwable cause) {
+        IllegalStateException exception = new IllegalStateException("Ledger engine failed", cause);
+        if (command instanceof LedgerCommand.Execute execute) {
+            execute.result().completeExceptionally(exception);
+        } else if (command instanceof LedgerCommand.Open open) {
+            open.result().completeExceptionally(exception);
+        } else if (command instanceof LedgerCommand.ReadBalances read) {
+            read.result().completeExceptionally(exception);
+        } else if (command instanceof LedgerCommand.IsApplied isApplied) {
+            isApplied.result().completeExceptionally(exception);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package net.tislib.walletapp.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Append-only write-ahead journal made of fixed-size memory-mapped segments.
+ * <p>
+ * Segments are named after the sequence of their first record. Appends only write to the mapping; the
+ * caller decides when to {@link #flush()}, which lets the sequencer force many records to disk at once.
+ * Not thread-safe; owned by the ledger sequencer thread.
+ */
+final class LedgerJournal implements Closeable {
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final NavigableMap<Long, Path> segments = new TreeMap<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(LedgerRecord.SIZE);
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long currentSegment;
+
+    LedgerJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize - segmentSize % LedgerRecord.SIZE;
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), file);
+            }
+        }
+    }
+
+    /**
+     * Passes every intact record to the consumer in sequence order and positions the journal after the
+     * last one, so that a torn record at the tail is overwritten by the next append.
+     *
+     * @return sequence of the last intact record, or 0 for an empty journal
+     */
+    long replay(Consumer<LedgerRecord> consumer) throws IOException {
+        long last = 0;
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            FileChannel segmentChannel = FileChannel.open(segment.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer mapped = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentChannel.size());
+            LedgerRecord record;
+            while ((record = LedgerRecord.readFrom(mapped)) != null) {
+                consumer.accept(record);
+                last = record.sequence();
+            }
+
+            if (segment.getKey().equals(segments.lastKey())) {
+                channel = segmentChannel;
+                buffer = mapped;
+                currentSegment = segment.getKey();
+            } else {
+                segmentChannel.close();
+            }
+        }
+        return last;
+    }
+
+    void append(LedgerRecord record) throws IOException {
+        if (buffer == null || buffer.remaining() < LedgerRecord.SIZE) {
+            roll(record.sequence());
+        }
+        scratch.clear();
+        record.writeTo(scratch);
+        scratch.flip();
+        buffer.put(scratch);
+    }
+
+    void flush() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Deletes segments that only hold records up to the given sequence. The segment being written is kept.
+     */
+    void deleteSegmentsUpTo(long sequence) throws IOException {
+        Iterator<Map.Entry<Long, Path>> iterator = segments.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Path> segment = iterator.next();
+            Long nextFirst = segments.higherKey(segment.getKey());
+            if (segment.getKey() == currentSegment || nextFirst == null || nextFirst - 1 > sequence) {
+                return;
+            }
+            Files.deleteIfExists(segment.getValue());
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+        }
+        Path file = directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        currentSegment = firstSequence;
+        segments.put(firstSequence, file);
+    }
+}
@@ -0,0 +1,38 @@
+package net.tislib.walletapp.ledger;
+
+/**
+ * Result of submitting an execution to the ledger engine.
+ */
+public enum LedgerOutcome {
+    /**
+     * Balances were changed and the change is durable in the journal.
+     */
+    APPLIED,
+
+    /**
+     * The transaction had already been applied; nothing changed.
+     */
+    ALREADY_APPLIED,
+
+    /**
+     * The source account does not hold enough funds; the rejection is journaled.
+     */
+    INSUFFICIENT_FUNDS,
+
+    /**
+     * One of the accounts has not been opened in the ledger yet.
+     */
+    UNKNOWN_ACCOUNT,
+
+    /**
+     * The accounts of a transfer hold different currencies, which a single journaled amount cannot
+     * express; nothing was journaled.
+     */
+    CURRENCY_MISMATCH,
+
+    /**
+     * The caller read the transaction before a projection that the engine has since forgotten about,
+     * so it may have seen an outdated status and must read it again.
+     */
+    STALE
+}
@@ -0,0 +1,183 @@
+package net.tislib.walletapp.ledger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tislib.walletapp.config.LedgerProperties;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.entity.AccountEntity;
+import net.tislib.walletapp.entity.TransactionEntity;
+import net.tislib.walletapp.model.Money;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.repository.AccountRepository;
+import net.tislib.walletapp.repository.TransactionRepository;
+import net.tislib.walletapp.service.BalanceSlotService;
+import net.tislib.walletapp.service.DailyAggregateService;
+import net.tislib.walletapp.service.PostingService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes journaled ledger executions to the database in batches, one DB transaction per batch.
+ * <p>
+ * Projection is idempotent: transactions that are already DONE are skipped, so records replayed after a
+ * restart can simply be projected again. A failing batch is retried until it commits, keeping records
+ * in journal order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LedgerProjector {
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final DailyAggregateService dailyAggregateService;
+    private final PostingService postingService;
+    private final BalanceSlotService balanceSlotService;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties properties;
+
+    private final BlockingQueue<LedgerRecord> records = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread thread;
+
+    void start(LedgerEngine engine, List<LedgerRecord> unprojected) {
+        records.addAll(unprojected);
+        running = true;
+        thread = new Thread(() -> run(engine), "ledger-projector");
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+
+    void enqueue(List<LedgerRecord> appended) {
+        records.addAll(appended);
+    }
+
+    private void run(LedgerEngine engine) {
+        List<LedgerRecord> batch = new ArrayList<>(properties.getProjectionBatchSize());
+        while (running || !records.isEmpty()) {
+            try {
+                LedgerRecord first = records.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                records.drainTo(batch, properties.getProjectionBatchSize() - 1);
+
+                while (!project(batch)) {
+                    if (!running) {
+                        // Left to be projected again from the journal on the next start
+                        return;
+                    }
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                }
+
+                long[] projectedIds = batch.stream()
+                        .filter(record -> record.isExecution() && record.applied())
+                        .mapToLong(LedgerRecord::transactionId)
+                        .toArray();
+                engine.markProjected(projectedIds, batch.get(batch.size() - 1).sequence(), System.nanoTime());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean project(List<LedgerRecord> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = batch.stream()
+                        .filter(LedgerRecord::isExecution)
+                        .map(LedgerRecord::transactionId)
+                        .distinct()
+                        .toList();
+                Map<Long, TransactionEntity> transactions = transactionRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(TransactionEntity::getId, Function.identity()));
+
+                for (LedgerRecord record : batch) {
+                    TransactionEntity transaction = record.isExecution() ? transactions.get(record.transactionId()) : null;
+                    if (transaction == null || transaction.getStatus() == TransactionStatus.DONE) {
+                        continue;
+                    }
+                    if (!record.applied()) {
+                        transaction.setStatus(TransactionStatus.FAILED);
+                        transactionRepository.save(transaction);
+                        continue;
+                    }
+
+                    transaction.setStatus(TransactionStatus.DONE);
+                    transaction.setCompletedAt(LocalDateTime.now(ZoneOffset.UTC));
+                    transactionRepository.save(transaction);
+                    syncBalanceSlots(record, transaction);
+                    dailyAggregateService.recordExecution(transaction);
+                    postingService.recordExecution(transaction);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Ledger projection of sequences {}..{} failed, retrying",
+                    batch.get(0).sequence(), batch.get(batch.size() - 1).sequence(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Keeps the slots of sharded accounts in step, so they stay correct if the execution mode changes.
+     */
+    private void syncBalanceSlots(LedgerRecord record, TransactionEntity transaction) {
+        BigDecimal amount = Money.toDecimal(record.amount(), LedgerEngine.SCALE);
+        AccountEntity account = transaction.getAccount();
+        switch (record.kind()) {
+            case LedgerRecord.DEPOSIT -> {
+                if (balanceSlotService.isSharded(account)) {
+                    balanceSlotService.credit(account, amount);
+                }
+            }
+            case LedgerRecord.WITHDRAW -> {
+                debitSlots(account, amount, transaction);
+            }
+            case LedgerRecord.TRANSFER -> {
+                debitSlots(account, amount, transaction);
+                Long destinationId = ((TransferTransactionData) transaction.getTransactionData()).getDestinationAccountId();
+                AccountEntity destination = accountRepository.findById(destinationId)
+                        .orElseThrow(() -> new NoSuchElementException("Destination account not found with id: " + destinationId));
+                if (balanceSlotService.isSharded(destination)) {
+                    balanceSlotService.credit(destination, amount);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown ledger record kind: " + record.kind());
+        }
+    }
+
+    /**
+     * The ledger has already accepted the debit, so the slots follow it even if they no longer cover it;
+     * refusing would stall the projection of every later record.
+     */
+    private void debitSlots(AccountEntity account, BigDecimal amount, TransactionEntity transaction) {
+        if (balanceSlotService.isSharded(account) && !balanceSlotService.debitUnchecked(account, amount)) {
+            log.warn("Balance slots of account {} did not cover transaction {}, reconcile them with the ledger",
+                    account.getId(), transaction.getId());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package net.tislib.walletapp.ledger;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size journal entry. The layout is part of the on-disk format; append new kinds rather than
+ * renumbering existing ones.
+ *
+ * @param sequence       position in the journal, starting at 1
+ * @param kind           {@link #OPEN}, {@link #DEPOSIT}, {@link #WITHDRAW} or {@link #TRANSFER}
+ * @param applied        whether the execution changed balances; rejected executions are journaled too
+ * @param transactionId  executed transaction, 0 for {@link #OPEN}
+ * @param accountId      account opened, or the account the transaction belongs to
+ * @param counterpartyId destination account of a transfer, otherwise 0
+ * @param amount         amount in minor units; the opening balance for {@link #OPEN}
+ */
+record LedgerRecord(long sequence, byte kind, boolean applied, long transactionId,
+                    long accountId, long counterpartyId, long amount) {
+
+    static final byte OPEN = 1;
+    static final byte DEPOSIT = 2;
+    static final byte WITHDRAW = 3;
+    static final byte TRANSFER = 4;
+
+    static final int SIZE = 8 + 1 + 1 + 8 + 8 + 8 + 8 + 4;
+    private static final int PAYLOAD_SIZE = SIZE - 4;
+
+    boolean isExecution() {
+        return kind != OPEN;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putLong(sequence)
+                .put(kind)
+                .put((byte) (applied ? 1 : 0))
+                .putLong(transactionId)
+                .putLong(accountId)
+                .putLong(counterpartyId)
+                .putLong(amount);
+        buffer.putInt(checksum(buffer, start));
+    }
+
+    /**
+     * Reads the record at the buffer's position, or returns {@code null} at the end of the written part
+     * or at a torn write. The position is only advanced when a record is returned.
+     */
+    static LedgerRecord readFrom(ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE) {
+            return null;
+        }
+        int start = buffer.position();
+        long sequence = buffer.getLong(start);
+        if (sequence == 0 || buffer.getInt(start + PAYLOAD_SIZE) != checksum(buffer, start)) {
+            return null;
+        }
+
+        LedgerRecord record = new LedgerRecord(
+                sequence,
+                buffer.get(start + 8),
+                buffer.get(start + 9) != 0,
+                buffer.getLong(start + 10),
+                buffer.getLong(start + 18),
+                buffer.getLong(start + 26),
+                buffer.getLong(start + 34));
+        buffer.position(start + SIZE);
+        return record;
+    }
+
+    private static int checksum(ByteBuffer buffer, int start) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start, PAYLOAD_SIZE));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,92 @@
+package net.tislib.walletapp.ledger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.TreeMap;
+
+/**
+ * Point-in-time copies of all balances, so recovery only has to replay the journal after the snapshot.
+ * A snapshot is written to a temporary file, forced to disk and then renamed, so a crash leaves either
+ * the old or the new snapshot in place.
+ */
+final class LedgerSnapshotStore {
+
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path directory;
+
+    LedgerSnapshotStore(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    void write(long sequence, LongLongMap balances) throws IOException {
+        Path temporary = directory.resolve("snapshot.tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeLong(sequence);
+            out.writeInt(balances.size());
+            IOException[] failure = new IOException[1];
+            balances.forEach((accountId, balance) -> {
+                try {
+                    out.writeLong(accountId);
+                    out.writeLong(balance);
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, directory.resolve(String.format("%020d%s", sequence, SUFFIX)), StandardCopyOption.ATOMIC_MOVE);
+
+        TreeMap<Long, Path> snapshots = list();
+        for (Path older : snapshots.headMap(sequence).values()) {
+            Files.deleteIfExists(older);
+        }
+    }
+
+    /**
+     * Loads the newest snapshot into the given map.
+     *
+     * @return sequence of the last journal record included in the snapshot, or 0 if there is none
+     */
+    long readLatest(LongLongMap balances) throws IOException {
+        TreeMap<Long, Path> snapshots = list();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        try (InputStream file = Files.newInputStream(snapshots.lastEntry().getValue());
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            long sequence = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                balances.put(in.readLong(), in.readLong());
+            }
+            return sequence;
+        }
+    }
+
+    private TreeMap<Long, Path> list() throws IOException {
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                snapshots.put(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), file);
+            }
+        }
+        return snapshots;
+    }
+}
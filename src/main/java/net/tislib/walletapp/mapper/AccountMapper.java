@@ -18,10 +18,13 @@ public interface AccountMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     AccountEntity toEntity(AccountDto dto);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "balanceSlots", ignore = true)
     void updateEntityFromDto(AccountDto dto, @MappingTarget AccountEntity entity);
 }
\ No newline at end of file
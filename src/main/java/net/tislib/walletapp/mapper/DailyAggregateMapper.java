@@ -0,0 +1,15 @@
+package net.tislib.walletapp.mapper;
+
+import net.tislib.walletapp.dto.DailyAggregateDto;
+import net.tislib.walletapp.entity.DailyAggregateEntity;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface DailyAggregateMapper {
+
+    DailyAggregateDto toDto(DailyAggregateEntity entity);
+
+    List<DailyAggregateDto> toDtoList(List<DailyAggregateEntity> entities);
+}
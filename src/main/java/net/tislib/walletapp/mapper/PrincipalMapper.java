@@ -0,0 +1,25 @@
+package net.tislib.walletapp.mapper;
+
+import net.tislib.walletapp.dto.AccountGrantDto;
+import net.tislib.walletapp.dto.PrincipalDto;
+import net.tislib.walletapp.entity.AccountGrantEntity;
+import net.tislib.walletapp.entity.PrincipalEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface PrincipalMapper {
+
+    PrincipalDto toDto(PrincipalEntity entity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    PrincipalEntity toEntity(PrincipalDto dto);
+
+    AccountGrantDto toDto(AccountGrantEntity entity);
+
+    List<AccountGrantDto> toGrantDtoList(List<AccountGrantEntity> entities);
+}
@@ -0,0 +1,28 @@
+package net.tislib.walletapp.mapper;
+
+import net.tislib.walletapp.dto.ReconciliationMismatchDto;
+import net.tislib.walletapp.dto.ReconciliationRunDto;
+import net.tislib.walletapp.entity.ReconciliationMismatchEntity;
+import net.tislib.walletapp.entity.ReconciliationRunEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ReconciliationMapper {
+
+    @Mapping(target = "accountsPerSecond", expression = "java(accountsPerSecond(entity))")
+    ReconciliationRunDto toDto(ReconciliationRunEntity entity);
+
+    ReconciliationMismatchDto toDto(ReconciliationMismatchEntity entity);
+
+    List<ReconciliationMismatchDto> toMismatchDtoList(List<ReconciliationMismatchEntity> entities);
+
+    default Double accountsPerSecond(ReconciliationRunEntity entity) {
+        if (entity.getElapsedMillis() == null || entity.getElapsedMillis() == 0) {
+            return 0d;
+        }
+        return entity.getAccountsChecked() * 1000d / entity.getElapsedMillis();
+    }
+}
@@ -0,0 +1,27 @@
+package net.tislib.walletapp.mapper;
+
+import net.tislib.walletapp.dto.RestrictionDto;
+import net.tislib.walletapp.entity.RestrictionEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface RestrictionMapper {
+
+    RestrictionDto toDto(RestrictionEntity entity);
+
+    List<RestrictionDto> toDtoList(List<RestrictionEntity> entities);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    RestrictionEntity toEntity(RestrictionDto dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEntityFromDto(RestrictionDto dto, @MappingTarget RestrictionEntity entity);
+}
@@ -7,6 +7,7 @@ import net.tislib.walletapp.dto.TransactionDto;
 import net.tislib.walletapp.entity.AccountEntity;
 import net.tislib.walletapp.entity.TransactionEntity;
 import net.tislib.walletapp.repository.AccountRepository;
+import net.tislib.walletapp.repository.projection.TransactionRow;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -25,11 +26,16 @@ public abstract class TransactionMapper {
 
     public abstract List<TransactionDto> toDtoList(List<TransactionEntity> entities);
 
+    public abstract TransactionDto toDto(TransactionRow row);
+
+    public abstract List<TransactionDto> toDtoListFromRows(List<TransactionRow> rows);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "account", expression = "java(findAccountById(dto.getAccountId()))")
     @Mapping(target = "transactionData", source = "data")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "completedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
     public abstract TransactionEntity toEntity(TransactionDto dto);
 
@@ -38,6 +44,7 @@ public abstract class TransactionMapper {
     @Mapping(target = "transactionData", source = "data")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "completedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
     public abstract void updateEntityFromDto(TransactionDto dto, @MappingTarget TransactionEntity entity);
 
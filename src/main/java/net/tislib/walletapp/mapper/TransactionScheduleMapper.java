@@ -0,0 +1,30 @@
+package net.tislib.walletapp.mapper;
+
+import net.tislib.walletapp.dto.TransactionScheduleDto;
+import net.tislib.walletapp.entity.TransactionScheduleEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface TransactionScheduleMapper {
+
+    @Mapping(target = "data", source = "transactionData")
+    TransactionScheduleDto toDto(TransactionScheduleEntity entity);
+
+    List<TransactionScheduleDto> toDtoList(List<TransactionScheduleEntity> entities);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "transactionData", source = "data")
+    @Mapping(target = "status", ignore = true)
+    @Mapping(target = "runs", ignore = true)
+    @Mapping(target = "pendingTransactionId", ignore = true)
+    @Mapping(target = "lastTransactionId", ignore = true)
+    @Mapping(target = "lastError", ignore = true)
+    @Mapping(target = "claimedBy", ignore = true)
+    @Mapping(target = "claimedUntil", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    TransactionScheduleEntity toEntity(TransactionScheduleDto dto);
+}
@@ -0,0 +1,26 @@
+package net.tislib.walletapp.model;
+
+/**
+ * Enum representing the directions of money movement tracked by daily account aggregates.
+ */
+public enum AggregateType {
+    /**
+     * Money deposited into the account.
+     */
+    DEPOSIT,
+
+    /**
+     * Money withdrawn from the account.
+     */
+    WITHDRAW,
+
+    /**
+     * Money transferred into the account from another account.
+     */
+    TRANSFER_IN,
+
+    /**
+     * Money transferred out of the account to another account.
+     */
+    TRANSFER_OUT
+}
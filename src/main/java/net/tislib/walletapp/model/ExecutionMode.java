@@ -0,0 +1,21 @@
+package net.tislib.walletapp.model;
+
+/**
+ * Enum representing how concurrent executions of transactions are kept consistent.
+ */
+public enum ExecutionMode {
+    /**
+     * The transaction row is locked with SELECT ... FOR UPDATE for the whole execution.
+     */
+    PESSIMISTIC,
+
+    /**
+     * Rows are read without locks; version checks at flush detect conflicts, and the execution is retried.
+     */
+    OPTIMISTIC,
+
+    /**
+     * Balances are kept in memory by the ledger engine and journaled to disk; the database is updated asynchronously.
+     */
+    IN_MEMORY
+}
@@ -0,0 +1,37 @@
+package net.tislib.walletapp.model;
+
+/**
+ * Enum representing the kinds of ledger inconsistencies found by reconciliation.
+ */
+public enum MismatchKind {
+    /**
+     * Balance recomputed from transactions is below zero.
+     */
+    NEGATIVE_BALANCE,
+
+    /**
+     * Balance stored on the account row differs from the recomputed balance. No longer reported, since
+     * the account row is not maintained; kept so mismatches of earlier runs still load.
+     */
+    STORED_BALANCE_MISMATCH,
+
+    /**
+     * Sum of the account's postings differs from the recomputed balance.
+     */
+    POSTING_BALANCE_MISMATCH,
+
+    /**
+     * Sum of a sharded account's balance slots differs from the recomputed balance.
+     */
+    SLOT_BALANCE_MISMATCH,
+
+    /**
+     * A completed transfer points to an account that does not exist.
+     */
+    DANGLING_TRANSFER,
+
+    /**
+     * Total of completed transfers out differs from the total credited to existing accounts.
+     */
+    TRANSFER_TOTALS_MISMATCH
+}
@@ -0,0 +1,94 @@
+package net.tislib.walletapp.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Fixed-point money arithmetic on amounts held as {@code long} minor units, e.g. cents for USD.
+ * <p>
+ * Values are plain longs rather than objects, so balance arithmetic and limit checks on the execution
+ * path allocate nothing. Every operation is overflow-checked. {@link BigDecimal} is only used at the
+ * API and database boundary. Amounts received through the API must convert exactly, so an amount with
+ * more decimal places than its currency allows is rejected. Amounts and balances read from the database
+ * may predate that check and are rounded instead, in the direction that cannot let money out.
+ */
+public final class Money {
+
+    /**
+     * Scale used for codes that are not ISO 4217 currencies or have no minor unit defined. No ISO
+     * currency has a finer minor unit, so any valid amount is exact at this scale.
+     */
+    public static final int DEFAULT_SCALE = 4;
+
+    private Money() {
+    }
+
+    /**
+     * Number of decimal places of the currency's minor unit.
+     */
+    public static int scaleOf(String currency) {
+        if (currency == null) {
+            return DEFAULT_SCALE;
+        }
+        try {
+            int digits = Currency.getInstance(currency).getDefaultFractionDigits();
+            return digits >= 0 ? digits : DEFAULT_SCALE;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_SCALE;
+        }
+    }
+
+    /**
+     * Converts an amount to minor units.
+     *
+     * @throws IllegalArgumentException if the amount has more decimal places than the scale or does not fit a long
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        return toMinorUnits(amount, scale, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Converts a stored amount to minor units, rounding extra decimal places with the given mode, so that
+     * one legacy row does not make every balance check of its account fail. Callers round in the
+     * direction that cannot let money out: balances down, amounts counted against limits up.
+     *
+     * @throws IllegalArgumentException if the amount does not fit a long, or needs rounding with {@link RoundingMode#UNNECESSARY}
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale, RoundingMode rounding) {
+        try {
+            return amount.setScale(scale, rounding).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " cannot be represented with " + scale + " decimal places", e);
+        }
+    }
+
+    /**
+     * Converts a limit to minor units, rounding down. For whole minor-unit amounts,
+     * {@code amount > limit} holds exactly when {@code amount > floor(limit)}, so limit checks stay exact.
+     */
+    public static long toMinorUnitsFloor(BigDecimal limit, int scale) {
+        BigDecimal floored = limit.setScale(scale, RoundingMode.FLOOR);
+        return floored.compareTo(BigDecimal.valueOf(Long.MAX_VALUE, scale)) > 0
+                ? Long.MAX_VALUE
+                : floored.unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits, int scale) {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    /**
+     * @throws ArithmeticException on overflow
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * @throws ArithmeticException on overflow
+     */
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+}
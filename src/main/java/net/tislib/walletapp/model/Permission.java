@@ -0,0 +1,32 @@
+package net.tislib.walletapp.model;
+
+/**
+ * Enum representing the permissions a principal can hold on an account.
+ * Each permission includes the ones declared before it.
+ */
+public enum Permission {
+    /**
+     * Allows reading the account, its balance and its transactions.
+     */
+    VIEW,
+
+    /**
+     * Allows creating, changing and executing transactions of the account.
+     */
+    TRANSACT,
+
+    /**
+     * Allows changing or deleting the account and managing its grants.
+     */
+    ADMIN;
+
+    /**
+     * Checks whether holding this permission also grants the given one.
+     *
+     * @param other the required permission
+     * @return true if this permission includes {@code other}
+     */
+    public boolean implies(Permission other) {
+        return ordinal() >= other.ordinal();
+    }
+}
@@ -0,0 +1,26 @@
+package net.tislib.walletapp.model;
+
+/**
+ * Enum representing the lifecycle of a ledger reconciliation run.
+ */
+public enum ReconciliationStatus {
+    /**
+     * Run is scanning account partitions.
+     */
+    RUNNING,
+
+    /**
+     * Run was paused and can be resumed from its checkpoint.
+     */
+    PAUSED,
+
+    /**
+     * Every partition has been checked.
+     */
+    COMPLETED,
+
+    /**
+     * Run stopped because of an unexpected error; it can be resumed from its checkpoint.
+     */
+    FAILED
+}
@@ -0,0 +1,26 @@
+package net.tislib.walletapp.model;
+
+/**
+ * Enum representing the kinds of limits that can be placed on outgoing money.
+ */
+public enum RestrictionType {
+    /**
+     * Upper bound on the amount of a single withdrawal.
+     */
+    MAX_SINGLE_WITHDRAWAL,
+
+    /**
+     * Upper bound on the amount of a single outgoing transfer.
+     */
+    MAX_SINGLE_TRANSFER,
+
+    /**
+     * Upper bound on the total of withdrawals and outgoing transfers over a rolling 24 hours.
+     */
+    DAILY_OUTGOING_LIMIT,
+
+    /**
+     * Upper bound on the number of outgoing transfers over a rolling minute.
+     */
+    TRANSFER_VELOCITY
+}
@@ -0,0 +1,21 @@
+package net.tislib.walletapp.model;
+
+/**
+ * Enum representing the lifecycle of a transaction schedule.
+ */
+public enum ScheduleStatus {
+    /**
+     * Schedule fires at its next run time.
+     */
+    ACTIVE,
+
+    /**
+     * Every run has fired.
+     */
+    COMPLETED,
+
+    /**
+     * Schedule was cancelled; runs already fired are not affected.
+     */
+    CANCELLED
+}
@@ -0,0 +1,46 @@
+package net.tislib.walletapp.repository;
+
+import jakarta.persistence.LockModeType;
+import net.tislib.walletapp.entity.AccountBalanceSlotEntity;
+import net.tislib.walletapp.entity.AccountBalanceSlotId;
+import net.tislib.walletapp.repository.projection.AccountAmount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlotEntity, AccountBalanceSlotId> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlotEntity s WHERE s.accountId = :accountId ORDER BY s.slot")
+    List<AccountBalanceSlotEntity> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM AccountBalanceSlotEntity s WHERE s.accountId = :accountId")
+    BigDecimal getSumForAccount(@Param("accountId") Long accountId);
+
+    @Query(value = "SELECT account_id AS \"accountId\", SUM(amount) AS \"total\" " +
+            "FROM account_balance_slot " +
+            "WHERE account_id BETWEEN :fromId AND :toId " +
+            "GROUP BY account_id", nativeQuery = true)
+    List<AccountAmount> getSumsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query(value = "UPDATE account_balance_slot SET amount = amount + :amount " +
+            "WHERE account_id = :accountId AND slot = :slot", nativeQuery = true)
+    int credit(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "UPDATE account_balance_slot SET amount = amount - :amount " +
+            "WHERE account_id = :accountId AND slot = :slot AND amount >= :amount", nativeQuery = true)
+    int debitIfCovered(@Param("accountId") Long accountId, @Param("slot") int slot, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM AccountBalanceSlotEntity s WHERE s.accountId = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,19 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.entity.AccountGrantEntity;
+import net.tislib.walletapp.model.Permission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountGrantRepository extends JpaRepository<AccountGrantEntity, Long> {
+
+    List<AccountGrantEntity> findByPrincipalId(Long principalId);
+
+    List<AccountGrantEntity> findByAccountId(Long accountId);
+
+    Optional<AccountGrantEntity> findByPrincipalIdAndAccountIdAndPermission(Long principalId, Long accountId, Permission permission);
+}
@@ -1,9 +1,32 @@
 package net.tislib.walletapp.repository;
 
+import net.tislib.walletapp.dto.AccountDto;
 import net.tislib.walletapp.entity.AccountEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AccountRepository extends JpaRepository<AccountEntity, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT new net.tislib.walletapp.dto.AccountDto(" +
+            "a.id, a.name, a.currency, a.balanceSlots, a.createdAt, a.updatedAt) " +
+            "FROM AccountEntity a ORDER BY a.id")
+    List<AccountDto> findAllAsDtos();
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT a FROM AccountEntity a WHERE a.id = :id")
+    Optional<AccountEntity> findByIdWithVersionIncrement(@Param("id") Long id);
+
+    @Query("SELECT MIN(a.id) FROM AccountEntity a")
+    Long findMinId();
+
+    @Query("SELECT MAX(a.id) FROM AccountEntity a")
+    Long findMaxId();
+}
@@ -0,0 +1,59 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.entity.DailyAggregateEntity;
+import net.tislib.walletapp.entity.DailyAggregateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyAggregateRepository extends JpaRepository<DailyAggregateEntity, DailyAggregateId> {
+
+    List<DailyAggregateEntity> findByAccountIdAndDayBetweenOrderByDayAscTypeAsc(Long accountId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_account_aggregate (account_id, day, type, slot, total, transaction_count) " +
+            "VALUES (:accountId, :day, :type, :slot, :amount, 1) " +
+            "ON CONFLICT (account_id, day, type, slot) DO UPDATE " +
+            "SET total = daily_account_aggregate.total + EXCLUDED.total, " +
+            "transaction_count = daily_account_aggregate.transaction_count + 1", nativeQuery = true)
+    void addToAggregate(@Param("accountId") Long accountId,
+                        @Param("day") LocalDate day,
+                        @Param("type") String type,
+                        @Param("slot") int slot,
+                        @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_account_aggregate WHERE day BETWEEN :fromDay AND :toDay", nativeQuery = true)
+    int deleteByDayRange(@Param("fromDay") LocalDate fromDay, @Param("toDay") LocalDate toDay);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_account_aggregate (account_id, day, type, total, transaction_count) " +
+            "SELECT account_id, day, type, SUM(amount), COUNT(*) FROM (" +
+            "  SELECT account_id, " +
+            "         CAST(completed_at AS date) AS day, " +
+            "         CASE type WHEN 'TRANSFER' THEN 'TRANSFER_OUT' ELSE type END AS type, " +
+            "         CAST(transaction_data->>'amount' AS numeric) AS amount " +
+            "  FROM transaction " +
+            "  WHERE status = 'DONE' " +
+            "  AND CAST(completed_at AS date) BETWEEN :fromDay AND :toDay " +
+            "  UNION ALL " +
+            "  SELECT CAST(t.transaction_data->>'destinationAccountId' AS bigint), " +
+            "         CAST(t.completed_at AS date), " +
+            "         'TRANSFER_IN', " +
+            "         CAST(COALESCE(t.transaction_data->>'destinationAmount', t.transaction_data->>'amount') AS numeric) " +
+            "  FROM transaction t " +
+            "  JOIN account a ON a.id = CAST(t.transaction_data->>'destinationAccountId' AS bigint) " +
+            "  WHERE t.status = 'DONE' " +
+            "  AND t.type = 'TRANSFER' " +
+            "  AND CAST(t.completed_at AS date) BETWEEN :fromDay AND :toDay" +
+            ") movements " +
+            "GROUP BY account_id, day, type", nativeQuery = true)
+    int insertAggregatesForDayRange(@Param("fromDay") LocalDate fromDay, @Param("toDay") LocalDate toDay);
+}
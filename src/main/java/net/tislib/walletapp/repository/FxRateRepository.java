@@ -0,0 +1,10 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.entity.FxRateEntity;
+import net.tislib.walletapp.entity.FxRateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRateEntity, FxRateId> {
+}
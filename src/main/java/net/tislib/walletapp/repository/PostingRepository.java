@@ -0,0 +1,57 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.entity.PostingEntity;
+import net.tislib.walletapp.entity.PostingId;
+import net.tislib.walletapp.repository.projection.AccountAmount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostingRepository extends JpaRepository<PostingEntity, PostingId> {
+
+    @Query(value = "SELECT COALESCE(SUM(amount), 0) FROM posting WHERE account_id = :accountId", nativeQuery = true)
+    BigDecimal getBalance(@Param("accountId") Long accountId);
+
+    @Query(value = "SELECT a.id AS \"accountId\", COALESCE(SUM(p.amount), 0) AS \"total\" " +
+            "FROM account a " +
+            "LEFT JOIN posting p ON p.account_id = a.id " +
+            "WHERE a.id IN (:accountIds) " +
+            "GROUP BY a.id", nativeQuery = true)
+    List<AccountAmount> getBalancesForAccounts(@Param("accountIds") Collection<Long> accountIds);
+
+    @Query(value = "SELECT a.id AS \"accountId\", COALESCE(SUM(p.amount), 0) AS \"total\" " +
+            "FROM account a " +
+            "LEFT JOIN posting p ON p.account_id = a.id AND p.transaction_id <= :maxTransactionId " +
+            "WHERE a.id BETWEEN :fromId AND :toId " +
+            "GROUP BY a.id", nativeQuery = true)
+    List<AccountAmount> getBalancesInRange(@Param("fromId") Long fromId,
+                                           @Param("toId") Long toId,
+                                           @Param("maxTransactionId") Long maxTransactionId);
+
+    @Modifying
+    @Query(value = "INSERT INTO posting (transaction_id, leg, account_id, amount, created_at) " +
+            "VALUES (:transactionId, 0, :accountId, :amount, :now)", nativeQuery = true)
+    void insertPosting(@Param("transactionId") Long transactionId,
+                       @Param("accountId") Long accountId,
+                       @Param("amount") BigDecimal amount,
+                       @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO posting (transaction_id, leg, account_id, amount, created_at) " +
+            "VALUES (:transactionId, 0, :sourceAccountId, -CAST(:debit AS numeric), :now), " +
+            "(:transactionId, 1, :destinationAccountId, :credit, :now)", nativeQuery = true)
+    void insertTransferPostings(@Param("transactionId") Long transactionId,
+                                @Param("sourceAccountId") Long sourceAccountId,
+                                @Param("debit") BigDecimal debit,
+                                @Param("destinationAccountId") Long destinationAccountId,
+                                @Param("credit") BigDecimal credit,
+                                @Param("now") LocalDateTime now);
+}
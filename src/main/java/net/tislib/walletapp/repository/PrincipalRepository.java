@@ -0,0 +1,9 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.entity.PrincipalEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PrincipalRepository extends JpaRepository<PrincipalEntity, Long> {
+}
@@ -0,0 +1,13 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.entity.ReconciliationMismatchEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReconciliationMismatchRepository extends JpaRepository<ReconciliationMismatchEntity, Long> {
+
+    List<ReconciliationMismatchEntity> findByRunIdOrderById(Long runId);
+}
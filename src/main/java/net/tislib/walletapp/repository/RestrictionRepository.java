@@ -0,0 +1,20 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.entity.RestrictionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RestrictionRepository extends JpaRepository<RestrictionEntity, Long> {
+
+    List<RestrictionEntity> findByEnabledTrue();
+
+    @Modifying
+    @Query("DELETE FROM RestrictionEntity r WHERE r.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+}
@@ -3,26 +3,46 @@ package net.tislib.walletapp.repository;
 import net.tislib.walletapp.entity.TransactionEntity;
 import net.tislib.walletapp.model.TransactionStatus;
 import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.repository.projection.AccountAmount;
+import net.tislib.walletapp.repository.projection.AccountTypeAmount;
+import net.tislib.walletapp.repository.projection.BucketAmount;
+import net.tislib.walletapp.repository.projection.IncomingTransferAmount;
+import net.tislib.walletapp.repository.projection.ListingVersion;
+import net.tislib.walletapp.repository.projection.TransactionRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
+public interface TransactionRepository extends JpaRepository<TransactionEntity, Long>, TransactionSearchRepository {
 
     List<TransactionEntity> findByAccountId(Long accountId);
 
+    @Query("SELECT new net.tislib.walletapp.repository.projection.TransactionRow(" +
+            "t.id, t.type, t.status, t.account.id, t.transactionData, t.createdAt, t.updatedAt, t.version) " +
+            "FROM TransactionEntity t WHERE t.account.id = :accountId ORDER BY t.id")
+    List<TransactionRow> findRowsByAccountId(@Param("accountId") Long accountId);
+
     List<TransactionEntity> findByAccountIdAndStatus(Long accountId, TransactionStatus status);
 
     Optional<TransactionEntity> findByIdAndAccountId(Long id, Long accountId);
 
+    @Query("SELECT t.version FROM TransactionEntity t WHERE t.id = :id AND t.account.id = :accountId")
+    Optional<Long> findVersionByIdAndAccountId(@Param("id") Long id, @Param("accountId") Long accountId);
+
+    @Query("SELECT COUNT(t) AS count, MAX(t.id) AS maxId, SUM(t.version) AS versionSum " +
+            "FROM TransactionEntity t WHERE t.account.id = :accountId")
+    ListingVersion getListingVersion(@Param("accountId") Long accountId);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT t FROM TransactionEntity t WHERE t.id = :id")
     Optional<TransactionEntity> findByIdWithLock(@Param("id") Long id);
@@ -31,31 +51,89 @@ public interface TransactionRepository extends JpaRepository<TransactionEntity,
     @Query("SELECT t FROM TransactionEntity t WHERE t.id = :id AND t.account.id = :accountId")
     Optional<TransactionEntity> findByIdAndAccountIdWithLock(@Param("id") Long id, @Param("accountId") Long accountId);
 
-    @Query(value = "SELECT COALESCE(SUM(CAST(transaction_data->>'amount' AS numeric)), 0) " +
-            "FROM transaction " +
-            "WHERE account_id = :accountId " +
-            "AND status = 'DONE' " +
-            "AND type = 'DEPOSIT'", nativeQuery = true)
-    BigDecimal getSumOfDepositTransactionsForAccount(@Param("accountId") Long accountId);
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM TransactionEntity t")
+    Long findMaxId();
 
-    @Query(value = "SELECT COALESCE(SUM(CAST(transaction_data->>'amount' AS numeric)), 0) " +
+    @Query(value = "SELECT account_id AS \"accountId\", type AS \"type\", " +
+            "SUM(CAST(transaction_data->>'amount' AS numeric)) AS \"total\" " +
             "FROM transaction " +
-            "WHERE account_id = :accountId " +
+            "WHERE account_id BETWEEN :fromId AND :toId " +
+            "AND id <= :maxTransactionId " +
             "AND status = 'DONE' " +
-            "AND type = 'WITHDRAW'", nativeQuery = true)
-    BigDecimal getSumOfWithdrawTransactionsForAccount(@Param("accountId") Long accountId);
+            "GROUP BY account_id, type", nativeQuery = true)
+    List<AccountTypeAmount> getSumsByAccountAndTypeInRange(@Param("fromId") Long fromId,
+                                                           @Param("toId") Long toId,
+                                                           @Param("maxTransactionId") Long maxTransactionId);
 
-    @Query(value = "SELECT COALESCE(SUM(CAST(transaction_data->>'amount' AS numeric)), 0) " +
+    @Query(value = "SELECT CAST(transaction_data->>'destinationAccountId' AS bigint) AS \"accountId\", " +
+            "SUM(CAST(COALESCE(transaction_data->>'destinationAmount', transaction_data->>'amount') AS numeric)) AS \"total\", " +
+            "SUM(CAST(transaction_data->>'amount' AS numeric)) AS \"sourceTotal\" " +
             "FROM transaction " +
-            "WHERE account_id = :accountId " +
-            "AND status = 'DONE' " +
-            "AND type = 'TRANSFER'", nativeQuery = true)
-    BigDecimal getSumOfOutgoingTransferTransactionsForAccount(@Param("accountId") Long accountId);
+            "WHERE status = 'DONE' " +
+            "AND type = 'TRANSFER' " +
+            "AND id <= :maxTransactionId " +
+            "AND CAST(transaction_data->>'destinationAccountId' AS bigint) BETWEEN :fromId AND :toId " +
+            "GROUP BY 1", nativeQuery = true)
+    List<IncomingTransferAmount> getSumsOfIncomingTransfersInRange(@Param("fromId") Long fromId,
+                                                          @Param("toId") Long toId,
+                                                          @Param("maxTransactionId") Long maxTransactionId);
 
-    @Query(value = "SELECT COALESCE(SUM(CAST(transaction_data->>'amount' AS numeric)), 0) " +
+    @Query(value = "SELECT CAST(transaction_data->>'destinationAccountId' AS bigint) AS \"accountId\", " +
+            "SUM(CAST(transaction_data->>'amount' AS numeric)) AS \"total\" " +
             "FROM transaction " +
             "WHERE status = 'DONE' " +
             "AND type = 'TRANSFER' " +
-            "AND CAST(transaction_data->>'destinationAccountId' AS bigint) = :accountId", nativeQuery = true)
-    BigDecimal getSumOfIncomingTransferTransactionsForAccount(@Param("accountId") Long accountId);
+            "AND id <= :maxTransactionId " +
+            "AND (CAST(transaction_data->>'destinationAccountId' AS bigint) < :fromId " +
+            "OR CAST(transaction_data->>'destinationAccountId' AS bigint) > :toId) " +
+            "GROUP BY 1", nativeQuery = true)
+    List<AccountAmount> getSumsOfIncomingTransfersOutsideRange(@Param("fromId") Long fromId,
+                                                               @Param("toId") Long toId,
+                                                               @Param("maxTransactionId") Long maxTransactionId);
+
+    @Query(value = "SELECT CAST(FLOOR(EXTRACT(EPOCH FROM COALESCE(updated_at, created_at)) / :bucketSeconds) AS bigint) AS \"bucket\", " +
+            "SUM(CAST(transaction_data->>'amount' AS numeric)) AS \"total\", " +
+            "COUNT(*) AS \"count\" " +
+            "FROM transaction " +
+            "WHERE account_id = :accountId " +
+            "AND status = 'DONE' " +
+            "AND type IN (:types) " +
+            "AND COALESCE(updated_at, created_at) >= :since " +
+            "GROUP BY 1", nativeQuery = true)
+    List<BucketAmount> getBucketedSumsForAccountSince(@Param("accountId") Long accountId,
+                                                      @Param("types") Collection<String> types,
+                                                      @Param("since") LocalDateTime since,
+                                                      @Param("bucketSeconds") long bucketSeconds);
+
+    /**
+     * Ids of a chunk of transactions in the given status last changed before the cutoff, after the given id.
+     * Rows being executed are skipped rather than waited for.
+     */
+    @Query(value = "SELECT id FROM transaction " +
+            "WHERE status = :status AND id > :afterId " +
+            "AND COALESCE(updated_at, created_at) < :cutoff " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findStaleIds(@Param("status") String status,
+                            @Param("afterId") long afterId,
+                            @Param("cutoff") LocalDateTime cutoff,
+                            @Param("limit") int limit);
+
+    /**
+     * Fails transactions still pending; the version is incremented so that cached listings are revalidated.
+     */
+    @Modifying
+    @Query(value = "UPDATE transaction SET status = 'FAILED', version = version + 1, updated_at = :now " +
+            "WHERE id IN (:ids) AND status = 'PENDING'", nativeQuery = true)
+    int expirePending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO transaction_archive " +
+            "(id, type, status, account_id, transaction_data, created_at, updated_at, version, archived_at) " +
+            "SELECT id, type, status, account_id, transaction_data, created_at, updated_at, version, :now " +
+            "FROM transaction WHERE id IN (:ids) AND status = 'FAILED'", nativeQuery = true)
+    int archiveFailed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction WHERE id IN (:ids) AND status = 'FAILED'", nativeQuery = true)
+    int deleteFailed(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,53 @@
+package net.tislib.walletapp.repository;
+
+import jakarta.persistence.LockModeType;
+import net.tislib.walletapp.entity.TransactionScheduleEntity;
+import net.tislib.walletapp.repository.projection.DueSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionScheduleRepository extends JpaRepository<TransactionScheduleEntity, Long> {
+
+    List<TransactionScheduleEntity> findByAccountIdOrderById(Long accountId);
+
+    Optional<TransactionScheduleEntity> findByIdAndAccountId(Long id, Long accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TransactionScheduleEntity s WHERE s.id = :id")
+    Optional<TransactionScheduleEntity> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Active schedules due before the horizon that no node holds a lease on, earliest first. Rows locked
+     * by a concurrent claim are skipped, so nodes claiming at the same time get disjoint batches.
+     */
+    @Query(value = "SELECT id FROM transaction_schedule " +
+            "WHERE status = 'ACTIVE' AND next_run_at <= :horizon " +
+            "AND (claimed_until IS NULL OR claimed_until < :now) " +
+            "ORDER BY next_run_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now,
+                                @Param("horizon") LocalDateTime horizon,
+                                @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE TransactionScheduleEntity s SET s.claimedBy = :nodeId, s.claimedUntil = :until WHERE s.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("nodeId") String nodeId, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE TransactionScheduleEntity s SET s.claimedBy = NULL, s.claimedUntil = NULL " +
+            "WHERE s.id IN :ids AND s.claimedBy = :nodeId")
+    int release(@Param("ids") Collection<Long> ids, @Param("nodeId") String nodeId);
+
+    @Query("SELECT new net.tislib.walletapp.repository.projection.DueSchedule(s.id, s.nextRunAt) " +
+            "FROM TransactionScheduleEntity s WHERE s.id IN :ids")
+    List<DueSchedule> findDueByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,66 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.dto.TransactionSearchCriteria;
+import net.tislib.walletapp.model.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL of a transaction search with only the predicates of the supplied filters, so that the planner can
+ * pick the index of the filter combination instead of a plan that has to work for every combination.
+ * Results are ordered by {@code (created_at, id)} descending and continue after the given position.
+ */
+public record TransactionSearchQuery(String sql, Map<String, Object> parameters) {
+
+    private static final String SELECT = "SELECT id, type, status, account_id, CAST(transaction_data AS text) AS transaction_data, " +
+            "created_at, updated_at, version FROM transaction WHERE account_id = :accountId";
+
+    public static TransactionSearchQuery build(Long accountId, TransactionSearchCriteria criteria,
+                                               LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("accountId", accountId);
+
+        if (criteria.getType() != null) {
+            sql.append(" AND type = :type");
+            parameters.put("type", criteria.getType().name());
+        }
+        if (criteria.getStatus() != null) {
+            sql.append(" AND status = :status");
+            parameters.put("status", criteria.getStatus().name());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            parameters.put("createdFrom", criteria.getCreatedFrom());
+        }
+        if (criteria.getCreatedTo() != null) {
+            sql.append(" AND created_at < :createdTo");
+            parameters.put("createdTo", criteria.getCreatedTo());
+        }
+        if (criteria.getMinAmount() != null) {
+            sql.append(" AND CAST(transaction_data->>'amount' AS numeric) >= :minAmount");
+            parameters.put("minAmount", criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            sql.append(" AND CAST(transaction_data->>'amount' AS numeric) <= :maxAmount");
+            parameters.put("maxAmount", criteria.getMaxAmount());
+        }
+        if (criteria.getCounterpartyAccountId() != null) {
+            // The type is a literal so that the partial index on transfer destinations matches
+            sql.append(" AND type = '").append(TransactionType.TRANSFER.name()).append("'")
+                    .append(" AND CAST(transaction_data->>'destinationAccountId' AS bigint) = :counterpartyAccountId");
+            parameters.put("counterpartyAccountId", criteria.getCounterpartyAccountId());
+        }
+        if (afterCreatedAt != null) {
+            sql.append(" AND (created_at, id) < (:afterCreatedAt, :afterId)");
+            parameters.put("afterCreatedAt", afterCreatedAt);
+            parameters.put("afterId", afterId);
+        }
+
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+        parameters.put("limit", limit);
+        return new TransactionSearchQuery(sql.toString(), parameters);
+    }
+}
@@ -0,0 +1,13 @@
+package net.tislib.walletapp.repository;
+
+import net.tislib.walletapp.repository.projection.TransactionRow;
+
+import java.util.List;
+
+/**
+ * Transaction search with filters only known at runtime, which derived and annotated queries cannot express.
+ */
+public interface TransactionSearchRepository {
+
+    List<TransactionRow> search(TransactionSearchQuery query);
+}
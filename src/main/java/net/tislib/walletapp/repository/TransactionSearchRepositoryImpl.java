@@ -0,0 +1,51 @@
+package net.tislib.walletapp.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.repository.projection.TransactionRow;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs search queries as plain SQL, the JSON predicates have to be written exactly like the expression
+ * indexes to be matched by them.
+ */
+@RequiredArgsConstructor
+public class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<TransactionRow> search(TransactionSearchQuery query) {
+        return jdbcTemplate.query(query.sql(), query.parameters(), (rs, rowNum) -> toRow(rs));
+    }
+
+    private TransactionRow toRow(ResultSet rs) throws SQLException {
+        return new TransactionRow(
+                rs.getLong("id"),
+                TransactionType.valueOf(rs.getString("type")),
+                TransactionStatus.valueOf(rs.getString("status")),
+                rs.getLong("account_id"),
+                readData(rs.getString("transaction_data")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getObject("version", Long.class));
+    }
+
+    private TransactionData readData(String json) {
+        try {
+            return objectMapper.readValue(json, TransactionData.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable transaction data: " + json, e);
+        }
+    }
+}
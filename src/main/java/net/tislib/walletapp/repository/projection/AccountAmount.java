@@ -0,0 +1,12 @@
+package net.tislib.walletapp.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of an aggregated amount keyed by account id.
+ */
+public interface AccountAmount {
+    Long getAccountId();
+
+    BigDecimal getTotal();
+}
@@ -0,0 +1,14 @@
+package net.tislib.walletapp.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of an aggregated amount keyed by account id and transaction type.
+ */
+public interface AccountTypeAmount {
+    Long getAccountId();
+
+    String getType();
+
+    BigDecimal getTotal();
+}
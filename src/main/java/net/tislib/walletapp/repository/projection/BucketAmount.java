@@ -0,0 +1,14 @@
+package net.tislib.walletapp.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of an amount and count aggregated into a fixed-width time bucket.
+ */
+public interface BucketAmount {
+    Long getBucket();
+
+    BigDecimal getTotal();
+
+    Long getCount();
+}
@@ -0,0 +1,9 @@
+package net.tislib.walletapp.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * A schedule claimed by a dispatcher node, with the time its next run is due.
+ */
+public record DueSchedule(Long id, LocalDateTime nextRunAt) {
+}
@@ -0,0 +1,15 @@
+package net.tislib.walletapp.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of incoming transfers keyed by destination account id: the total credited in the destination
+ * currency, and the total debited from the sources in their currencies.
+ */
+public interface IncomingTransferAmount {
+    Long getAccountId();
+
+    BigDecimal getTotal();
+
+    BigDecimal getSourceTotal();
+}
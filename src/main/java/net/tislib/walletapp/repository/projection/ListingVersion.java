@@ -0,0 +1,12 @@
+package net.tislib.walletapp.repository.projection;
+
+/**
+ * Projection summarizing the versions of an account's transactions; changes whenever the listing does.
+ */
+public interface ListingVersion {
+    Long getCount();
+
+    Long getMaxId();
+
+    Long getVersionSum();
+}
@@ -0,0 +1,21 @@
+package net.tislib.walletapp.repository.projection;
+
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a transaction selected by a constructor expression, so that reads neither create managed
+ * entities nor keep snapshots of them for dirty checking.
+ */
+public record TransactionRow(Long id,
+                             TransactionType type,
+                             TransactionStatus status,
+                             Long accountId,
+                             TransactionData data,
+                             LocalDateTime createdAt,
+                             LocalDateTime updatedAt,
+                             Long version) {
+}
@@ -0,0 +1,179 @@
+package net.tislib.walletapp.schedule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tislib.walletapp.config.ScheduleProperties;
+import net.tislib.walletapp.repository.projection.DueSchedule;
+import net.tislib.walletapp.service.TransactionScheduleService;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fires due transaction schedules on any number of nodes.
+ * <p>
+ * Every poll interval the dispatcher claims a batch of schedules due within the horizon, skipping rows
+ * other nodes are claiming at the same moment, and puts them into a {@link TimingWheel}. When their time
+ * comes they are handed to worker threads, so firing waits neither for a poll nor for the database
+ * beyond the run itself. Claims are leases: schedules of a node that dies are claimed by another once
+ * the lease expires, and a node that stops releases the ones it still holds.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduleDispatcher implements SmartLifecycle {
+
+    private final ScheduleProperties properties;
+    private final TransactionScheduleService scheduleService;
+    private final MeterRegistry meterRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private TimingWheel<DueSchedule> wheel;
+    private ExecutorService workers;
+    private Thread dispatcher;
+    private Timer lag;
+    private Counter fired;
+    private volatile boolean running;
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.isEnabled()) {
+            return;
+        }
+
+        lag = meterRegistry.timer("wallet.schedule.lag");
+        fired = meterRegistry.counter("wallet.schedule.fired");
+        meterRegistry.gauge("wallet.schedule.in-flight", inFlight);
+
+        int wheelSize = (int) (properties.getHorizon().toNanos() / properties.getTick().toNanos()) + 1;
+        wheel = new TimingWheel<>(properties.getTick(), wheelSize, System.nanoTime());
+        workers = Executors.newFixedThreadPool(properties.getWorkers(), new WorkerThreadFactory());
+
+        running = true;
+        dispatcher = new Thread(this::runDispatcher, "schedule-dispatcher");
+        dispatcher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            dispatcher.join();
+            workers.shutdown();
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Long> waiting = wheel.drain().stream().map(DueSchedule::id).toList();
+        try {
+            scheduleService.releaseClaims(waiting, nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Could not release {} schedule claims, they expire with their lease", waiting.size(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts after and stops before the execution batcher and ledger engine that fired runs go through.
+     */
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+
+    private void runDispatcher() {
+        long tickNanos = properties.getTick().toNanos();
+        long nextPoll = System.nanoTime();
+        while (running) {
+            try {
+                long now = System.nanoTime();
+                if (now - nextPoll >= 0) {
+                    poll();
+                    nextPoll = now + properties.getPollInterval().toNanos();
+                }
+                wheel.advance(System.nanoTime(), this::submit);
+            } catch (RuntimeException e) {
+                log.error("Schedule dispatch failed, retrying on the next poll", e);
+            }
+            LockSupport.parkNanos(tickNanos);
+        }
+    }
+
+    /**
+     * Claims due schedules in batches while this node has room for them.
+     */
+    private void poll() {
+        while (running) {
+            int room = properties.getMaxInFlight() - inFlight.get();
+            if (room <= 0) {
+                return;
+            }
+            List<DueSchedule> claimed = scheduleService.claimDue(nodeId, properties.getHorizon(), properties.getLease(),
+                    Math.min(room, properties.getBatchSize()));
+
+            long nowNanos = System.nanoTime();
+            LocalDateTime now = LocalDateTime.now();
+            for (DueSchedule schedule : claimed) {
+                inFlight.incrementAndGet();
+                wheel.add(schedule, nowNanos + Duration.between(now, schedule.nextRunAt()).toNanos());
+            }
+            if (claimed.size() < properties.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    private void submit(DueSchedule schedule) {
+        workers.execute(() -> {
+            try {
+                // The wheel runs on the monotonic clock, due times are wall clock times that may be a little ahead
+                Duration early = Duration.between(LocalDateTime.now(), schedule.nextRunAt());
+                if (!early.isNegative()) {
+                    Thread.sleep(early.toMillis() + 1);
+                }
+                lag.record(Duration.between(schedule.nextRunAt(), LocalDateTime.now()));
+                if (scheduleService.fire(schedule.id(), nodeId)) {
+                    fired.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // The claim stays until its lease expires, then the run is picked up again
+                log.error("Firing schedule {} failed", schedule.id(), e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "schedule-worker-" + count.getAndIncrement());
+        }
+    }
+}
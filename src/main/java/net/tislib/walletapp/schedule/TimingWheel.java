@@ -0,0 +1,85 @@
+package net.tislib.walletapp.schedule;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: items are put into the bucket of the tick they are due in, and every tick only
+ * that bucket is looked at, so adding and expiring cost the same regardless of how many items wait.
+ * Items due more than one rotation ahead share buckets with earlier ones and stay until their own tick.
+ * <p>
+ * Not thread-safe; it is owned by the dispatcher thread.
+ */
+class TimingWheel<T> {
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final List<List<Entry<T>>> buckets;
+
+    // Next tick to expire
+    private long currentTick;
+    private int size;
+
+    TimingWheel(Duration tick, int wheelSize, long startNanos) {
+        this.tickNanos = tick.toNanos();
+        this.startNanos = startNanos;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Adds an item due at the given {@link System#nanoTime()}; overdue items expire on the next tick.
+     */
+    void add(T item, long deadlineNanos) {
+        long deadlineTick = Math.max(-Math.floorDiv(startNanos - deadlineNanos, tickNanos), currentTick);
+        buckets.get((int) (deadlineTick % buckets.size())).add(new Entry<>(item, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Expires the items due up to the given {@link System#nanoTime()}, in tick order.
+     */
+    void advance(long nowNanos, Consumer<T> expired) {
+        long targetTick = (nowNanos - startNanos) / tickNanos;
+        // After a stall longer than a rotation every bucket is visited once
+        for (long tick = Math.max(currentTick, targetTick - buckets.size() + 1); tick <= targetTick; tick++) {
+            Iterator<Entry<T>> entries = buckets.get((int) (tick % buckets.size())).iterator();
+            while (entries.hasNext()) {
+                Entry<T> entry = entries.next();
+                if (entry.deadlineTick() <= targetTick) {
+                    entries.remove();
+                    size--;
+                    expired.accept(entry.item());
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick + 1);
+    }
+
+    /**
+     * Removes and returns every waiting item.
+     */
+    List<T> drain() {
+        List<T> items = new ArrayList<>(size);
+        for (List<Entry<T>> bucket : buckets) {
+            for (Entry<T> entry : bucket) {
+                items.add(entry.item());
+            }
+            bucket.clear();
+        }
+        size = 0;
+        return items;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
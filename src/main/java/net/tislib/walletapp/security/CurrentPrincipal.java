@@ -0,0 +1,26 @@
+package net.tislib.walletapp.security;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Access to the principal identified for the current request by {@link PermissionInterceptor}.
+ */
+public final class CurrentPrincipal {
+
+    static final String ATTRIBUTE = CurrentPrincipal.class.getName();
+
+    private CurrentPrincipal() {
+    }
+
+    /**
+     * @return the id of the calling principal, or null if none was identified
+     */
+    public static Long get() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (Long) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
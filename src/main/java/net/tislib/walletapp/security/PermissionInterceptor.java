@@ -0,0 +1,69 @@
+package net.tislib.walletapp.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.PermissionProperties;
+import net.tislib.walletapp.exception.UnauthenticatedException;
+import net.tislib.walletapp.service.PermissionService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Identifies the calling principal from a request header and enforces {@link RequiresPermission},
+ * {@link RequiresSystemAdmin} and {@link Authenticated} on handler methods when permission checks are enabled.
+ */
+@Component
+@RequiredArgsConstructor
+public class PermissionInterceptor implements HandlerInterceptor {
+
+    private final PermissionService permissionService;
+    private final PermissionProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!permissionService.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        String header = request.getHeader(properties.getPrincipalHeader());
+        Long principalId = header != null ? Long.valueOf(header) : null;
+        request.setAttribute(CurrentPrincipal.ATTRIBUTE, principalId);
+
+        RequiresPermission requiresPermission = handlerMethod.getMethodAnnotation(RequiresPermission.class);
+        boolean requiresSystemAdmin = handlerMethod.hasMethodAnnotation(RequiresSystemAdmin.class);
+        if (requiresPermission == null && !requiresSystemAdmin && !handlerMethod.hasMethodAnnotation(Authenticated.class)) {
+            return true;
+        }
+        if (principalId == null) {
+            throw new UnauthenticatedException("Missing " + properties.getPrincipalHeader() + " header");
+        }
+        if (requiresSystemAdmin) {
+            permissionService.checkSystemAdmin(principalId);
+        }
+        if (requiresPermission == null) {
+            return true;
+        }
+
+        permissionService.check(principalId, resolveAccountId(request, requiresPermission.accountId()), requiresPermission.value());
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long resolveAccountId(HttpServletRequest request, String name) {
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = pathVariables != null ? pathVariables.get(name) : null;
+        if (value == null) {
+            value = request.getParameter(name);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Account ID cannot be null");
+        }
+        return Long.valueOf(value);
+    }
+}
@@ -0,0 +1,26 @@
+package net.tislib.walletapp.security;
+
+import net.tislib.walletapp.model.Permission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method as requiring a permission on the account identified by a path variable
+ * or request parameter. Implies {@link Authenticated}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresPermission {
+    /**
+     * The permission required on the account.
+     */
+    Permission value();
+
+    /**
+     * Name of the path variable, or else request parameter, holding the account id.
+     */
+    String accountId() default "accountId";
+}
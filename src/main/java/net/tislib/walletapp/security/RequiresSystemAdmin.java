@@ -0,0 +1,15 @@
+package net.tislib.walletapp.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method as reserved to system administrators, such as operational endpoints that
+ * span all accounts. Implies {@link Authenticated}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequiresSystemAdmin {
+}
@@ -1,10 +1,12 @@
 package net.tislib.walletapp.service;
 
+import net.tislib.walletapp.dto.AccountBalancesDto;
 import net.tislib.walletapp.dto.AccountDto;
 import net.tislib.walletapp.entity.AccountEntity;
 import net.tislib.walletapp.entity.TransactionEntity;
 import net.tislib.walletapp.mapper.AccountMapper;
 import net.tislib.walletapp.mapper.TransactionMapper;
+import net.tislib.walletapp.model.Permission;
 import net.tislib.walletapp.model.TransactionStatus;
 import net.tislib.walletapp.model.TransactionType;
 import net.tislib.walletapp.repository.AccountRepository;
@@ -14,23 +16,33 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class AccountService {
 
+    private static final int MAX_BALANCE_SLOTS = 256;
+
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
     private final TransactionRepository transactionRepository;
     private final TransactionMapper transactionMapper;
     private final TransactionService transactionService;
+    private final BalanceSlotService balanceSlotService;
+    private final PermissionService permissionService;
+    private final RestrictionService restrictionService;
 
     @Transactional(readOnly = true)
     public List<AccountDto> getAllAccounts() {
-        List<AccountEntity> accounts = accountRepository.findAll();
-        return accountMapper.toDtoList(accounts);
+        // Selected straight into DTOs, without managed entities
+        return accountRepository.findAllAsDtos();
     }
 
     @Transactional(readOnly = true)
@@ -40,11 +52,23 @@ public class AccountService {
         return accountMapper.toDto(account);
     }
 
+    /**
+     * Creates an account administered by its creator. The grant is made in the same DB transaction, so an
+     * unknown creator leaves no account behind.
+     *
+     * @param creatorId principal granted ADMIN on the account; ignored while permissions are disabled
+     */
     @Transactional
-    public AccountDto createAccount(AccountDto accountDto) {
+    public AccountDto createAccount(AccountDto accountDto, Long creatorId) {
         validateAccountDto(accountDto);
         AccountEntity account = accountMapper.toEntity(accountDto);
         AccountEntity savedAccount = accountRepository.save(account);
+        if (balanceSlotService.isSharded(savedAccount)) {
+            balanceSlotService.createSlots(savedAccount);
+        }
+        if (permissionService.isEnabled()) {
+            permissionService.grant(creatorId, savedAccount.getId(), Permission.ADMIN);
+        }
         return accountMapper.toDto(savedAccount);
     }
 
@@ -52,6 +76,12 @@ public class AccountService {
         if (accountDto.getName() == null) {
             throw new IllegalArgumentException("Account name cannot be null");
         }
+
+        // The slot count is fixed at creation; changing it later is ignored by the mapper
+        if (accountDto.getBalanceSlots() != null
+                && (accountDto.getBalanceSlots() < 1 || accountDto.getBalanceSlots() > MAX_BALANCE_SLOTS)) {
+            throw new IllegalArgumentException("Balance slots must be between 1 and " + MAX_BALANCE_SLOTS);
+        }
     }
 
     @Transactional
@@ -72,6 +102,33 @@ public class AccountService {
         return transactionService.calculateAccountBalance(accountId);
     }
 
+    @Transactional(readOnly = true)
+    public AccountBalancesDto calculateAccountBalances(List<Long> accountIds) {
+        if (accountIds == null || accountIds.contains(null)) {
+            throw new IllegalArgumentException("Account IDs cannot be null");
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(accountIds);
+        Map<Long, BigDecimal> found = transactionService.calculateAccountBalances(uniqueIds);
+
+        // Preserve the requested order and report ids that matched no account
+        Map<Long, BigDecimal> balances = new LinkedHashMap<>();
+        List<Long> missingAccountIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            BigDecimal balance = found.get(id);
+            if (balance != null) {
+                balances.put(id, balance);
+            } else {
+                missingAccountIds.add(id);
+            }
+        }
+
+        AccountBalancesDto result = new AccountBalancesDto();
+        result.setBalances(balances);
+        result.setMissingAccountIds(missingAccountIds);
+        return result;
+    }
+
     @Transactional
     public void deleteAccount(Long id) {
         AccountEntity account = accountRepository.findById(id)
@@ -82,6 +139,10 @@ public class AccountService {
             throw new IllegalStateException("Cannot delete account with a positive balance");
         }
 
+        // Rows that only exist for the account go with it
+        balanceSlotService.deleteSlots(id);
+        permissionService.revokeAll(id);
+        restrictionService.deleteRestrictionsOfAccount(id);
         accountRepository.deleteById(id);
     }
 }
@@ -0,0 +1,121 @@
+package net.tislib.walletapp.service;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.entity.AccountBalanceSlotEntity;
+import net.tislib.walletapp.entity.AccountEntity;
+import net.tislib.walletapp.repository.AccountBalanceSlotRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps the balance of sharded accounts split over a fixed number of slot rows.
+ * <p>
+ * A credit locks only one randomly chosen slot, so concurrent credits of a high fan-in account contend
+ * on 1/N of the rows. A debit first tries a single random slot and only falls back to locking all
+ * slots, in slot order, when no single slot covers the amount. Slots start at zero when the account is
+ * created and change in the same DB transaction that marks a transaction DONE, so their sum always
+ * equals the balance derived from the transaction history.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceSlotService {
+
+    private final AccountBalanceSlotRepository accountBalanceSlotRepository;
+
+    public boolean isSharded(AccountEntity account) {
+        return account.getBalanceSlots() != null && account.getBalanceSlots() > 1;
+    }
+
+    /**
+     * Picks the slot that a credit or an aggregate row of the account goes to.
+     */
+    public int pickSlot(AccountEntity account) {
+        return isSharded(account) ? ThreadLocalRandom.current().nextInt(account.getBalanceSlots()) : 0;
+    }
+
+    @Transactional
+    public void createSlots(AccountEntity account) {
+        List<AccountBalanceSlotEntity> slots = new ArrayList<>();
+        for (int i = 0; i < account.getBalanceSlots(); i++) {
+            AccountBalanceSlotEntity slot = new AccountBalanceSlotEntity();
+            slot.setAccountId(account.getId());
+            slot.setSlot(i);
+            slot.setAmount(BigDecimal.ZERO);
+            slots.add(slot);
+        }
+        accountBalanceSlotRepository.saveAll(slots);
+    }
+
+    @Transactional
+    public void deleteSlots(Long accountId) {
+        accountBalanceSlotRepository.deleteByAccountId(accountId);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(Long accountId) {
+        return accountBalanceSlotRepository.getSumForAccount(accountId);
+    }
+
+    @Transactional
+    public void credit(AccountEntity account, BigDecimal amount) {
+        accountBalanceSlotRepository.credit(account.getId(), pickSlot(account), amount);
+    }
+
+    /**
+     * Takes the amount from the account's slots.
+     *
+     * @throws IllegalStateException with the given message if the slots together do not cover the amount
+     */
+    @Transactional
+    public void debit(AccountEntity account, BigDecimal amount, String insufficientFundsMessage) {
+        if (!sweep(account, amount, false)) {
+            throw new IllegalStateException(insufficientFundsMessage);
+        }
+    }
+
+    /**
+     * Takes the amount from the account's slots without checking funds, for debits that were already
+     * accepted elsewhere. A shortfall is left as a negative first slot.
+     *
+     * @return false if the slots did not cover the amount, meaning they had drifted from the balance
+     */
+    @Transactional
+    public boolean debitUnchecked(AccountEntity account, BigDecimal amount) {
+        return sweep(account, amount, true);
+    }
+
+    private boolean sweep(AccountEntity account, BigDecimal amount, boolean allowShortfall) {
+        if (accountBalanceSlotRepository.debitIfCovered(account.getId(), pickSlot(account), amount) > 0) {
+            return true;
+        }
+
+        // Lock every slot in slot order so that concurrent sweeps cannot deadlock each other
+        List<AccountBalanceSlotEntity> slots = accountBalanceSlotRepository.findByAccountIdForUpdate(account.getId());
+        BigDecimal available = slots.stream()
+                .map(AccountBalanceSlotEntity::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        boolean covered = available.compareTo(amount) >= 0;
+        if (!covered && !allowShortfall) {
+            return false;
+        }
+
+        BigDecimal remaining = amount;
+        for (AccountBalanceSlotEntity slot : slots) {
+            BigDecimal taken = slot.getAmount().max(BigDecimal.ZERO).min(remaining);
+            slot.setAmount(slot.getAmount().subtract(taken));
+            remaining = remaining.subtract(taken);
+            if (remaining.signum() == 0) {
+                break;
+            }
+        }
+        if (remaining.signum() > 0) {
+            slots.get(0).setAmount(slots.get(0).getAmount().subtract(remaining));
+        }
+        return covered;
+    }
+}
@@ -0,0 +1,66 @@
+package net.tislib.walletapp.service;
+
+import net.tislib.walletapp.entity.RestrictionEntity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup structure built from the enabled restriction rows.
+ * <p>
+ * Account and currency entries are pre-merged with the global limits, so evaluating an execution
+ * costs at most two hash lookups and allocates nothing unless both an account and a currency rule apply.
+ */
+record CompiledRestrictions(RestrictionLimits global,
+                            Map<Long, RestrictionLimits> byAccount,
+                            Map<String, RestrictionLimits> byCurrency) {
+
+    static final CompiledRestrictions EMPTY = new CompiledRestrictions(RestrictionLimits.NONE, Map.of(), Map.of());
+
+    static CompiledRestrictions compile(List<RestrictionEntity> restrictions) {
+        RestrictionLimits global = RestrictionLimits.NONE;
+        Map<Long, RestrictionLimits> byAccount = new HashMap<>();
+        Map<String, RestrictionLimits> byCurrency = new HashMap<>();
+
+        for (RestrictionEntity restriction : restrictions) {
+            RestrictionLimits limits = RestrictionLimits.of(restriction.getType(), restriction.getLimitValue());
+            if (restriction.getAccountId() != null) {
+                byAccount.merge(restriction.getAccountId(), limits, RestrictionLimits::tighten);
+            } else if (restriction.getCurrency() != null) {
+                byCurrency.merge(restriction.getCurrency(), limits, RestrictionLimits::tighten);
+            } else {
+                global = global.tighten(limits);
+            }
+        }
+
+        RestrictionLimits finalGlobal = global;
+        byAccount.replaceAll((accountId, limits) -> limits.tighten(finalGlobal));
+        byCurrency.replaceAll((currency, limits) -> limits.tighten(finalGlobal));
+
+        return new CompiledRestrictions(global, Map.copyOf(byAccount), Map.copyOf(byCurrency));
+    }
+
+    /**
+     * Whether resolving limits needs the account currency; lets callers skip loading the account.
+     */
+    boolean dependsOnCurrency() {
+        return !byCurrency.isEmpty();
+    }
+
+    RestrictionLimits limitsFor(Long accountId, String currency) {
+        RestrictionLimits accountLimits = byAccount.get(accountId);
+        RestrictionLimits currencyLimits = currency != null ? byCurrency.get(currency) : null;
+
+        if (accountLimits != null && currencyLimits != null) {
+            return accountLimits.tighten(currencyLimits);
+        }
+        if (accountLimits != null) {
+            return accountLimits;
+        }
+        if (currencyLimits != null) {
+            return currencyLimits;
+        }
+        return global;
+    }
+}
@@ -0,0 +1,97 @@
+package net.tislib.walletapp.service;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.DailyAggregateDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.entity.AccountEntity;
+import net.tislib.walletapp.entity.TransactionEntity;
+import net.tislib.walletapp.mapper.DailyAggregateMapper;
+import net.tislib.walletapp.model.AggregateType;
+import net.tislib.walletapp.repository.AccountRepository;
+import net.tislib.walletapp.repository.DailyAggregateRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Maintains per-account daily totals so reporting never has to scan the raw transaction table.
+ * <p>
+ * Totals are bumped in the same DB transaction that marks a transaction DONE, keyed by the UTC day of
+ * its {@code completedAt}; the backfill derives the day from the same column. The backfill rebuilds a
+ * day range from scratch and is meant for initial population or repair; transactions completing on
+ * those days while it runs may need another backfill. Rows of sharded accounts are spread over their
+ * balance slots and merged again when read.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailyAggregateService {
+
+    private final DailyAggregateRepository dailyAggregateRepository;
+    private final DailyAggregateMapper dailyAggregateMapper;
+    private final AccountRepository accountRepository;
+    private final BalanceSlotService balanceSlotService;
+
+    @Transactional(readOnly = true)
+    public List<DailyAggregateDto> getDailyAggregates(Long accountId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<DailyAggregateDto> rows = dailyAggregateMapper.toDtoList(
+                dailyAggregateRepository.findByAccountIdAndDayBetweenOrderByDayAscTypeAsc(accountId, from, to));
+
+        // Sharded accounts spread a day's total over several slot rows; rows arrive ordered by day and type
+        List<DailyAggregateDto> merged = new ArrayList<>();
+        for (DailyAggregateDto row : rows) {
+            DailyAggregateDto last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && last.getDay().equals(row.getDay()) && last.getType() == row.getType()) {
+                last.setTotal(last.getTotal().add(row.getTotal()));
+                last.setTransactionCount(last.getTransactionCount() + row.getTransactionCount());
+            } else {
+                merged.add(row);
+            }
+        }
+        return merged;
+    }
+
+    @Transactional
+    public void recordExecution(TransactionEntity transaction) {
+        LocalDate day = transaction.getCompletedAt().toLocalDate();
+        AccountEntity account = transaction.getAccount();
+        Long accountId = account.getId();
+        int slot = balanceSlotService.pickSlot(account);
+        TransactionData data = transaction.getTransactionData();
+
+        if (data instanceof DepositTransactionData depositData) {
+            dailyAggregateRepository.addToAggregate(accountId, day, AggregateType.DEPOSIT.name(), slot, depositData.getAmount());
+        } else if (data instanceof WithdrawTransactionData withdrawData) {
+            dailyAggregateRepository.addToAggregate(accountId, day, AggregateType.WITHDRAW.name(), slot, withdrawData.getAmount());
+        } else if (data instanceof TransferTransactionData transferData) {
+            AccountEntity destination = accountRepository.findById(transferData.getDestinationAccountId())
+                    .orElseThrow(() -> new NoSuchElementException("Destination account not found with id: " + transferData.getDestinationAccountId()));
+            dailyAggregateRepository.addToAggregate(accountId, day, AggregateType.TRANSFER_OUT.name(), slot, transferData.getAmount());
+            dailyAggregateRepository.addToAggregate(destination.getId(), day, AggregateType.TRANSFER_IN.name(),
+                    balanceSlotService.pickSlot(destination), transferData.creditedAmount());
+        }
+    }
+
+    @Transactional
+    public int backfill(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        dailyAggregateRepository.deleteByDayRange(from, to);
+        return dailyAggregateRepository.insertAggregatesForDayRange(from, to);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Day range cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start must not be after range end");
+        }
+    }
+}
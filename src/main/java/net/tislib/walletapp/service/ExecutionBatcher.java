@@ -0,0 +1,250 @@
+package net.tislib.walletapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tislib.walletapp.config.ExecutionProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Group commit for database executions: executions arriving within a short window are run in one DB
+ * transaction, so they share a single commit and WAL flush.
+ * <p>
+ * Every execution runs in its own savepoint. One that fails is rolled back to its savepoint and only its
+ * caller sees the error, while the rest of the batch goes on. Callers get their results once the batch
+ * has committed; if the commit itself fails, every execution of the batch is run again in a transaction
+ * of its own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExecutionBatcher implements SmartLifecycle {
+
+    private final ExecutionProperties executionProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BlockingQueue<Pending<?>> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> dispatchers = new ArrayList<>();
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate savepointTemplate;
+    private DistributionSummary batchSizes;
+    private Counter fallbacks;
+    private volatile boolean running;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        savepointTemplate = new TransactionTemplate(transactionManager);
+        savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        batchSizes = meterRegistry.summary("wallet.execution.batch.size");
+        fallbacks = meterRegistry.counter("wallet.execution.batch.fallbacks");
+
+        running = true;
+        for (int i = 0; i < executionProperties.getBatch().getDispatchers(); i++) {
+            Thread dispatcher = new Thread(this::runDispatcher, "execution-batcher-" + i);
+            dispatcher.start();
+            dispatchers.add(dispatcher);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            // Dispatchers drain the queue before exiting
+            for (Thread dispatcher : dispatchers) {
+                dispatcher.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dispatchers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so requests never reach a stopped batcher.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Runs the work in the next batch and waits until the batch has committed.
+     *
+     * @return the work's result
+     */
+    public <T> T execute(Supplier<T> work) {
+        if (!running) {
+            throw new IllegalStateException("Execution batcher is not running");
+        }
+
+        Pending<T> pending = new Pending<>(work);
+        queue.add(pending);
+        try {
+            return pending.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the execution batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Batched execution failed", e.getCause());
+        }
+    }
+
+    private void runDispatcher() {
+        List<Pending<?>> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+
+                runBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | Error e) {
+                log.error("Execution batch failed unexpectedly", e);
+                for (Pending<?> pending : batch) {
+                    pending.result.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Adds executions to the batch until it is full or the window since its first execution has passed.
+     */
+    private void collect(List<Pending<?>> batch) throws InterruptedException {
+        ExecutionProperties.Batch settings = executionProperties.getBatch();
+        long deadline = System.nanoTime() + settings.getWindow().toNanos();
+        while (batch.size() < settings.getMaxSize()) {
+            queue.drainTo(batch, settings.getMaxSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= settings.getMaxSize() || remaining <= 0) {
+                return;
+            }
+            Pending<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void runBatch(List<Pending<?>> batch) {
+        batchSizes.record(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Pending<?> pending : batch) {
+                    runInSavepoint(pending);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Execution batch of {} failed to commit, running its executions one by one", batch.size(), e);
+            fallbacks.increment();
+            for (Pending<?> pending : batch) {
+                pending.runAlone(transactionTemplate);
+            }
+            return;
+        }
+
+        for (Pending<?> pending : batch) {
+            pending.complete();
+        }
+    }
+
+    private void runInSavepoint(Pending<?> pending) {
+        try {
+            savepointTemplate.executeWithoutResult(status -> {
+                pending.run();
+                // Surface write failures while the savepoint can still undo them
+                entityManager.flush();
+            });
+        } catch (RuntimeException e) {
+            pending.fail(e);
+            // Changes of the failed execution that were never flushed must not leak into the next one
+            entityManager.clear();
+        }
+    }
+
+    private static final class Pending<T> {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        // Outcome within the batch, reported once the batch has committed
+        private T value;
+        private RuntimeException failure;
+
+        Pending(Supplier<T> work) {
+            this.work = work;
+        }
+
+        void run() {
+            value = work.get();
+            failure = null;
+        }
+
+        void fail(RuntimeException e) {
+            value = null;
+            failure = e;
+        }
+
+        void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+
+        void runAlone(TransactionTemplate transactionTemplate) {
+            try {
+                result.complete(transactionTemplate.execute(status -> work.get()));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
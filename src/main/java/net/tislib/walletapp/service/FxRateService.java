@@ -0,0 +1,71 @@
+package net.tislib.walletapp.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tislib.walletapp.entity.FxRateEntity;
+import net.tislib.walletapp.model.Money;
+import net.tislib.walletapp.repository.FxRateRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves exchange rates from a snapshot of the {@code fx_rate} table. A refresh builds a new snapshot and
+ * swaps it in whole, so conversions read a consistent set of rates without locks or queries.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FxRateService {
+
+    private final FxRateRepository fxRateRepository;
+
+    private volatile FxRates rates = FxRates.EMPTY;
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    @Scheduled(initialDelayString = "${wallet.fx.refresh-interval:PT1M}", fixedDelayString = "${wallet.fx.refresh-interval:PT1M}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload exchange rates, keeping the previous ones", e);
+        }
+    }
+
+    /**
+     * Reloads the rates; conversions running meanwhile finish with the previous snapshot.
+     */
+    public void refresh() {
+        Map<String, Map<String, BigDecimal>> loaded = new HashMap<>();
+        for (FxRateEntity rate : fxRateRepository.findAll()) {
+            loaded.computeIfAbsent(rate.getBaseCurrency(), base -> new HashMap<>()).put(rate.getQuoteCurrency(), rate.getRate());
+        }
+        rates = FxRates.of(loaded);
+    }
+
+    /**
+     * Converts an amount to another currency, rounding down to the minor unit of the target currency so
+     * that a conversion never credits more than was debited.
+     *
+     * @throws IllegalStateException if there is no rate for the pair
+     */
+    public Conversion convert(BigDecimal amount, String from, String to) {
+        BigDecimal rate = rates.rate(from, to);
+        if (rate == null) {
+            throw new IllegalStateException("No exchange rate from " + from + " to " + to);
+        }
+        return new Conversion(rate, amount.multiply(rate).setScale(Money.scaleOf(to), RoundingMode.DOWN));
+    }
+
+    public record Conversion(BigDecimal rate, BigDecimal amount) {
+    }
+}
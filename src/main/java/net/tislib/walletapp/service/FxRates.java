@@ -0,0 +1,47 @@
+package net.tislib.walletapp.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of exchange rates. A pair without a rate of its own is quoted through the inverse
+ * of the opposite pair, computed once when the snapshot is built.
+ */
+public final class FxRates {
+
+    public static final FxRates EMPTY = new FxRates(Map.of());
+
+    private final Map<String, BigDecimal> rates;
+
+    private FxRates(Map<String, BigDecimal> rates) {
+        this.rates = rates;
+    }
+
+    /**
+     * @param rates rates by base and quote currency
+     */
+    public static FxRates of(Map<String, Map<String, BigDecimal>> rates) {
+        Map<String, BigDecimal> byPair = new HashMap<>();
+        rates.forEach((base, quotes) -> quotes.forEach((quote, rate) ->
+                byPair.putIfAbsent(key(quote, base), BigDecimal.ONE.divide(rate, MathContext.DECIMAL64))));
+        rates.forEach((base, quotes) -> quotes.forEach((quote, rate) -> byPair.put(key(base, quote), rate)));
+        return new FxRates(Map.copyOf(byPair));
+    }
+
+    /**
+     * @return units of {@code to} bought by one unit of {@code from}, or {@code null} if there is no rate
+     */
+    public BigDecimal rate(String from, String to) {
+        return rates.get(key(from, to));
+    }
+
+    public int size() {
+        return rates.size();
+    }
+
+    private static String key(String from, String to) {
+        return from + '/' + to;
+    }
+}
@@ -0,0 +1,176 @@
+package net.tislib.walletapp.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.cache.LruCache;
+import net.tislib.walletapp.config.PermissionProperties;
+import net.tislib.walletapp.dto.AccountGrantDto;
+import net.tislib.walletapp.dto.PrincipalDto;
+import net.tislib.walletapp.entity.AccountGrantEntity;
+import net.tislib.walletapp.entity.PrincipalEntity;
+import net.tislib.walletapp.exception.PermissionDeniedException;
+import net.tislib.walletapp.mapper.PrincipalMapper;
+import net.tislib.walletapp.model.Permission;
+import net.tislib.walletapp.repository.AccountGrantRepository;
+import net.tislib.walletapp.repository.AccountRepository;
+import net.tislib.walletapp.repository.PrincipalRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Manages principals and their account grants, and answers access checks from a cache of
+ * precomputed {@link PrincipalPermissions}. A principal's entry is loaded with one query on a miss
+ * and invalidated whenever one of its grants changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class PermissionService {
+
+    private final PrincipalRepository principalRepository;
+    private final AccountGrantRepository accountGrantRepository;
+    private final AccountRepository accountRepository;
+    private final PrincipalMapper principalMapper;
+    private final PermissionProperties properties;
+
+    private LruCache<Long, PrincipalPermissions> cache;
+
+    @PostConstruct
+    void init() {
+        cache = new LruCache<>(properties.getCacheSize());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean isAllowed(Long principalId, Long accountId, Permission permission) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        if (principalId == null || accountId == null) {
+            return false;
+        }
+        return permissionsOf(principalId).has(accountId, permission);
+    }
+
+    public void check(Long principalId, Long accountId, Permission permission) {
+        if (!isAllowed(principalId, accountId, permission)) {
+            throw new PermissionDeniedException("Principal " + principalId + " lacks " + permission + " on account " + accountId);
+        }
+    }
+
+    public boolean isSystemAdmin(Long principalId) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        return principalId != null && properties.getSystemAdmins().contains(principalId);
+    }
+
+    public void checkSystemAdmin(Long principalId) {
+        if (!isSystemAdmin(principalId)) {
+            throw new PermissionDeniedException("Principal " + principalId + " is not a system administrator");
+        }
+    }
+
+    public void checkAll(Long principalId, Collection<Long> accountIds, Permission permission) {
+        for (Long accountId : accountIds) {
+            check(principalId, accountId, permission);
+        }
+    }
+
+    @Transactional
+    public PrincipalDto createPrincipal(PrincipalDto principalDto) {
+        if (principalDto.getName() == null) {
+            throw new IllegalArgumentException("Principal name cannot be null");
+        }
+        PrincipalEntity savedPrincipal = principalRepository.save(principalMapper.toEntity(principalDto));
+        return principalMapper.toDto(savedPrincipal);
+    }
+
+    @Transactional(readOnly = true)
+    public PrincipalDto getPrincipal(Long id) {
+        return principalMapper.toDto(findPrincipal(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountGrantDto> getGrants(Long principalId) {
+        findPrincipal(principalId);
+        return principalMapper.toGrantDtoList(accountGrantRepository.findByPrincipalId(principalId));
+    }
+
+    @Transactional
+    public AccountGrantDto grant(Long principalId, Long accountId, Permission permission) {
+        if (accountId == null) {
+            throw new IllegalArgumentException("Account ID cannot be null");
+        }
+        if (permission == null) {
+            throw new IllegalArgumentException("Permission cannot be null");
+        }
+        findPrincipal(principalId);
+        if (!accountRepository.existsById(accountId)) {
+            throw new NoSuchElementException("Account not found with id: " + accountId);
+        }
+
+        AccountGrantEntity grant = accountGrantRepository
+                .findByPrincipalIdAndAccountIdAndPermission(principalId, accountId, permission)
+                .orElseGet(() -> {
+                    AccountGrantEntity newGrant = new AccountGrantEntity();
+                    newGrant.setPrincipalId(principalId);
+                    newGrant.setAccountId(accountId);
+                    newGrant.setPermission(permission);
+                    return accountGrantRepository.save(newGrant);
+                });
+
+        invalidateAfterCommit(principalId);
+        return principalMapper.toDto(grant);
+    }
+
+    @Transactional
+    public void revoke(Long principalId, Long accountId, Permission permission) {
+        AccountGrantEntity grant = accountGrantRepository
+                .findByPrincipalIdAndAccountIdAndPermission(principalId, accountId, permission)
+                .orElseThrow(() -> new NoSuchElementException("Grant not found for principal: " + principalId + " on account: " + accountId));
+
+        accountGrantRepository.delete(grant);
+        invalidateAfterCommit(principalId);
+    }
+
+    /**
+     * Removes every grant on an account that is being deleted.
+     */
+    @Transactional
+    public void revokeAll(Long accountId) {
+        List<AccountGrantEntity> grants = accountGrantRepository.findByAccountId(accountId);
+        accountGrantRepository.deleteAll(grants);
+        grants.stream().map(AccountGrantEntity::getPrincipalId).distinct().forEach(this::invalidateAfterCommit);
+    }
+
+    private PrincipalPermissions permissionsOf(Long principalId) {
+        return cache.get(principalId, id -> PrincipalPermissions.of(accountGrantRepository.findByPrincipalId(id)));
+    }
+
+    private void invalidateAfterCommit(Long principalId) {
+        // Invalidate now so no stale decision is served, and again after commit so that a load racing
+        // with this transaction cannot cache the pre-commit grants
+        cache.invalidate(principalId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(principalId);
+                }
+            });
+        }
+    }
+
+    private PrincipalEntity findPrincipal(Long id) {
+        return principalRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Principal not found with id: " + id));
+    }
+}
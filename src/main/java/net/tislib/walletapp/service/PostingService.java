@@ -0,0 +1,46 @@
+package net.tislib.walletapp.service;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.entity.TransactionEntity;
+import net.tislib.walletapp.repository.PostingRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes the postings stored balances are summed from.
+ * <p>
+ * Postings are inserted in the same DB transaction that marks a transaction DONE and are never updated
+ * or deleted, so an account's balance is the sum of its postings and does not depend on the type,
+ * status or JSON payload of its transactions. The transaction table stays the record of what was
+ * requested; reconciliation derives balances from it independently and reports accounts whose postings
+ * add up to a different balance.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostingService {
+
+    private final PostingRepository postingRepository;
+
+    @Transactional
+    public void recordExecution(TransactionEntity transaction) {
+        Long transactionId = transaction.getId();
+        Long accountId = transaction.getAccount().getId();
+        LocalDateTime now = LocalDateTime.now();
+        TransactionData data = transaction.getTransactionData();
+
+        if (data instanceof DepositTransactionData depositData) {
+            postingRepository.insertPosting(transactionId, accountId, depositData.getAmount(), now);
+        } else if (data instanceof WithdrawTransactionData withdrawData) {
+            postingRepository.insertPosting(transactionId, accountId, withdrawData.getAmount().negate(), now);
+        } else if (data instanceof TransferTransactionData transferData) {
+            postingRepository.insertTransferPostings(transactionId, accountId, transferData.getAmount(),
+                    transferData.getDestinationAccountId(), transferData.creditedAmount(), now);
+        }
+    }
+}
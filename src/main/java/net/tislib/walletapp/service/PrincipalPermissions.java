@@ -0,0 +1,71 @@
+package net.tislib.walletapp.service;
+
+import net.tislib.walletapp.entity.AccountGrantEntity;
+import net.tislib.walletapp.model.Permission;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Precomputed access decisions of one principal.
+ * <p>
+ * For every permission it holds the sorted, de-duplicated ids of the accounts on which that permission
+ * is effective, with implied permissions already folded in. A check is a single binary search over a
+ * primitive array, with no allocation and no DB access.
+ */
+public final class PrincipalPermissions {
+
+    public static final PrincipalPermissions NONE = new PrincipalPermissions(new long[Permission.values().length][]);
+
+    private final long[][] accountIdsByPermission;
+
+    private PrincipalPermissions(long[][] accountIdsByPermission) {
+        for (int i = 0; i < accountIdsByPermission.length; i++) {
+            if (accountIdsByPermission[i] == null) {
+                accountIdsByPermission[i] = new long[0];
+            }
+        }
+        this.accountIdsByPermission = accountIdsByPermission;
+    }
+
+    public static PrincipalPermissions of(Collection<AccountGrantEntity> grants) {
+        Permission[] permissions = Permission.values();
+        long[][] accountIds = new long[permissions.length][];
+        for (Permission required : permissions) {
+            accountIds[required.ordinal()] = grants.stream()
+                    .filter(grant -> grant.getPermission().implies(required))
+                    .mapToLong(AccountGrantEntity::getAccountId)
+                    .sorted()
+                    .distinct()
+                    .toArray();
+        }
+        return new PrincipalPermissions(accountIds);
+    }
+
+    /**
+     * Builds permissions from parallel arrays; used where grants do not come from entities.
+     */
+    public static PrincipalPermissions of(long[] accountIds, Permission[] grantedPermissions) {
+        Permission[] permissions = Permission.values();
+        long[][] effective = new long[permissions.length][];
+        for (Permission required : permissions) {
+            long[] ids = new long[accountIds.length];
+            int count = 0;
+            for (int i = 0; i < accountIds.length; i++) {
+                if (grantedPermissions[i].implies(required)) {
+                    ids[count++] = accountIds[i];
+                }
+            }
+            effective[required.ordinal()] = Arrays.stream(ids, 0, count).sorted().distinct().toArray();
+        }
+        return new PrincipalPermissions(effective);
+    }
+
+    public boolean has(long accountId, Permission permission) {
+        return Arrays.binarySearch(accountIdsByPermission[permission.ordinal()], accountId) >= 0;
+    }
+
+    public int size(Permission permission) {
+        return accountIdsByPermission[permission.ordinal()].length;
+    }
+}
@@ -0,0 +1,375 @@
+package net.tislib.walletapp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tislib.walletapp.config.ReconciliationProperties;
+import net.tislib.walletapp.dto.ReconciliationMismatchDto;
+import net.tislib.walletapp.dto.ReconciliationRequest;
+import net.tislib.walletapp.dto.ReconciliationRunDto;
+import net.tislib.walletapp.entity.ReconciliationMismatchEntity;
+import net.tislib.walletapp.entity.ReconciliationRunEntity;
+import net.tislib.walletapp.mapper.ReconciliationMapper;
+import net.tislib.walletapp.model.MismatchKind;
+import net.tislib.walletapp.model.ReconciliationStatus;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.repository.AccountBalanceSlotRepository;
+import net.tislib.walletapp.repository.AccountRepository;
+import net.tislib.walletapp.repository.PostingRepository;
+import net.tislib.walletapp.repository.ReconciliationMismatchRepository;
+import net.tislib.walletapp.repository.ReconciliationRunRepository;
+import net.tislib.walletapp.repository.TransactionRepository;
+import net.tislib.walletapp.repository.projection.AccountAmount;
+import net.tislib.walletapp.repository.projection.AccountTypeAmount;
+import net.tislib.walletapp.repository.projection.IncomingTransferAmount;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomputes every account balance from the transaction table and checks global ledger invariants.
+ * Recomputed balances are compared with the balances the execution path maintains: the sum of each
+ * account's postings and, for sharded accounts, the sum of its balance slots.
+ * <p>
+ * The account id space is split into chunks that are reconciled in parallel waves, each chunk in its
+ * own read-only DB transaction. The run checkpoint is persisted after every wave, so a paused, failed
+ * or interrupted run resumes where it stopped. All queries are bounded by the highest transaction id
+ * seen at start; transactions executed while the run is in progress may still show up as transient
+ * mismatches and should be confirmed by a second run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconciliationService {
+
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationMismatchRepository mismatchRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final PostingRepository postingRepository;
+    private final AccountBalanceSlotRepository slotRepository;
+    private final ReconciliationMapper reconciliationMapper;
+    private final ReconciliationProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pauseRequests = ConcurrentHashMap.newKeySet();
+    private final ExecutorService coordinators = Executors.newCachedThreadPool();
+
+    public ReconciliationRunDto startRun(ReconciliationRequest request) {
+        ReconciliationRequest overrides = request != null ? request : new ReconciliationRequest();
+
+        ReconciliationRunEntity run = new ReconciliationRunEntity();
+        run.setChunkSize(positive(overrides.getChunkSize(), properties.getChunkSize(), "Chunk size"));
+        run.setParallelism(positive(overrides.getParallelism(), properties.getParallelism(), "Parallelism"));
+        run.setMaxAccountsPerSecond(overrides.getMaxAccountsPerSecond() != null
+                ? overrides.getMaxAccountsPerSecond() : properties.getMaxAccountsPerSecond());
+        if (run.getMaxAccountsPerSecond() < 0) {
+            throw new IllegalArgumentException("Max accounts per second cannot be negative");
+        }
+        run.setCompareStoredBalance(overrides.getCompareStoredBalance() != null
+                ? overrides.getCompareStoredBalance() : properties.isCompareStoredBalance());
+
+        Long minAccountId = accountRepository.findMinId();
+        Long maxAccountId = accountRepository.findMaxId();
+        run.setFromAccountId(minAccountId != null ? minAccountId : 0L);
+        run.setToAccountId(maxAccountId != null ? maxAccountId : -1L);
+        run.setNextAccountId(run.getFromAccountId());
+        run.setMaxTransactionId(transactionRepository.findMaxId());
+        run.setStatus(ReconciliationStatus.RUNNING);
+
+        ReconciliationRunEntity savedRun = runRepository.save(run);
+        launch(savedRun.getId());
+
+        return reconciliationMapper.toDto(savedRun);
+    }
+
+    public ReconciliationRunDto getRun(Long id) {
+        return reconciliationMapper.toDto(findRun(id));
+    }
+
+    public List<ReconciliationMismatchDto> getMismatches(Long id) {
+        findRun(id);
+        return reconciliationMapper.toMismatchDtoList(mismatchRepository.findByRunIdOrderById(id));
+    }
+
+    public ReconciliationRunDto pauseRun(Long id) {
+        ReconciliationRunEntity run = findRun(id);
+        if (!activeRuns.contains(id)) {
+            throw new IllegalStateException("Reconciliation run is not active: " + id);
+        }
+
+        pauseRequests.add(id);
+        return reconciliationMapper.toDto(run);
+    }
+
+    public ReconciliationRunDto resumeRun(Long id) {
+        ReconciliationRunEntity run = findRun(id);
+        if (run.getStatus() == ReconciliationStatus.COMPLETED) {
+            throw new IllegalStateException("Reconciliation run is already completed: " + id);
+        }
+        if (activeRuns.contains(id)) {
+            throw new IllegalStateException("Reconciliation run is already active: " + id);
+        }
+
+        run.setStatus(ReconciliationStatus.RUNNING);
+        ReconciliationRunEntity savedRun = runRepository.save(run);
+        launch(id);
+
+        return reconciliationMapper.toDto(savedRun);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted runs stay RUNNING in the database and can be resumed after restart
+        coordinators.shutdownNow();
+    }
+
+    private ReconciliationRunEntity findRun(Long id) {
+        return runRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Reconciliation run not found with id: " + id));
+    }
+
+    private int positive(Integer override, int defaultValue, String name) {
+        int value = override != null ? override : defaultValue;
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    private void launch(Long runId) {
+        if (!activeRuns.add(runId)) {
+            throw new IllegalStateException("Reconciliation run is already active: " + runId);
+        }
+        pauseRequests.remove(runId);
+
+        coordinators.submit(() -> {
+            try {
+                execute(runId);
+            } catch (InterruptedException e) {
+                // Left RUNNING so that it can be resumed after restart, see shutdown()
+                log.info("Reconciliation run {} interrupted", runId);
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Reconciliation run {} failed", runId, e);
+                runRepository.findById(runId).ifPresent(run -> {
+                    run.setStatus(ReconciliationStatus.FAILED);
+                    runRepository.save(run);
+                });
+            } finally {
+                activeRuns.remove(runId);
+            }
+        });
+    }
+
+    private void execute(Long runId) throws InterruptedException, ExecutionException {
+        ReconciliationRunEntity run = findRun(runId);
+        Throttle throttle = new Throttle(run.getMaxAccountsPerSecond());
+        ExecutorService workers = Executors.newFixedThreadPool(run.getParallelism());
+
+        try {
+            long next = run.getNextAccountId();
+            while (next <= run.getToAccountId()) {
+                if (pauseRequests.remove(runId)) {
+                    run.setStatus(ReconciliationStatus.PAUSED);
+                    runRepository.save(run);
+                    return;
+                }
+
+                long waveStart = System.nanoTime();
+                List<Future<ChunkResult>> futures = new ArrayList<>();
+                for (int i = 0; i < run.getParallelism() && next <= run.getToAccountId(); i++) {
+                    long fromId = next;
+                    long toId = Math.min(run.getToAccountId(), fromId + run.getChunkSize() - 1);
+                    boolean compareStoredBalance = run.getCompareStoredBalance();
+                    long maxTransactionId = run.getMaxTransactionId();
+                    futures.add(workers.submit(() ->
+                            reconcileChunk(fromId, toId, maxTransactionId, compareStoredBalance, throttle)));
+                    next = toId + 1;
+                }
+
+                ChunkResult wave = ChunkResult.EMPTY;
+                for (Future<ChunkResult> future : futures) {
+                    wave = wave.merge(future.get());
+                }
+
+                saveMismatches(runId, wave.mismatches());
+                run.setNextAccountId(next);
+                run.setAccountsChecked(run.getAccountsChecked() + wave.accountsChecked());
+                run.setMismatchCount(run.getMismatchCount() + wave.mismatches().size());
+                run.setTransfersOut(run.getTransfersOut().add(wave.transfersOut()));
+                run.setTransfersIn(run.getTransfersIn().add(wave.transfersIn()));
+                run.setElapsedMillis(run.getElapsedMillis() + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waveStart));
+                run = runRepository.save(run);
+            }
+
+            finish(run);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private ChunkResult reconcileChunk(long fromId, long toId, long maxTransactionId,
+                                       boolean compareStoredBalance, Throttle throttle) throws InterruptedException {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+
+        ChunkResult result = template.execute(status -> {
+            Map<Long, BigDecimal> postingBalances = new HashMap<>();
+            Map<Long, BigDecimal> balances = new HashMap<>();
+            for (AccountAmount account : postingRepository.getBalancesInRange(fromId, toId, maxTransactionId)) {
+                postingBalances.put(account.getAccountId(), account.getTotal());
+                balances.put(account.getAccountId(), BigDecimal.ZERO);
+            }
+
+            BigDecimal transfersOut = BigDecimal.ZERO;
+            for (AccountTypeAmount sum : transactionRepository.getSumsByAccountAndTypeInRange(fromId, toId, maxTransactionId)) {
+                TransactionType type = TransactionType.valueOf(sum.getType());
+                BigDecimal signedAmount = switch (type) {
+                    case DEPOSIT -> sum.getTotal();
+                    case WITHDRAW, TRANSFER -> sum.getTotal().negate();
+                };
+                if (type == TransactionType.TRANSFER) {
+                    transfersOut = transfersOut.add(sum.getTotal());
+                }
+                balances.merge(sum.getAccountId(), signedAmount, BigDecimal::add);
+            }
+
+            List<ReconciliationMismatchEntity> mismatches = new ArrayList<>();
+            BigDecimal transfersIn = BigDecimal.ZERO;
+            for (IncomingTransferAmount incoming : transactionRepository.getSumsOfIncomingTransfersInRange(fromId, toId, maxTransactionId)) {
+                if (!balances.containsKey(incoming.getAccountId())) {
+                    mismatches.add(mismatch(incoming.getAccountId(), MismatchKind.DANGLING_TRANSFER, null, incoming.getSourceTotal()));
+                    continue;
+                }
+                // Transfer totals are compared in source amounts, credits of converted transfers are in another currency
+                transfersIn = transfersIn.add(incoming.getSourceTotal());
+                balances.merge(incoming.getAccountId(), incoming.getTotal(), BigDecimal::add);
+            }
+
+            Map<Long, BigDecimal> slotBalances = new HashMap<>();
+            if (compareStoredBalance) {
+                for (AccountAmount slots : slotRepository.getSumsInRange(fromId, toId)) {
+                    slotBalances.put(slots.getAccountId(), slots.getTotal());
+                }
+            }
+
+            for (Map.Entry<Long, BigDecimal> balance : balances.entrySet()) {
+                if (balance.getValue().signum() < 0) {
+                    mismatches.add(mismatch(balance.getKey(), MismatchKind.NEGATIVE_BALANCE, BigDecimal.ZERO, balance.getValue()));
+                }
+                BigDecimal postingBalance = postingBalances.get(balance.getKey());
+                if (compareStoredBalance && postingBalance != null && postingBalance.compareTo(balance.getValue()) != 0) {
+                    mismatches.add(mismatch(balance.getKey(), MismatchKind.POSTING_BALANCE_MISMATCH, balance.getValue(), postingBalance));
+                }
+                // Slots are not bounded by the run's highest transaction id, so concurrent executions show up here
+                BigDecimal slotBalance = slotBalances.get(balance.getKey());
+                if (slotBalance != null && slotBalance.compareTo(balance.getValue()) != 0) {
+                    mismatches.add(mismatch(balance.getKey(), MismatchKind.SLOT_BALANCE_MISMATCH, balance.getValue(), slotBalance));
+                }
+            }
+
+            return new ChunkResult(balances.size(), transfersOut, transfersIn, mismatches);
+        });
+
+        throttle.acquire(result.accountsChecked());
+        return result;
+    }
+
+    private void finish(ReconciliationRunEntity run) {
+        List<ReconciliationMismatchEntity> mismatches = new ArrayList<>();
+
+        // Transfers whose destination lies outside the scanned id range cannot point to an existing account
+        for (AccountAmount incoming : transactionRepository.getSumsOfIncomingTransfersOutsideRange(
+                run.getFromAccountId(), run.getToAccountId(), run.getMaxTransactionId())) {
+            if (accountRepository.existsById(incoming.getAccountId())) {
+                continue;
+            }
+            mismatches.add(mismatch(incoming.getAccountId(), MismatchKind.DANGLING_TRANSFER, null, incoming.getTotal()));
+        }
+
+        if (run.getTransfersOut().compareTo(run.getTransfersIn()) != 0) {
+            mismatches.add(mismatch(null, MismatchKind.TRANSFER_TOTALS_MISMATCH, run.getTransfersOut(), run.getTransfersIn()));
+        }
+
+        saveMismatches(run.getId(), mismatches);
+        run.setMismatchCount(run.getMismatchCount() + mismatches.size());
+        run.setStatus(ReconciliationStatus.COMPLETED);
+        run.setFinishedAt(LocalDateTime.now());
+        runRepository.save(run);
+    }
+
+    private void saveMismatches(Long runId, List<ReconciliationMismatchEntity> mismatches) {
+        if (mismatches.isEmpty()) {
+            return;
+        }
+        mismatches.forEach(mismatch -> mismatch.setRunId(runId));
+        mismatchRepository.saveAll(mismatches);
+    }
+
+    private ReconciliationMismatchEntity mismatch(Long accountId, MismatchKind kind, BigDecimal expected, BigDecimal actual) {
+        ReconciliationMismatchEntity mismatch = new ReconciliationMismatchEntity();
+        mismatch.setAccountId(accountId);
+        mismatch.setKind(kind);
+        mismatch.setExpected(expected);
+        mismatch.setActual(actual);
+        return mismatch;
+    }
+
+    private record ChunkResult(long accountsChecked, BigDecimal transfersOut, BigDecimal transfersIn,
+                               List<ReconciliationMismatchEntity> mismatches) {
+
+        static final ChunkResult EMPTY = new ChunkResult(0, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+
+        ChunkResult merge(ChunkResult other) {
+            List<ReconciliationMismatchEntity> merged = new ArrayList<>(mismatches);
+            merged.addAll(other.mismatches);
+            return new ChunkResult(accountsChecked + other.accountsChecked,
+                    transfersOut.add(other.transfersOut),
+                    transfersIn.add(other.transfersIn),
+                    merged);
+        }
+    }
+
+    /**
+     * Spreads chunk completions over time so that all workers together stay under the configured rate.
+     */
+    private static final class Throttle {
+        private final long nanosPerAccount;
+        private long nextFreeNanos = System.nanoTime();
+
+        Throttle(int maxAccountsPerSecond) {
+            this.nanosPerAccount = maxAccountsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxAccountsPerSecond : 0;
+        }
+
+        void acquire(long accounts) throws InterruptedException {
+            if (nanosPerAccount == 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long start = Math.max(now, nextFreeNanos);
+                nextFreeNanos = start + accounts * nanosPerAccount;
+                waitNanos = nextFreeNanos - now;
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package net.tislib.walletapp.service;
+
+import net.tislib.walletapp.model.Money;
+import net.tislib.walletapp.model.RestrictionType;
+
+import java.math.BigDecimal;
+
+/**
+ * The tightest value of every restriction type that applies to a scope; {@code null} means unlimited.
+ * Amount limits are in minor units at {@link Money#DEFAULT_SCALE}, rounded down, which keeps
+ * {@code amount > limit} exact for any currency.
+ */
+record RestrictionLimits(Long maxSingleWithdrawal,
+                         Long maxSingleTransfer,
+                         Long dailyOutgoingLimit,
+                         Integer transfersPerMinute) {
+
+    static final RestrictionLimits NONE = new RestrictionLimits(null, null, null, null);
+
+    static RestrictionLimits of(RestrictionType type, BigDecimal limitValue) {
+        return switch (type) {
+            case MAX_SINGLE_WITHDRAWAL -> new RestrictionLimits(minorUnits(limitValue), null, null, null);
+            case MAX_SINGLE_TRANSFER -> new RestrictionLimits(null, minorUnits(limitValue), null, null);
+            case DAILY_OUTGOING_LIMIT -> new RestrictionLimits(null, null, minorUnits(limitValue), null);
+            case TRANSFER_VELOCITY -> new RestrictionLimits(null, null, null, limitValue.intValueExact());
+        };
+    }
+
+    RestrictionLimits tighten(RestrictionLimits other) {
+        if (other == NONE) {
+            return this;
+        }
+        if (this == NONE) {
+            return other;
+        }
+        return new RestrictionLimits(
+                min(maxSingleWithdrawal, other.maxSingleWithdrawal),
+                min(maxSingleTransfer, other.maxSingleTransfer),
+                min(dailyOutgoingLimit, other.dailyOutgoingLimit),
+                transfersPerMinute == null ? other.transfersPerMinute
+                        : other.transfersPerMinute == null ? transfersPerMinute
+                        : Math.min(transfersPerMinute, other.transfersPerMinute));
+    }
+
+    /**
+     * Whether enforcing these limits needs rolling-window counters.
+     */
+    boolean needsWindow() {
+        return dailyOutgoingLimit != null || transfersPerMinute != null;
+    }
+
+    private static Long minorUnits(BigDecimal limitValue) {
+        return Money.toMinorUnitsFloor(limitValue, Money.DEFAULT_SCALE);
+    }
+
+    private static Long min(Long a, Long b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return Math.min(a, b);
+    }
+}
@@ -0,0 +1,282 @@
+package net.tislib.walletapp.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.RestrictionProperties;
+import net.tislib.walletapp.dto.RestrictionDto;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.entity.RestrictionEntity;
+import net.tislib.walletapp.entity.TransactionEntity;
+import net.tislib.walletapp.mapper.RestrictionMapper;
+import net.tislib.walletapp.model.Money;
+import net.tislib.walletapp.model.RestrictionType;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.repository.RestrictionRepository;
+import net.tislib.walletapp.repository.TransactionRepository;
+import net.tislib.walletapp.repository.projection.BucketAmount;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Manages wallet restrictions and enforces them when transactions are executed.
+ * <p>
+ * Enabled rules are compiled into an immutable {@link CompiledRestrictions} that is swapped on every
+ * change, and periodically refreshed so that changes made through other nodes are picked up. Rolling
+ * limits are checked against {@link RollingWindowCounters}; the amount is reserved at check time and
+ * released again if the surrounding DB transaction does not commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class RestrictionService {
+
+    private static final List<String> OUTGOING_TYPES = List.of(TransactionType.WITHDRAW.name(), TransactionType.TRANSFER.name());
+    private static final List<String> TRANSFER_TYPES = List.of(TransactionType.TRANSFER.name());
+
+    private final RestrictionRepository restrictionRepository;
+    private final TransactionRepository transactionRepository;
+    private final RestrictionMapper restrictionMapper;
+    private final RestrictionProperties properties;
+
+    private volatile CompiledRestrictions compiledRestrictions = CompiledRestrictions.EMPTY;
+    private RollingWindowCounters counters;
+
+    @PostConstruct
+    void init() {
+        counters = new RollingWindowCounters(properties.getMaxTrackedAccounts());
+        reload();
+    }
+
+    @Transactional(readOnly = true)
+    public List<RestrictionDto> getAllRestrictions() {
+        return restrictionMapper.toDtoList(restrictionRepository.findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public RestrictionDto getRestriction(Long id) {
+        return restrictionMapper.toDto(findRestriction(id));
+    }
+
+    @Transactional
+    public RestrictionDto createRestriction(RestrictionDto restrictionDto) {
+        validateRestrictionDto(restrictionDto);
+        RestrictionEntity restriction = restrictionMapper.toEntity(restrictionDto);
+        if (restriction.getEnabled() == null) {
+            restriction.setEnabled(true);
+        }
+        RestrictionEntity savedRestriction = restrictionRepository.save(restriction);
+        reloadAfterCommit();
+        return restrictionMapper.toDto(savedRestriction);
+    }
+
+    @Transactional
+    public RestrictionDto updateRestriction(Long id, RestrictionDto restrictionDto) {
+        validateRestrictionDto(restrictionDto);
+        RestrictionEntity existingRestriction = findRestriction(id);
+
+        restrictionMapper.updateEntityFromDto(restrictionDto, existingRestriction);
+        if (existingRestriction.getEnabled() == null) {
+            existingRestriction.setEnabled(true);
+        }
+        RestrictionEntity updatedRestriction = restrictionRepository.save(existingRestriction);
+        reloadAfterCommit();
+        return restrictionMapper.toDto(updatedRestriction);
+    }
+
+    @Transactional
+    public void deleteRestriction(Long id) {
+        findRestriction(id);
+        restrictionRepository.deleteById(id);
+        reloadAfterCommit();
+    }
+
+    /**
+     * Removes the rules of an account that is being deleted.
+     */
+    @Transactional
+    public void deleteRestrictionsOfAccount(Long accountId) {
+        if (restrictionRepository.deleteByAccountId(accountId) > 0) {
+            reloadAfterCommit();
+        }
+    }
+
+    /**
+     * Recompiles the enabled rules. Counters are dropped when the rules changed, because accounts
+     * that gain a rolling limit must be seeded from the database rather than from stale counters.
+     */
+    @Scheduled(fixedDelayString = "${wallet.restrictions.refresh-interval:PT30S}")
+    public void reload() {
+        CompiledRestrictions reloaded = CompiledRestrictions.compile(restrictionRepository.findByEnabledTrue());
+        if (!reloaded.equals(compiledRestrictions)) {
+            compiledRestrictions = reloaded;
+            counters.clear();
+        }
+    }
+
+    /**
+     * Checks the transaction against the applicable restrictions and reserves its amount in the
+     * rolling windows. Must run inside the DB transaction that executes it.
+     * <p>
+     * The reservation is released when that transaction does not commit. A caller whose work is rolled
+     * back to a savepoint while the transaction itself commits must run the returned callback; running
+     * it more than once has no effect.
+     *
+     * @return callback undoing the reservation
+     * @throws IllegalStateException if a restriction would be violated
+     */
+    public Runnable enforce(TransactionEntity transaction) {
+        Runnable reserved = reserve(transaction);
+        if (reserved == null) {
+            return () -> {
+            };
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                reserved.run();
+            }
+        };
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release.run();
+                }
+            }
+        });
+        return release;
+    }
+
+    /**
+     * Like {@link #enforce}, for executions that do not run in a DB transaction. The caller must run the
+     * returned callback if the execution does not go through.
+     *
+     * @return callback undoing the reservation, or {@code null} if nothing was reserved
+     * @throws IllegalStateException if a restriction would be violated
+     */
+    public Runnable reserve(TransactionEntity transaction) {
+        if (transaction.getType() == TransactionType.DEPOSIT) {
+            return null;
+        }
+
+        CompiledRestrictions restrictions = compiledRestrictions;
+        Long accountId = transaction.getAccount().getId();
+        String currency = restrictions.dependsOnCurrency() ? transaction.getAccount().getCurrency() : null;
+        RestrictionLimits limits = restrictions.limitsFor(accountId, currency);
+        if (limits == RestrictionLimits.NONE) {
+            return null;
+        }
+
+        TransactionData data = transaction.getTransactionData();
+        boolean transfer = data instanceof TransferTransactionData;
+        long amount;
+        if (data instanceof WithdrawTransactionData withdrawData) {
+            amount = Money.toMinorUnits(withdrawData.getAmount(), Money.DEFAULT_SCALE, RoundingMode.CEILING);
+            checkMax(limits.maxSingleWithdrawal(), amount, RestrictionType.MAX_SINGLE_WITHDRAWAL);
+        } else if (data instanceof TransferTransactionData transferData) {
+            amount = Money.toMinorUnits(transferData.getAmount(), Money.DEFAULT_SCALE, RoundingMode.CEILING);
+            checkMax(limits.maxSingleTransfer(), amount, RestrictionType.MAX_SINGLE_TRANSFER);
+        } else {
+            throw new IllegalStateException("Transaction data type does not match transaction type");
+        }
+
+        if (!limits.needsWindow()) {
+            return null;
+        }
+
+        long nowSecond = RollingWindowCounters.AccountWindow.nowSecond();
+        RollingWindowCounters.AccountWindow window = counters.window(accountId, this::seedWindow);
+        synchronized (window) {
+            if (limits.dailyOutgoingLimit() != null
+                    && Money.add(window.outgoingTotal(nowSecond), amount) > limits.dailyOutgoingLimit()) {
+                throw new IllegalStateException("Restriction violated: " + RestrictionType.DAILY_OUTGOING_LIMIT);
+            }
+            if (transfer && limits.transfersPerMinute() != null
+                    && window.transferCount(nowSecond) + 1 > limits.transfersPerMinute()) {
+                throw new IllegalStateException("Restriction violated: " + RestrictionType.TRANSFER_VELOCITY);
+            }
+
+            window.addOutgoing(nowSecond, amount);
+            if (transfer) {
+                window.addTransfer(nowSecond, 1);
+            }
+        }
+
+        return () -> window.release(nowSecond, amount, transfer);
+    }
+
+    private void checkMax(Long max, long amount, RestrictionType type) {
+        if (max != null && amount > max) {
+            throw new IllegalStateException("Restriction violated: " + type);
+        }
+    }
+
+    private RollingWindowCounters.AccountWindow seedWindow(long accountId) {
+        RollingWindowCounters.AccountWindow window = new RollingWindowCounters.AccountWindow();
+        LocalDateTime now = LocalDateTime.now();
+
+        long outgoingWindowSeconds = RollingWindowCounters.OUTGOING_BUCKETS * RollingWindowCounters.OUTGOING_BUCKET_SECONDS;
+        for (BucketAmount bucket : transactionRepository.getBucketedSumsForAccountSince(
+                accountId, OUTGOING_TYPES, now.minusSeconds(outgoingWindowSeconds), RollingWindowCounters.OUTGOING_BUCKET_SECONDS)) {
+            window.seedOutgoing(bucket.getBucket(), Money.toMinorUnits(bucket.getTotal(), Money.DEFAULT_SCALE, RoundingMode.CEILING));
+        }
+
+        long velocityWindowSeconds = RollingWindowCounters.VELOCITY_BUCKETS * RollingWindowCounters.VELOCITY_BUCKET_SECONDS;
+        for (BucketAmount bucket : transactionRepository.getBucketedSumsForAccountSince(
+                accountId, TRANSFER_TYPES, now.minusSeconds(velocityWindowSeconds), RollingWindowCounters.VELOCITY_BUCKET_SECONDS)) {
+            window.seedTransfers(bucket.getBucket(), bucket.getCount().intValue());
+        }
+
+        return window;
+    }
+
+    private void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    private RestrictionEntity findRestriction(Long id) {
+        return restrictionRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Restriction not found with id: " + id));
+    }
+
+    private void validateRestrictionDto(RestrictionDto restrictionDto) {
+        if (restrictionDto.getType() == null) {
+            throw new IllegalArgumentException("Restriction type cannot be null");
+        }
+
+        if (restrictionDto.getLimitValue() == null || restrictionDto.getLimitValue().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Restriction limit must not be negative");
+        }
+
+        if (restrictionDto.getAccountId() != null && restrictionDto.getCurrency() != null) {
+            throw new IllegalArgumentException("Restriction must be scoped to an account or a currency, not both");
+        }
+
+        if (restrictionDto.getType() == RestrictionType.TRANSFER_VELOCITY
+                && (restrictionDto.getLimitValue().stripTrailingZeros().scale() > 0
+                || restrictionDto.getLimitValue().compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0)) {
+            throw new IllegalArgumentException("Transfer velocity limit must be a whole number of transfers");
+        }
+    }
+}
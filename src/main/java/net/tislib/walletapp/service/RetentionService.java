@@ -0,0 +1,122 @@
+package net.tislib.walletapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tislib.walletapp.config.RetentionProperties;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.repository.TransactionRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Fails transactions abandoned in PENDING and removes FAILED ones past their retention.
+ * <p>
+ * Rows are visited in id order in small chunks, each in its own short DB transaction, with a pause in
+ * between. The keyset continues after the last visited id, so chunks never walk over the index entries
+ * of rows that earlier chunks removed and vacuum has not cleaned up yet. Rows locked by a running
+ * execution are skipped and picked up by a later run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RetentionService {
+
+    private final TransactionRepository transactionRepository;
+    private final RetentionProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Counter expired;
+    private Counter archived;
+    private Counter deleted;
+
+    @PostConstruct
+    void init() {
+        expired = meterRegistry.counter("wallet.retention.expired");
+        archived = meterRegistry.counter("wallet.retention.archived");
+        deleted = meterRegistry.counter("wallet.retention.deleted");
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.retention.interval:PT10M}")
+    public void scheduledCleanup() {
+        if (properties.isEnabled()) {
+            cleanup();
+        }
+    }
+
+    /**
+     * Runs one cleanup pass.
+     */
+    public CleanupResult cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int expiredCount = inChunks(TransactionStatus.PENDING, now.minus(properties.getPendingTtl()),
+                ids -> transactionRepository.expirePending(ids, LocalDateTime.now()));
+        expired.increment(expiredCount);
+
+        boolean archive = properties.getFailedAction() == RetentionProperties.FailedAction.ARCHIVE;
+        int removedCount = inChunks(TransactionStatus.FAILED, now.minus(properties.getFailedRetention()), ids -> {
+            if (archive) {
+                transactionRepository.archiveFailed(ids, LocalDateTime.now());
+            }
+            return transactionRepository.deleteFailed(ids);
+        });
+        (archive ? archived : deleted).increment(removedCount);
+
+        if (expiredCount > 0 || removedCount > 0) {
+            log.info("Retention expired {} pending and {} {} failed transactions", expiredCount,
+                    archive ? "archived" : "deleted", removedCount);
+        }
+        return new CleanupResult(expiredCount, removedCount);
+    }
+
+    private int inChunks(TransactionStatus status, LocalDateTime cutoff, Function<List<Long>, Integer> action) {
+        long afterId = 0;
+        int total = 0;
+        for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+            long from = afterId;
+            ChunkResult result = transactionTemplate.execute(txStatus -> {
+                List<Long> ids = transactionRepository.findStaleIds(status.name(), from, cutoff, properties.getChunkSize());
+                if (ids.isEmpty()) {
+                    return new ChunkResult(0, from, 0);
+                }
+                return new ChunkResult(ids.size(), ids.get(ids.size() - 1), action.apply(ids));
+            });
+
+            total += result.changed();
+            afterId = result.lastId();
+            if (result.visited() < properties.getChunkSize() || !pause(properties.getChunkPause())) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private static boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Transactions failed because they stayed pending too long, and FAILED ones archived or deleted.
+     */
+    public record CleanupResult(int expired, int removed) {
+    }
+
+    private record ChunkResult(int visited, long lastId, int changed) {
+    }
+}
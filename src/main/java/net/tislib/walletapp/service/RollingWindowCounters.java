@@ -0,0 +1,162 @@
+package net.tislib.walletapp.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * In-memory rolling-window counters of outgoing money per account.
+ * <p>
+ * Each account keeps a ring of 15 minute buckets covering the last 24 hours of outgoing amounts and a
+ * ring of 1 second buckets covering the last minute of outgoing transfers, so memory per account is
+ * fixed. Windows are seeded from the database on first use and evicted once the map grows past its
+ * bound; an evicted account is simply seeded again. Counters are local to this node. Amounts are minor
+ * units at {@link net.tislib.walletapp.model.Money#DEFAULT_SCALE}, so summing a window allocates nothing.
+ */
+final class RollingWindowCounters {
+
+    static final long OUTGOING_BUCKET_SECONDS = 900;
+    static final int OUTGOING_BUCKETS = 96;
+    static final long VELOCITY_BUCKET_SECONDS = 1;
+    static final int VELOCITY_BUCKETS = 60;
+
+    private final Map<Long, AccountWindow> windows = new ConcurrentHashMap<>();
+    private final int maxTrackedAccounts;
+
+    RollingWindowCounters(int maxTrackedAccounts) {
+        this.maxTrackedAccounts = maxTrackedAccounts;
+    }
+
+    AccountWindow window(long accountId, LongFunction<AccountWindow> seeder) {
+        AccountWindow window = windows.get(accountId);
+        if (window != null) {
+            return window;
+        }
+
+        // Seed outside of the map lock; a concurrent seeder for the same account loses the race harmlessly
+        AccountWindow seeded = seeder.apply(accountId);
+        AccountWindow existing = windows.putIfAbsent(accountId, seeded);
+        if (existing != null) {
+            return existing;
+        }
+        if (windows.size() > maxTrackedAccounts) {
+            evict(accountId);
+        }
+        return seeded;
+    }
+
+    void clear() {
+        windows.clear();
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    private void evict(long keep) {
+        long nowSecond = AccountWindow.nowSecond();
+        windows.entrySet().removeIf(entry -> entry.getKey() != keep && entry.getValue().isIdle(nowSecond));
+
+        // Shrink below the bound so that eviction is not repeated on every subsequent miss
+        int target = maxTrackedAccounts - maxTrackedAccounts / 10;
+        Iterator<Long> ids = windows.keySet().iterator();
+        while (windows.size() > target && ids.hasNext()) {
+            Long id = ids.next();
+            if (id != keep) {
+                ids.remove();
+            }
+        }
+    }
+
+    static final class AccountWindow {
+        private final long[] outgoingBucketIds = new long[OUTGOING_BUCKETS];
+        private final long[] outgoingTotals = new long[OUTGOING_BUCKETS];
+        private final long[] velocityBucketIds = new long[VELOCITY_BUCKETS];
+        private final int[] velocityCounts = new int[VELOCITY_BUCKETS];
+        private long lastActivitySecond = nowSecond();
+
+        static long nowSecond() {
+            return LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        }
+
+        synchronized void seedOutgoing(long bucket, long total) {
+            int slot = (int) Math.floorMod(bucket, (long) OUTGOING_BUCKETS);
+            outgoingBucketIds[slot] = bucket;
+            outgoingTotals[slot] = total;
+        }
+
+        synchronized void seedTransfers(long bucket, int count) {
+            int slot = (int) Math.floorMod(bucket, (long) VELOCITY_BUCKETS);
+            velocityBucketIds[slot] = bucket;
+            velocityCounts[slot] = count;
+        }
+
+        synchronized long outgoingTotal(long nowSecond) {
+            long current = nowSecond / OUTGOING_BUCKET_SECONDS;
+            long total = 0;
+            for (int i = 0; i < OUTGOING_BUCKETS; i++) {
+                if (current - outgoingBucketIds[i] < OUTGOING_BUCKETS) {
+                    total = Math.addExact(total, outgoingTotals[i]);
+                }
+            }
+            return total;
+        }
+
+        synchronized int transferCount(long nowSecond) {
+            long current = nowSecond / VELOCITY_BUCKET_SECONDS;
+            int count = 0;
+            for (int i = 0; i < VELOCITY_BUCKETS; i++) {
+                if (current - velocityBucketIds[i] < VELOCITY_BUCKETS) {
+                    count += velocityCounts[i];
+                }
+            }
+            return count;
+        }
+
+        synchronized void addOutgoing(long nowSecond, long amount) {
+            long bucket = nowSecond / OUTGOING_BUCKET_SECONDS;
+            int slot = (int) Math.floorMod(bucket, (long) OUTGOING_BUCKETS);
+            if (outgoingBucketIds[slot] != bucket) {
+                outgoingBucketIds[slot] = bucket;
+                outgoingTotals[slot] = 0;
+            }
+            outgoingTotals[slot] = Math.addExact(outgoingTotals[slot], amount);
+            lastActivitySecond = nowSecond;
+        }
+
+        synchronized void addTransfer(long nowSecond, int delta) {
+            long bucket = nowSecond / VELOCITY_BUCKET_SECONDS;
+            int slot = (int) Math.floorMod(bucket, (long) VELOCITY_BUCKETS);
+            if (velocityBucketIds[slot] != bucket) {
+                velocityBucketIds[slot] = bucket;
+                velocityCounts[slot] = 0;
+            }
+            velocityCounts[slot] += delta;
+            lastActivitySecond = nowSecond;
+        }
+
+        /**
+         * Undoes a reservation made at {@code reservedSecond}, unless its bucket has already rotated out.
+         */
+        synchronized void release(long reservedSecond, long amount, boolean transfer) {
+            long outgoingBucket = reservedSecond / OUTGOING_BUCKET_SECONDS;
+            int outgoingSlot = (int) Math.floorMod(outgoingBucket, (long) OUTGOING_BUCKETS);
+            if (outgoingBucketIds[outgoingSlot] == outgoingBucket) {
+                outgoingTotals[outgoingSlot] -= amount;
+            }
+
+            long velocityBucket = reservedSecond / VELOCITY_BUCKET_SECONDS;
+            int velocitySlot = (int) Math.floorMod(velocityBucket, (long) VELOCITY_BUCKETS);
+            if (transfer && velocityBucketIds[velocitySlot] == velocityBucket) {
+                velocityCounts[velocitySlot]--;
+            }
+        }
+
+        synchronized boolean isIdle(long nowSecond) {
+            return nowSecond - lastActivitySecond >= OUTGOING_BUCKETS * OUTGOING_BUCKET_SECONDS;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package net.tislib.walletapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.cache.LruCache;
+import net.tislib.walletapp.entity.TransactionEntity;
+import net.tislib.walletapp.mapper.TransactionMapper;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.repository.TransactionRepository;
+import net.tislib.walletapp.repository.projection.ListingVersion;
+import net.tislib.walletapp.repository.projection.TransactionRow;
+import net.tislib.walletapp.timing.RequestTiming;
+import net.tislib.walletapp.timing.TimedJacksonHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Serves transaction reads as serialized JSON with ETags derived from the {@code version} column.
+ * <p>
+ * A DONE transaction can no longer be updated or deleted, so its bytes are cached and its ETag is answered
+ * from memory. A listing's ETag combines the number of the account's transactions, their highest id and
+ * the sum of their versions, which changes with every create, update, delete and execution; listings made
+ * up of DONE transactions only are cached together with their ETag.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionResponseCache {
+
+    private static final int MAX_CACHED_LISTING_BYTES = 1 << 20;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${wallet.transactions.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${wallet.transactions.listing-cache-size:1000}")
+    private int listingCacheSize;
+
+    private LruCache<TransactionKey, CachedResponse> transactions;
+    private LruCache<Long, CachedResponse> listings;
+
+    public record CachedResponse(String eTag, byte[] body) {
+    }
+
+    private record TransactionKey(long accountId, long id) {
+    }
+
+    @PostConstruct
+    void init() {
+        transactions = new LruCache<>(cacheSize);
+        listings = new LruCache<>(listingCacheSize);
+    }
+
+    /**
+     * Current ETag of the transaction, read without loading the entity.
+     */
+    @Transactional(readOnly = true)
+    public String getTransactionETag(Long id, Long accountId) {
+        CachedResponse cached = transactions.getIfPresent(new TransactionKey(accountId, id));
+        if (cached != null) {
+            return cached.eTag();
+        }
+        return transactionRepository.findVersionByIdAndAccountId(id, accountId)
+                .map(version -> eTag(String.valueOf(version)))
+                .orElseThrow(() -> new NoSuchElementException("Transaction not found with id: " + id + " for account: " + accountId));
+    }
+
+    @Transactional(readOnly = true)
+    public CachedResponse getTransaction(Long id, Long accountId) {
+        TransactionKey key = new TransactionKey(accountId, id);
+        CachedResponse cached = transactions.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        TransactionEntity transaction = transactionRepository.findByIdAndAccountId(id, accountId)
+                .orElseThrow(() -> new NoSuchElementException("Transaction not found with id: " + id + " for account: " + accountId));
+        CachedResponse response = new CachedResponse(eTag(String.valueOf(transaction.getVersion())),
+                serialize(transactionMapper.toDto(transaction)));
+        if (transaction.getStatus() == TransactionStatus.DONE) {
+            transactions.put(key, response);
+        }
+        return response;
+    }
+
+    /**
+     * Current ETag of the account's transaction listing, computed by the database.
+     */
+    @Transactional(readOnly = true)
+    public String getListingETag(Long accountId) {
+        ListingVersion version = transactionRepository.getListingVersion(accountId);
+        return listingETag(version.getCount(),
+                version.getMaxId() != null ? version.getMaxId() : 0,
+                version.getVersionSum() != null ? version.getVersionSum() : 0);
+    }
+
+    @Transactional(readOnly = true)
+    public CachedResponse getListing(Long accountId) {
+        CachedResponse cached = listings.getIfPresent(accountId);
+        if (cached != null && cached.eTag().equals(getListingETag(accountId))) {
+            return cached;
+        }
+
+        // The ETag is computed from the loaded rows, so it always matches the bytes
+        List<TransactionRow> rows = transactionRepository.findRowsByAccountId(accountId);
+        long maxId = 0;
+        long versionSum = 0;
+        boolean allDone = true;
+        for (TransactionRow row : rows) {
+            maxId = Math.max(maxId, row.id());
+            versionSum += row.version();
+            allDone &= row.status() == TransactionStatus.DONE;
+        }
+
+        CachedResponse response = new CachedResponse(listingETag(rows.size(), maxId, versionSum),
+                serialize(transactionMapper.toDtoListFromRows(rows)));
+        if (allDone && response.body().length <= MAX_CACHED_LISTING_BYTES) {
+            listings.put(accountId, response);
+        }
+        return response;
+    }
+
+    private static String listingETag(long count, long maxId, long versionSum) {
+        return eTag(count + "-" + maxId + "-" + versionSum);
+    }
+
+    private static String eTag(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private byte[] serialize(Object body) {
+        try (RequestTiming.Scope ignored = RequestTiming.time(TimedJacksonHttpMessageConverter.PHASE)) {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transaction response", e);
+        }
+    }
+}
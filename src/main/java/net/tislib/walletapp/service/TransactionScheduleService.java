@@ -0,0 +1,251 @@
+package net.tislib.walletapp.service;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.TransactionScheduleDto;
+import net.tislib.walletapp.entity.TransactionEntity;
+import net.tislib.walletapp.entity.TransactionScheduleEntity;
+import net.tislib.walletapp.mapper.TransactionScheduleMapper;
+import net.tislib.walletapp.model.ScheduleStatus;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.repository.TransactionRepository;
+import net.tislib.walletapp.repository.TransactionScheduleRepository;
+import net.tislib.walletapp.repository.projection.DueSchedule;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Manages transaction schedules and fires their runs through {@link TransactionService}.
+ * <p>
+ * A run creates its transaction and records it as pending on the schedule in one DB transaction,
+ * executes it like {@code POST .../execute} would, and then records the outcome and moves the schedule
+ * to its next run. A run interrupted between these steps is finished by the next node that claims the
+ * schedule, without creating a second transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionScheduleService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final TransactionScheduleRepository scheduleRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionScheduleMapper scheduleMapper;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional(readOnly = true)
+    public List<TransactionScheduleDto> getSchedules(Long accountId) {
+        return scheduleMapper.toDtoList(scheduleRepository.findByAccountIdOrderById(accountId));
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionScheduleDto getSchedule(Long id, Long accountId) {
+        return scheduleMapper.toDto(findSchedule(id, accountId));
+    }
+
+    @Transactional
+    public TransactionScheduleDto createSchedule(TransactionScheduleDto scheduleDto) {
+        validateScheduleDto(scheduleDto);
+
+        TransactionScheduleEntity schedule = scheduleMapper.toEntity(scheduleDto);
+        return scheduleMapper.toDto(scheduleRepository.save(schedule));
+    }
+
+    /**
+     * Cancels the schedule's future runs. A run that is already firing still completes.
+     */
+    @Transactional
+    public TransactionScheduleDto cancelSchedule(Long id, Long accountId) {
+        findSchedule(id, accountId);
+        TransactionScheduleEntity schedule = scheduleRepository.findByIdForUpdate(id).orElseThrow();
+        if (schedule.getStatus() != ScheduleStatus.ACTIVE) {
+            throw new IllegalStateException("Only active schedules can be cancelled");
+        }
+        schedule.setStatus(ScheduleStatus.CANCELLED);
+        return scheduleMapper.toDto(scheduleRepository.save(schedule));
+    }
+
+    /**
+     * Claims up to {@code limit} active schedules due before the horizon for the given node.
+     */
+    @Transactional
+    public List<DueSchedule> claimDue(String nodeId, Duration horizon, Duration lease, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = scheduleRepository.findClaimableIds(now, now.plus(horizon), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        scheduleRepository.claim(ids, nodeId, now.plus(lease));
+        return scheduleRepository.findDueByIds(ids);
+    }
+
+    /**
+     * Gives up the node's claims, so that other nodes can fire the schedules without waiting for the lease.
+     */
+    @Transactional
+    public void releaseClaims(Collection<Long> ids, String nodeId) {
+        if (!ids.isEmpty()) {
+            scheduleRepository.release(ids, nodeId);
+        }
+    }
+
+    /**
+     * Fires the due run of a schedule claimed by the given node. Does nothing when the schedule is no longer
+     * active, not yet due, or claimed by another node.
+     *
+     * @return whether a run was fired
+     */
+    public boolean fire(Long id, String nodeId) {
+        Run run;
+        try {
+            run = transactionTemplate.execute(status -> startRun(id, nodeId));
+        } catch (RuntimeException e) {
+            // The transaction could not be created, the run fails without one
+            transactionTemplate.executeWithoutResult(status -> finishRun(id, nodeId, null, describe(e)));
+            return true;
+        }
+        if (run == null) {
+            return false;
+        }
+
+        String error = null;
+        if (run.execute()) {
+            try {
+                transactionService.executeTransaction(run.transactionId(), run.accountId());
+            } catch (RuntimeException e) {
+                error = describe(e);
+            }
+        }
+        String outcome = error;
+        transactionTemplate.executeWithoutResult(status -> finishRun(id, nodeId, run.transactionId(), outcome));
+        return true;
+    }
+
+    private Run startRun(Long id, String nodeId) {
+        TransactionScheduleEntity schedule = scheduleRepository.findByIdForUpdate(id).orElse(null);
+        if (schedule == null || schedule.getStatus() != ScheduleStatus.ACTIVE || !nodeId.equals(schedule.getClaimedBy())
+                || schedule.getNextRunAt().isAfter(LocalDateTime.now())) {
+            return null;
+        }
+
+        // A run interrupted after its transaction was created: execute it unless that already happened
+        if (schedule.getPendingTransactionId() != null) {
+            TransactionStatus status = transactionRepository.findById(schedule.getPendingTransactionId())
+                    .map(TransactionEntity::getStatus)
+                    .orElse(null);
+            boolean execute = status == TransactionStatus.PENDING || status == TransactionStatus.EXECUTING;
+            return new Run(schedule.getPendingTransactionId(), schedule.getAccountId(), execute);
+        }
+
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(schedule.getType());
+        transactionDto.setAccountId(schedule.getAccountId());
+        transactionDto.setData(schedule.getTransactionData());
+        TransactionDto created = transactionService.createTransaction(transactionDto);
+
+        schedule.setPendingTransactionId(created.getId());
+        scheduleRepository.save(schedule);
+        return new Run(created.getId(), schedule.getAccountId(), true);
+    }
+
+    private void finishRun(Long id, String nodeId, Long transactionId, String error) {
+        TransactionScheduleEntity schedule = scheduleRepository.findByIdForUpdate(id).orElse(null);
+        if (schedule == null || !nodeId.equals(schedule.getClaimedBy())
+                || !Objects.equals(schedule.getPendingTransactionId(), transactionId)) {
+            return;
+        }
+
+        schedule.setPendingTransactionId(null);
+        if (transactionId != null) {
+            schedule.setLastTransactionId(transactionId);
+        }
+        schedule.setLastError(error);
+        schedule.setRuns(schedule.getRuns() + 1);
+        schedule.setClaimedBy(null);
+        schedule.setClaimedUntil(null);
+
+        if (schedule.getStatus() == ScheduleStatus.ACTIVE) {
+            Integer remainingRuns = schedule.getRemainingRuns();
+            if (schedule.getRepeatInterval() == null || (remainingRuns != null && remainingRuns <= 1)) {
+                schedule.setStatus(ScheduleStatus.COMPLETED);
+                if (remainingRuns != null) {
+                    schedule.setRemainingRuns(0);
+                }
+            } else {
+                // Runs keep their times instead of drifting with firing lag; missed runs fire one after another
+                schedule.setNextRunAt(advance(schedule.getNextRunAt(), schedule.getRepeatInterval()));
+                if (remainingRuns != null) {
+                    schedule.setRemainingRuns(remainingRuns - 1);
+                }
+            }
+        }
+        scheduleRepository.save(schedule);
+    }
+
+    private TransactionScheduleEntity findSchedule(Long id, Long accountId) {
+        return scheduleRepository.findByIdAndAccountId(id, accountId)
+                .orElseThrow(() -> new NoSuchElementException("Schedule not found with id: " + id + " for account: " + accountId));
+    }
+
+    private void validateScheduleDto(TransactionScheduleDto scheduleDto) {
+        if (scheduleDto.getType() == null) {
+            throw new IllegalArgumentException("Transaction type is required");
+        }
+        if (scheduleDto.getData() == null) {
+            throw new IllegalArgumentException("Transaction data is required");
+        }
+        if (scheduleDto.getData().type() != scheduleDto.getType()) {
+            throw new IllegalArgumentException("Transaction data type does not match transaction type");
+        }
+        // Every run creates this transaction, so it has to be valid now rather than fail on each run
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(scheduleDto.getType());
+        transactionDto.setAccountId(scheduleDto.getAccountId());
+        transactionDto.setData(scheduleDto.getData());
+        transactionService.validateTransaction(transactionDto);
+        if (scheduleDto.getNextRunAt() == null) {
+            throw new IllegalArgumentException("Next run time is required");
+        }
+        if (scheduleDto.getRemainingRuns() != null && scheduleDto.getRemainingRuns() < 1) {
+            throw new IllegalArgumentException("Remaining runs must be positive");
+        }
+        if (scheduleDto.getRepeatInterval() != null) {
+            LocalDateTime next = advance(scheduleDto.getNextRunAt(), scheduleDto.getRepeatInterval());
+            if (!next.isAfter(scheduleDto.getNextRunAt())) {
+                throw new IllegalArgumentException("Repeat interval must be positive");
+            }
+        } else if (scheduleDto.getRemainingRuns() != null && scheduleDto.getRemainingRuns() > 1) {
+            throw new IllegalArgumentException("Repeat interval is required for more than one run");
+        }
+    }
+
+    /**
+     * Adds an ISO-8601 period ({@code P1M}) or time-based duration ({@code PT1H}) to the given time.
+     */
+    private static LocalDateTime advance(LocalDateTime time, String interval) {
+        try {
+            return interval.startsWith("PT") ? time.plus(Duration.parse(interval)) : time.plus(Period.parse(interval));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid repeat interval: " + interval, e);
+        }
+    }
+
+    private static String describe(RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private record Run(Long transactionId, Long accountId, boolean execute) {
+    }
+}
@@ -0,0 +1,103 @@
+package net.tislib.walletapp.service;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.dto.TransactionPageDto;
+import net.tislib.walletapp.dto.TransactionSearchCriteria;
+import net.tislib.walletapp.mapper.TransactionMapper;
+import net.tislib.walletapp.repository.TransactionRepository;
+import net.tislib.walletapp.repository.TransactionSearchQuery;
+import net.tislib.walletapp.repository.projection.TransactionRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Filtered transaction search with keyset pagination: a page continues after the {@code (createdAt, id)}
+ * of the last row of the previous one, so deep pages cost the same as the first and concurrent inserts
+ * neither repeat nor skip rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionSearchService {
+
+    private static final char CURSOR_SEPARATOR = '|';
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+
+    @Value("${wallet.transactions.search-default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${wallet.transactions.search-max-limit:500}")
+    private int maxLimit;
+
+    @Transactional(readOnly = true)
+    public TransactionPageDto searchTransactions(Long accountId, TransactionSearchCriteria criteria) {
+        int limit = resolveLimit(criteria.getLimit());
+        validateRanges(criteria);
+
+        Position after = criteria.getCursor() != null ? decodeCursor(criteria.getCursor()) : null;
+
+        // One extra row tells whether there is a next page
+        List<TransactionRow> rows = transactionRepository.search(TransactionSearchQuery.build(accountId, criteria,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null, limit + 1));
+
+        TransactionPageDto page = new TransactionPageDto();
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            TransactionRow last = rows.get(limit - 1);
+            page.setNextCursor(encodeCursor(last.createdAt(), last.id()));
+        }
+        page.setItems(transactionMapper.toDtoListFromRows(rows));
+        return page;
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit);
+        }
+        return limit;
+    }
+
+    private void validateRanges(TransactionSearchCriteria criteria) {
+        if (criteria.getCreatedFrom() != null && criteria.getCreatedTo() != null
+                && !criteria.getCreatedFrom().isBefore(criteria.getCreatedTo())) {
+            throw new IllegalArgumentException("createdFrom must be before createdTo");
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+    }
+
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String position = createdAt.toString() + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf(CURSOR_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new Position(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private record Position(LocalDateTime createdAt, Long id) {
+    }
+}
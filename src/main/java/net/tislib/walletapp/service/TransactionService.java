@@ -1,6 +1,11 @@
 package net.tislib.walletapp.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.ExecutionProperties;
+import net.tislib.walletapp.contention.ContentionTracker;
 import net.tislib.walletapp.dto.DepositTransactionData;
 import net.tislib.walletapp.dto.TransactionData;
 import net.tislib.walletapp.dto.TransactionDto;
@@ -8,18 +13,39 @@ import net.tislib.walletapp.dto.TransferTransactionData;
 import net.tislib.walletapp.dto.WithdrawTransactionData;
 import net.tislib.walletapp.entity.AccountEntity;
 import net.tislib.walletapp.entity.TransactionEntity;
+import net.tislib.walletapp.ledger.LedgerEngine;
+import net.tislib.walletapp.ledger.LedgerOutcome;
 import net.tislib.walletapp.mapper.TransactionMapper;
+import net.tislib.walletapp.model.ExecutionMode;
+import net.tislib.walletapp.model.Money;
 import net.tislib.walletapp.model.TransactionStatus;
 import net.tislib.walletapp.model.TransactionType;
 import net.tislib.walletapp.repository.AccountRepository;
+import net.tislib.walletapp.repository.PostingRepository;
 import net.tislib.walletapp.repository.TransactionRepository;
+import net.tislib.walletapp.repository.projection.AccountAmount;
+import net.tislib.walletapp.stream.TransactionEventHub;
+import net.tislib.walletapp.timing.RequestTiming;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,12 +54,37 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final PostingRepository postingRepository;
     private final TransactionMapper transactionMapper;
+    private final DailyAggregateService dailyAggregateService;
+    private final PostingService postingService;
+    private final RestrictionService restrictionService;
+    private final BalanceSlotService balanceSlotService;
+    private final LedgerEngine ledgerEngine;
+    private final ExecutionBatcher executionBatcher;
+    private final TransactionEventHub transactionEventHub;
+    private final ContentionTracker contentionTracker;
+    private final FxRateService fxRateService;
+
+    private final ExecutionProperties executionProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${wallet.balance.batch-chunk-size:1000}")
+    private int balanceBatchChunkSize;
+
+    private final Map<ExecutionMode, Metrics> metricsByMode = new EnumMap<>(ExecutionMode.class);
+
+    @PostConstruct
+    void init() {
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            metricsByMode.put(mode, new Metrics(meterRegistry, mode));
+        }
+    }
 
     @Transactional(readOnly = true)
     public List<TransactionDto> getTransactionsByAccountId(Long accountId) {
-        List<TransactionEntity> transactions = transactionRepository.findByAccountId(accountId);
-        return transactionMapper.toDtoList(transactions);
+        return transactionMapper.toDtoListFromRows(transactionRepository.findRowsByAccountId(accountId));
     }
 
     @Transactional(readOnly = true)
@@ -48,8 +99,10 @@ public class TransactionService {
         validateTransactionDto(transactionDto);
 
         TransactionEntity transaction = transactionMapper.toEntity(transactionDto);
+        validateAmountScale(transaction);
         transaction.setStatus(TransactionStatus.PENDING);
         TransactionEntity savedTransaction = transactionRepository.save(transaction);
+        transactionEventHub.publishStatus(savedTransaction.getAccount().getId(), savedTransaction.getId(), TransactionStatus.PENDING);
 
         return transactionMapper.toDto(savedTransaction);
     }
@@ -62,7 +115,7 @@ public class TransactionService {
                 .orElseThrow(() -> new NoSuchElementException("Transaction not found with id: " + id + " for account: " + accountId));
 
         // Don't allow updating executed transactions
-        if (existingTransaction.getStatus() == TransactionStatus.DONE) {
+        if (existingTransaction.getStatus() == TransactionStatus.DONE || isAppliedInLedger(id)) {
             throw new IllegalStateException("Cannot update a completed transaction");
         }
 
@@ -70,6 +123,7 @@ public class TransactionService {
         transactionDto.setAccountId(accountId);
 
         transactionMapper.updateEntityFromDto(transactionDto, existingTransaction);
+        validateAmountScale(existingTransaction);
         TransactionEntity updatedTransaction = transactionRepository.save(existingTransaction);
 
         return transactionMapper.toDto(updatedTransaction);
@@ -81,49 +135,277 @@ public class TransactionService {
                 .orElseThrow(() -> new NoSuchElementException("Transaction not found with id: " + id + " for account: " + accountId));
 
         // Don't allow deleting executed transactions
-        if (transaction.getStatus() == TransactionStatus.DONE) {
+        if (transaction.getStatus() == TransactionStatus.DONE || isAppliedInLedger(id)) {
             throw new IllegalStateException("Cannot delete a completed transaction");
         }
 
         transactionRepository.deleteById(id);
     }
 
-    @Transactional
     public TransactionDto executeTransaction(Long id, Long accountId) {
-        TransactionEntity transaction = transactionRepository.findByIdAndAccountIdWithLock(id, accountId)
-                .orElseThrow(() -> new NoSuchElementException("Transaction not found with id: " + id + " for account: " + accountId));
+        contentionTracker.recordExecution(accountId);
+        ExecutionMode mode = executionProperties.getMode();
+        if (mode == ExecutionMode.IN_MEMORY) {
+            metricsByMode.get(mode).executions.increment();
+            return executeInLedger(id, accountId);
+        }
+        return executeInDatabase(mode, () -> doExecuteTransaction(id, accountId, mode));
+    }
+
+    /**
+     * Validates, inserts and executes a transaction in a single DB transaction. The row is inserted
+     * directly as DONE, without going through PENDING and EXECUTING. Outcomes are those of
+     * {@link #createTransaction} followed by {@link #executeTransaction}, except that a failed execution
+     * leaves no row behind.
+     */
+    public TransactionDto createAndExecuteTransaction(TransactionDto transactionDto) {
+        ExecutionMode mode = executionProperties.getMode();
+        if (mode == ExecutionMode.IN_MEMORY) {
+            // The ledger executes outside of the database, so the row has to exist first
+            TransactionDto created = transactionTemplate.execute(status -> createTransaction(transactionDto));
+            return executeTransaction(created.getId(), created.getAccountId());
+        }
+        return executeInDatabase(mode, () -> doCreateAndExecuteTransaction(transactionDto, mode));
+    }
+
+    /**
+     * Runs an execution in the database, retrying conflicts in OPTIMISTIC mode.
+     */
+    private TransactionDto executeInDatabase(ExecutionMode mode, Supplier<TransactionDto> attempt) {
+        Metrics metrics = metricsByMode.get(mode);
+        metrics.executions.increment();
+
+        if (mode == ExecutionMode.PESSIMISTIC) {
+            return runAttempt(attempt);
+        }
+
+        int retries = 0;
+        while (true) {
+            try {
+                return runAttempt(attempt);
+            } catch (ConcurrencyFailureException e) {
+                metrics.conflicts.increment();
+                if (retries >= executionProperties.getMaxRetries()) {
+                    metrics.aborts.increment();
+                    throw e;
+                }
+                retries++;
+                metrics.retries.increment();
+                backoff(retries, e);
+            }
+        }
+    }
+
+    /**
+     * Runs one execution attempt in its own DB transaction, or in a shared one when group commit is enabled.
+     */
+    private TransactionDto runAttempt(Supplier<TransactionDto> attempt) {
+        if (executionProperties.getBatch().isEnabled()) {
+            return executionBatcher.execute(attempt);
+        }
+        return transactionTemplate.execute(status -> attempt.get());
+    }
+
+    /**
+     * Executes through the ledger engine. The database only supplies the transaction; its status is
+     * updated later by the ledger's projection, so the returned DTO may be ahead of the stored row.
+     */
+    private TransactionDto executeInLedger(Long id, Long accountId) {
+        if (!ledgerEngine.isRunning()) {
+            throw new IllegalStateException("Ledger engine is not running; IN_MEMORY mode must be set at startup");
+        }
+
+        while (true) {
+            long readAtNanos = System.nanoTime();
+            TransactionEntity transaction = transactionTemplate.execute(status -> {
+                TransactionEntity loaded = transactionRepository.findByIdAndAccountId(id, accountId)
+                        .orElseThrow(() -> new NoSuchElementException("Transaction not found with id: " + id + " for account: " + accountId));
+                Hibernate.initialize(loaded.getAccount());
+                return loaded;
+            });
+
+            // Don't execute already completed transactions
+            if (transaction.getStatus() == TransactionStatus.DONE) {
+                return transactionMapper.toDto(transaction);
+            }
+
+            TransactionData data = transaction.getTransactionData();
+            if (data.type() != transaction.getType()) {
+                throw new IllegalStateException("Transaction data type does not match transaction type");
+            }
+            BigDecimal amount;
+            long destinationAccountId = 0;
+            if (data instanceof DepositTransactionData depositData) {
+                amount = depositData.getAmount();
+            } else if (data instanceof WithdrawTransactionData withdrawData) {
+                amount = withdrawData.getAmount();
+            } else {
+                TransferTransactionData transferData = (TransferTransactionData) data;
+                amount = transferData.getAmount();
+                destinationAccountId = transferData.getDestinationAccountId();
+            }
+
+            Runnable release;
+            try {
+                release = restrictionService.reserve(transaction);
+            } catch (IllegalStateException e) {
+                markFailed(id);
+                throw e;
+            }
+
+            LedgerOutcome outcome;
+            try {
+                outcome = ledgerEngine.execute(id, transaction.getType(), accountId, destinationAccountId, amount, readAtNanos);
+                if (outcome == LedgerOutcome.UNKNOWN_ACCOUNT) {
+                    openInLedger(accountId, "Account not found with id: ");
+                    if (destinationAccountId != 0) {
+                        openInLedger(destinationAccountId, "Destination account not found with id: ");
+                    }
+                    outcome = ledgerEngine.execute(id, transaction.getType(), accountId, destinationAccountId, amount, readAtNanos);
+                }
+            } catch (RuntimeException e) {
+                if (release != null) {
+                    release.run();
+                }
+                throw e;
+            }
+
+            if (outcome == LedgerOutcome.APPLIED || outcome == LedgerOutcome.ALREADY_APPLIED) {
+                if (outcome == LedgerOutcome.APPLIED) {
+                    publishExecuted(transaction);
+                }
+                transaction.setStatus(TransactionStatus.DONE);
+                return transactionMapper.toDto(transaction);
+            }
+
+            if (release != null) {
+                release.run();
+            }
+            if (outcome == LedgerOutcome.CURRENCY_MISMATCH) {
+                // Journal records carry a single amount, so both accounts must be in the same currency
+                markFailed(id);
+                throw new IllegalStateException("Cross-currency transfers are not supported in IN_MEMORY mode");
+            }
+            if (outcome == LedgerOutcome.INSUFFICIENT_FUNDS) {
+                // Journaled as failed; the projection writes the status later
+                transactionEventHub.publishStatus(accountId, id, TransactionStatus.FAILED);
+                throw new IllegalStateException(transaction.getType() == TransactionType.TRANSFER
+                        ? "Insufficient funds for transfer" : "Insufficient funds for withdrawal");
+            }
+            if (outcome != LedgerOutcome.STALE) {
+                throw new IllegalStateException("Unexpected ledger outcome: " + outcome);
+            }
+            // STALE: the status read above may predate a projection, read it again
+        }
+    }
+
+    private void openInLedger(long accountId, String notFoundMessage) {
+        LedgerOpening opening = transactionTemplate.execute(status -> {
+            AccountEntity account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new NoSuchElementException(notFoundMessage + accountId));
+            return new LedgerOpening(calculateStoredBalance(accountId), account.getCurrency());
+        });
+        ledgerEngine.open(accountId, opening.balance(), opening.currency());
+    }
+
+    private void markFailed(Long id) {
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.findById(id)
+                .filter(transaction -> transaction.getStatus() != TransactionStatus.DONE)
+                .ifPresent(transaction -> {
+                    transaction.setStatus(TransactionStatus.FAILED);
+                    transactionRepository.save(transaction);
+                    transactionEventHub.publishStatus(transaction.getAccount().getId(), id, TransactionStatus.FAILED);
+                }));
+    }
+
+    /**
+     * Streams the new status and the affected balances once the execution has committed.
+     */
+    private void publishExecuted(TransactionEntity transaction) {
+        Long accountId = transaction.getAccount().getId();
+        transactionEventHub.publishStatus(accountId, transaction.getId(), TransactionStatus.DONE);
+        publishBalance(accountId);
+        if (transaction.getTransactionData() instanceof TransferTransactionData transferData) {
+            publishBalance(transferData.getDestinationAccountId());
+        }
+    }
+
+    private void publishBalance(Long accountId) {
+        transactionEventHub.publishBalance(accountId,
+                () -> transactionTemplate.execute(status -> calculateAccountBalance(accountId)));
+    }
+
+    private boolean isAppliedInLedger(Long id) {
+        return ledgerEngine.isRunning() && ledgerEngine.isApplied(id);
+    }
+
+    private void backoff(int retry, ConcurrencyFailureException cause) {
+        long capMillis = Math.min(executionProperties.getMaxBackoff().toMillis(),
+                executionProperties.getBaseBackoff().toMillis() << Math.min(retry - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(capMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private TransactionDto doExecuteTransaction(Long id, Long accountId, ExecutionMode mode) {
+        TransactionEntity transaction;
+        long lockStart = System.nanoTime();
+        try (RequestTiming.Scope ignored = RequestTiming.time("lock")) {
+            transaction = (mode == ExecutionMode.PESSIMISTIC
+                    ? transactionRepository.findByIdAndAccountIdWithLock(id, accountId)
+                    : transactionRepository.findByIdAndAccountId(id, accountId))
+                    .orElseThrow(() -> new NoSuchElementException("Transaction not found with id: " + id + " for account: " + accountId));
+        }
+        if (mode == ExecutionMode.PESSIMISTIC) {
+            contentionTracker.recordLockWait(accountId, System.nanoTime() - lockStart);
+        }
 
         // Don't execute already completed transactions
         if (transaction.getStatus() == TransactionStatus.DONE) {
             return transactionMapper.toDto(transaction);
         }
 
+        // Without row locks, concurrent debits of one account must conflict on the account version
+        if (mode == ExecutionMode.OPTIMISTIC && transaction.getType() != TransactionType.DEPOSIT) {
+            accountRepository.findByIdWithVersionIncrement(accountId);
+        }
+
         // Update status to EXECUTING
         transaction.setStatus(TransactionStatus.EXECUTING);
         transactionRepository.save(transaction);
 
+        Runnable release = null;
         try {
-            // Process the transaction based on its type
-            switch (transaction.getType()) {
-                case DEPOSIT:
-                    processDeposit(transaction);
-                    break;
-                case WITHDRAW:
-                    processWithdraw(transaction);
-                    break;
-                case TRANSFER:
-                    processTransfer(transaction);
-                    break;
-                default:
-                    throw new IllegalStateException("Unsupported transaction type: " + transaction.getType());
+            // Check and reserve restriction limits before any balance work
+            try (RequestTiming.Scope ignored = RequestTiming.time("restrictions")) {
+                release = restrictionService.enforce(transaction);
+            }
+
+            try (RequestTiming.Scope ignored = RequestTiming.time("balance")) {
+                process(transaction);
             }
 
             // Update status to DONE
             transaction.setStatus(TransactionStatus.DONE);
+            transaction.setCompletedAt(LocalDateTime.now(ZoneOffset.UTC));
             TransactionEntity savedTransaction = transactionRepository.save(transaction);
+            dailyAggregateService.recordExecution(savedTransaction);
+            postingService.recordExecution(savedTransaction);
+
+            // Write now rather than at commit, so that a failing write still releases the reservation
+            transactionRepository.flush();
+            publishExecuted(savedTransaction);
 
             return transactionMapper.toDto(savedTransaction);
         } catch (Exception e) {
+            // Release right away, in case only a savepoint is rolled back
+            if (release != null) {
+                release.run();
+            }
+
             // Update status to FAILED
             transaction.setStatus(TransactionStatus.FAILED);
             transactionRepository.save(transaction);
@@ -132,13 +414,75 @@ public class TransactionService {
         }
     }
 
+    private TransactionDto doCreateAndExecuteTransaction(TransactionDto transactionDto, ExecutionMode mode) {
+        validateTransactionDto(transactionDto);
+
+        TransactionEntity transaction = transactionMapper.toEntity(transactionDto);
+        validateAmountScale(transaction);
+
+        // Without row locks, concurrent debits of one account must conflict on the account version
+        if (mode == ExecutionMode.OPTIMISTIC && transaction.getType() != TransactionType.DEPOSIT) {
+            accountRepository.findByIdWithVersionIncrement(transaction.getAccount().getId());
+        }
+
+        Runnable release;
+        try (RequestTiming.Scope ignored = RequestTiming.time("restrictions")) {
+            release = restrictionService.enforce(transaction);
+        }
+        try {
+            // Balance checks run before the insert, so they cannot see the row itself
+            try (RequestTiming.Scope ignored = RequestTiming.time("balance")) {
+                process(transaction);
+            }
+
+            transaction.setStatus(TransactionStatus.DONE);
+            transaction.setCompletedAt(LocalDateTime.now(ZoneOffset.UTC));
+            TransactionEntity savedTransaction = transactionRepository.save(transaction);
+            dailyAggregateService.recordExecution(savedTransaction);
+            postingService.recordExecution(savedTransaction);
+
+            // Write now rather than at commit, so that a failing write still releases the reservation
+            transactionRepository.flush();
+            publishExecuted(savedTransaction);
+
+            return transactionMapper.toDto(savedTransaction);
+        } catch (RuntimeException e) {
+            // Release right away, in case only a savepoint is rolled back
+            release.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies the balance effects of the transaction based on its type.
+     */
+    private void process(TransactionEntity transaction) {
+        switch (transaction.getType()) {
+            case DEPOSIT:
+                processDeposit(transaction);
+                break;
+            case WITHDRAW:
+                processWithdraw(transaction);
+                break;
+            case TRANSFER:
+                processTransfer(transaction);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported transaction type: " + transaction.getType());
+        }
+    }
+
     private void processDeposit(TransactionEntity transaction) {
         TransactionData data = transaction.getTransactionData();
         if (!(data instanceof DepositTransactionData depositData)) {
             throw new IllegalStateException("Transaction data type does not match transaction type");
         }
 
-        // No need to update balance as it's calculated dynamically
+        if (balanceSlotService.isSharded(transaction.getAccount())) {
+            balanceSlotService.credit(transaction.getAccount(), depositData.getAmount());
+        }
+
+        // Otherwise no need to update balance as it's calculated dynamically
     }
 
     private void processWithdraw(TransactionEntity transaction) {
@@ -147,12 +491,16 @@ public class TransactionService {
             throw new IllegalStateException("Transaction data type does not match transaction type");
         }
 
-        Long accountId = transaction.getAccount().getId();
-        BigDecimal currentBalance = calculateAccountBalance(accountId);
-        BigDecimal newBalance = currentBalance.subtract(withdrawData.getAmount());
+        if (balanceSlotService.isSharded(transaction.getAccount())) {
+            balanceSlotService.debit(transaction.getAccount(), withdrawData.getAmount(), "Insufficient funds for withdrawal");
+            return;
+        }
+
+        int scale = Money.scaleOf(transaction.getAccount().getCurrency());
+        long currentBalance = calculateStoredBalanceMinorUnits(transaction.getAccount().getId(), scale);
 
-        // Ensure balance doesn't become negative
-        if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
+        // Ensure balance doesn't become negative; amounts of legacy rows are rounded up like any debit
+        if (currentBalance < Money.toMinorUnits(withdrawData.getAmount(), scale, RoundingMode.CEILING)) {
             throw new IllegalStateException("Insufficient funds for withdrawal");
         }
 
@@ -172,16 +520,76 @@ public class TransactionService {
         AccountEntity destinationAccount = accountRepository.findById(destinationAccountId)
                 .orElseThrow(() -> new NoSuchElementException("Destination account not found with id: " + destinationAccountId));
 
-        BigDecimal currentBalance = calculateAccountBalance(sourceAccountId);
+        TransferTransactionData executedData = convertForDestination(transaction, transferData, destinationAccount);
+
         BigDecimal transferAmount = transferData.getAmount();
-        BigDecimal newBalance = currentBalance.subtract(transferAmount);
+        if (balanceSlotService.isSharded(transaction.getAccount())) {
+            balanceSlotService.debit(transaction.getAccount(), transferAmount, "Insufficient funds for transfer");
+        } else {
+            int scale = Money.scaleOf(transaction.getAccount().getCurrency());
+            long currentBalance = calculateStoredBalanceMinorUnits(sourceAccountId, scale);
+
+            // Ensure source account has enough balance
+            if (currentBalance < Money.toMinorUnits(transferAmount, scale, RoundingMode.CEILING)) {
+                throw new IllegalStateException("Insufficient funds for transfer");
+            }
+        }
+
+        if (balanceSlotService.isSharded(destinationAccount)) {
+            balanceSlotService.credit(destinationAccount, executedData.creditedAmount());
+        }
+
+        // Balances of unsharded accounts are calculated dynamically
+    }
+
+    /**
+     * Records the rate and the credited amount on transfers into an account of another currency. Rates
+     * come from the current snapshot, so a transfer retried after a refresh may use a newer rate.
+     *
+     * @return the data the transfer is executed with
+     */
+    private TransferTransactionData convertForDestination(TransactionEntity transaction, TransferTransactionData transferData,
+                                                          AccountEntity destination) {
+        AccountEntity source = transaction.getAccount();
+        if (source.getCurrency().equals(destination.getCurrency())) {
+            return transferData;
+        }
+
+        FxRateService.Conversion conversion = fxRateService.convert(transferData.getAmount(), source.getCurrency(), destination.getCurrency());
+        if (conversion.amount().signum() <= 0) {
+            throw new IllegalStateException("Transfer amount is too small to convert to " + destination.getCurrency());
+        }
+
+        // The data may be shared with the request, which a retried attempt validates again
+        TransferTransactionData converted = transferData.converted(conversion.rate(), conversion.amount());
+        transaction.setTransactionData(converted);
+        return converted;
+    }
 
-        // Ensure source account has enough balance
-        if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalStateException("Insufficient funds for transfer");
+    /**
+     * Rejects amounts with more decimal places than the minor unit of the account's currency, so that
+     * every stored amount converts to minor units exactly. Amounts credited in another currency are
+     * rounded to its minor unit on conversion.
+     */
+    private void validateAmountScale(TransactionEntity transaction) {
+        TransactionData data = transaction.getTransactionData();
+        if (data instanceof DepositTransactionData depositData) {
+            Money.toMinorUnits(depositData.getAmount(), Money.scaleOf(transaction.getAccount().getCurrency()));
+        } else if (data instanceof WithdrawTransactionData withdrawData) {
+            Money.toMinorUnits(withdrawData.getAmount(), Money.scaleOf(transaction.getAccount().getCurrency()));
+        } else if (data instanceof TransferTransactionData transferData) {
+            Money.toMinorUnits(transferData.getAmount(), Money.scaleOf(transaction.getAccount().getCurrency()));
         }
+    }
 
-        // No need to update balances as they're calculated dynamically
+    /**
+     * Validates a transaction the way creating it would, without storing it. Used for transactions that
+     * are only created later, such as schedule runs.
+     */
+    @Transactional(readOnly = true)
+    public void validateTransaction(TransactionDto transactionDto) {
+        validateTransactionDto(transactionDto);
+        validateAmountScale(transactionMapper.toEntity(transactionDto));
     }
 
     private void validateTransactionDto(TransactionDto transactionDto) {
@@ -216,7 +624,7 @@ public class TransactionService {
                 validateWithdrawData((WithdrawTransactionData) data);
                 break;
             case TRANSFER:
-                validateTransferData((TransferTransactionData) data);
+                validateTransferData((TransferTransactionData) data, transactionDto.getAccountId());
                 break;
             default:
                 throw new IllegalArgumentException("Unsupported transaction type: " + type);
@@ -235,7 +643,7 @@ public class TransactionService {
         }
     }
 
-    private void validateTransferData(TransferTransactionData data) {
+    private void validateTransferData(TransferTransactionData data, Long accountId) {
         if (data.getAmount() == null || data.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Transfer amount must be positive");
         }
@@ -243,6 +651,14 @@ public class TransactionService {
         if (data.getDestinationAccountId() == null) {
             throw new IllegalArgumentException("Destination account ID cannot be null");
         }
+
+        if (data.getDestinationAccountId().equals(accountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the source account");
+        }
+
+        if (data.getRate() != null || data.getDestinationAmount() != null) {
+            throw new IllegalArgumentException("Exchange rate and destination amount are set on execution");
+        }
     }
 
     @Transactional(readOnly = true)
@@ -251,19 +667,78 @@ public class TransactionService {
         AccountEntity account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new NoSuchElementException("Account not found with id: " + accountId));
 
-        // Get sum of deposit transactions for the account
-        BigDecimal depositSum = transactionRepository.getSumOfDepositTransactionsForAccount(accountId);
+        if (ledgerEngine.isRunning()) {
+            BigDecimal ledgerBalance = ledgerEngine.getBalances(List.of(accountId)).get(accountId);
+            if (ledgerBalance != null) {
+                return ledgerBalance;
+            }
+        }
 
-        // Get sum of withdraw transactions for the account
-        BigDecimal withdrawSum = transactionRepository.getSumOfWithdrawTransactionsForAccount(accountId);
+        if (balanceSlotService.isSharded(account)) {
+            return balanceSlotService.getBalance(accountId);
+        }
 
-        // Get sum of outgoing transfer transactions for the account
-        BigDecimal outgoingTransferSum = transactionRepository.getSumOfOutgoingTransferTransactionsForAccount(accountId);
+        return calculateStoredBalance(accountId);
+    }
 
-        // Get sum of incoming transfer transactions for the account
-        BigDecimal incomingTransferSum = transactionRepository.getSumOfIncomingTransferTransactionsForAccount(accountId);
+    /**
+     * Same as {@link #calculateStoredBalance} in minor units, rounded down, for balance checks during execution.
+     */
+    private long calculateStoredBalanceMinorUnits(Long accountId, int scale) {
+        return Money.toMinorUnits(postingRepository.getBalance(accountId), scale, RoundingMode.FLOOR);
+    }
 
-        // Calculate final balance: deposits + incoming transfers - withdrawals - outgoing transfers
-        return depositSum.add(incomingTransferSum).subtract(withdrawSum).subtract(outgoingTransferSum);
+    /**
+     * Balance as recorded in the database, ignoring executions the ledger has not projected yet.
+     */
+    private BigDecimal calculateStoredBalance(Long accountId) {
+        return postingRepository.getBalance(accountId);
+    }
+
+    /**
+     * Calculates balances of many accounts with one grouped query per chunk of ids.
+     * Ids of accounts that do not exist are absent from the returned map. Sharded accounts are derived
+     * from their postings here as well, which matches the sum of their slots.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, BigDecimal> calculateAccountBalances(Collection<Long> accountIds) {
+        List<Long> ids = new ArrayList<>(accountIds);
+        Map<Long, BigDecimal> balances = new LinkedHashMap<>();
+
+        // Chunk to stay within driver parameter limits
+        for (int from = 0; from < ids.size(); from += balanceBatchChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + balanceBatchChunkSize));
+            for (AccountAmount balance : postingRepository.getBalancesForAccounts(chunk)) {
+                balances.put(balance.getAccountId(), balance.getTotal());
+            }
+        }
+
+        // The ledger is ahead of the database for accounts it holds
+        if (ledgerEngine.isRunning() && !balances.isEmpty()) {
+            balances.putAll(ledgerEngine.getBalances(balances.keySet()));
+        }
+
+        return balances;
+    }
+
+    private record LedgerOpening(BigDecimal balance, String currency) {
+    }
+
+    /**
+     * Execution counters per mode; abort rate is aborts divided by executions.
+     */
+    private static final class Metrics {
+        private final Counter executions;
+        private final Counter conflicts;
+        private final Counter retries;
+        private final Counter aborts;
+
+        Metrics(MeterRegistry registry, ExecutionMode mode) {
+            String modeTag = mode.name().toLowerCase();
+            this.executions = registry.counter("wallet.execution.executions", "mode", modeTag);
+            this.conflicts = registry.counter("wallet.execution.conflicts", "mode", modeTag);
+            this.retries = registry.counter("wallet.execution.retries", "mode", modeTag);
+            this.aborts = registry.counter("wallet.execution.aborts", "mode", modeTag);
+        }
     }
 }
@@ -0,0 +1,434 @@
+package net.tislib.walletapp.stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.tislib.walletapp.config.StreamProperties;
+import net.tislib.walletapp.dto.BalanceEventDto;
+import net.tislib.walletapp.dto.TransactionStatusEventDto;
+import net.tislib.walletapp.exception.OverloadedException;
+import net.tislib.walletapp.model.TransactionStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans out transaction status and balance changes to server-sent event streams, per account.
+ * <p>
+ * Streams are {@link SseEmitter}s on async requests, so an idle subscriber holds a connection but no
+ * thread. Subscribing, publishing and heartbeats run on a single hub thread, which only does the
+ * bookkeeping: it owns the subscriber sets, numbers the events, keeps the most recent ones per account
+ * and queues events for each subscriber. Reading balances and writing to the connections happens on a
+ * small pool of sender threads, one subscriber at a time per thread, so a slow client or a slow balance
+ * read never holds up the hub. A subscriber whose queue overflows, or whose write stalls, is
+ * disconnected and resumes when it reconnects. A client reconnecting with {@code Last-Event-ID} is sent
+ * the events it missed, or a {@code reset} event when they are no longer known and it has to read its
+ * state again. Events are published once the DB transaction that caused them commits. Balances are only
+ * read when someone is listening.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionEventHub {
+
+    public static final String STATUS_EVENT = "status";
+    public static final String BALANCE_EVENT = "balance";
+    public static final String RESET_EVENT = "reset";
+
+    private final StreamProperties properties;
+
+    // Event ids are "<epoch>-<sequence>", so ids issued before a restart are recognized as unknown
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private ExecutorService hubThread;
+    private ExecutorService senders;
+    private volatile int openStreams;
+
+    // Hub thread state
+    private final Map<Long, Set<Subscriber>> subscribers = new HashMap<>();
+    private Map<Long, History> histories;
+    private long sequence;
+    private long evictedThrough;
+
+    @PostConstruct
+    void init() {
+        hubThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-event-hub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger senderCount = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "transaction-event-sender-" + senderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        histories = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, History> eldest) {
+                if (size() <= properties.getMaxTrackedAccounts()) {
+                    return false;
+                }
+                evictedThrough = Math.max(evictedThrough, eldest.getValue().events.getLast().sequence);
+                return true;
+            }
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        onHubThread(() -> {
+            List<Subscriber> open = subscribers.values().stream().flatMap(Set::stream).toList();
+            subscribers.clear();
+            open.forEach(Subscriber::close);
+            senders.shutdown();
+        });
+        hubThread.shutdown();
+    }
+
+    /**
+     * Opens a stream of the account's events, starting with the ones after {@code lastEventId} if given.
+     */
+    public SseEmitter subscribe(Long accountId, String lastEventId) {
+        if (openStreams >= properties.getMaxSubscribers()) {
+            throw new OverloadedException("Too many open streams", 1);
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(accountId, emitter);
+        Runnable remove = () -> onHubThread(() -> removeSubscriber(subscriber));
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        onHubThread(() -> {
+            if (lastEventId != null && !resume(subscriber, lastEventId)) {
+                return;
+            }
+            subscribers.computeIfAbsent(accountId, id -> new LinkedHashSet<>()).add(subscriber);
+            openStreams++;
+        });
+        return emitter;
+    }
+
+    /**
+     * Publishes a status change once the current DB transaction commits, or right away outside of one.
+     */
+    public void publishStatus(Long accountId, Long transactionId, TransactionStatus status) {
+        TransactionStatusEventDto event = new TransactionStatusEventDto();
+        event.setAccountId(accountId);
+        event.setTransactionId(transactionId);
+        event.setStatus(status);
+        afterCommit(() -> publish(accountId, new Event(++sequence, STATUS_EVENT, event, null)));
+    }
+
+    /**
+     * Publishes a balance change once the current DB transaction commits, or right away outside of one.
+     * The balance is read on a sender thread, and only when the event is actually sent.
+     */
+    public void publishBalance(Long accountId, Supplier<BigDecimal> balance) {
+        Supplier<Object> loader = () -> {
+            BalanceEventDto event = new BalanceEventDto();
+            event.setAccountId(accountId);
+            event.setBalance(balance.get());
+            return event;
+        };
+        afterCommit(() -> publish(accountId, new Event(++sequence, BALANCE_EVENT, null, loader)));
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.stream.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        onHubThread(() -> {
+            long now = System.nanoTime();
+            for (Subscriber subscriber : subscribers.values().stream().flatMap(Set::stream).toList()) {
+                if (subscriber.stalled(now)) {
+                    log.debug("Disconnecting stalled stream of account {}", subscriber.accountId);
+                    disconnect(subscriber);
+                } else {
+                    enqueue(subscriber, () -> SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        });
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onHubThread(task);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onHubThread(task);
+            }
+        });
+    }
+
+    private void onHubThread(Runnable task) {
+        try {
+            hubThread.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; open streams are being completed and clients will reconnect elsewhere
+        }
+    }
+
+    private void publish(Long accountId, Event event) {
+        History history = histories.computeIfAbsent(accountId, id -> new History());
+        history.events.addLast(event);
+        if (history.events.size() > properties.getHistorySize()) {
+            history.forgottenThrough = history.events.removeFirst().sequence;
+        }
+
+        Set<Subscriber> listening = subscribers.get(accountId);
+        if (listening == null || listening.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : List.copyOf(listening)) {
+            enqueue(subscriber, () -> event.toSse(epoch));
+        }
+    }
+
+    /**
+     * Queues the events after {@code lastEventId}. Of several balance events only the latest is sent.
+     *
+     * @return whether the subscriber is still connected
+     */
+    private boolean resume(Subscriber subscriber, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        History history = histories.get(subscriber.accountId);
+        // Without a history the account's events were either never published or evicted along with it
+        long forgottenThrough = history != null ? history.forgottenThrough : evictedThrough;
+        if (lastSequence < 0 || lastSequence > sequence || lastSequence < forgottenThrough) {
+            String resetId = epoch + "-" + sequence;
+            return enqueue(subscriber, () -> SseEmitter.event().id(resetId).name(RESET_EVENT).data(""));
+        }
+        if (history == null) {
+            return true;
+        }
+
+        List<Event> missed = new ArrayList<>();
+        Event latestBalance = null;
+        for (Event event : history.events) {
+            if (event.sequence > lastSequence) {
+                missed.add(event);
+                if (BALANCE_EVENT.equals(event.name)) {
+                    latestBalance = event;
+                }
+            }
+        }
+        for (Event event : missed) {
+            if (BALANCE_EVENT.equals(event.name) && event != latestBalance) {
+                continue;
+            }
+            if (!enqueue(subscriber, () -> event.toSse(epoch))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Queues an event for the subscriber, disconnecting it when it has fallen too far behind.
+     *
+     * @return whether the subscriber is still connected
+     */
+    private boolean enqueue(Subscriber subscriber, Supplier<SseEmitter.SseEventBuilder> event) {
+        if (subscriber.offer(event)) {
+            return true;
+        }
+        log.debug("Disconnecting slow stream of account {}", subscriber.accountId);
+        disconnect(subscriber);
+        return false;
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        removeSubscriber(subscriber);
+        subscriber.close();
+    }
+
+    private void removeSubscriber(Subscriber subscriber) {
+        Set<Subscriber> listening = subscribers.get(subscriber.accountId);
+        if (listening != null && listening.remove(subscriber)) {
+            openStreams--;
+            if (listening.isEmpty()) {
+                subscribers.remove(subscriber.accountId);
+            }
+        }
+    }
+
+    /**
+     * One open stream and the events queued for it. The hub thread queues events; a sender thread drains
+     * them in order, and at most one sender works on a subscriber at a time.
+     */
+    private final class Subscriber implements Runnable {
+        private final Long accountId;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // System.nanoTime() when the write in progress started, 0 while idle
+        private volatile long sendingSince;
+        private volatile boolean closed;
+
+        Subscriber(Long accountId, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+        }
+
+        boolean offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed || pendingCount.incrementAndGet() > properties.getMaxPendingEvents()) {
+                return false;
+            }
+            pending.add(event);
+            schedule();
+            return true;
+        }
+
+        boolean stalled(long now) {
+            long since = sendingSince;
+            return since != 0 && now - since > properties.getSendTimeout().toNanos();
+        }
+
+        /**
+         * Stops sending and ends the stream. Completing waits for a write in progress, so it is left to a
+         * sender thread.
+         */
+        void close() {
+            closed = true;
+            pending.clear();
+            try {
+                senders.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the container completes the request
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> next;
+                while (!closed && (next = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    SseEmitter.SseEventBuilder event = next.get();
+                    if (event != null && !send(event)) {
+                        return;
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+                // An event queued after the loop found the queue empty still needs a sender
+                if (!closed && !pending.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            sendingSince = System.nanoTime();
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The connection is gone; the container completes the request
+                closed = true;
+                onHubThread(() -> removeSubscriber(this));
+                return false;
+            } finally {
+                sendingSince = 0;
+            }
+        }
+    }
+
+    /**
+     * Recent events of one account, oldest first.
+     */
+    private static final class History {
+        private final Deque<Event> events = new ArrayDeque<>();
+        private long forgottenThrough;
+    }
+
+    /**
+     * A numbered event. Balance events load their data lazily, at most once, on the first sender thread
+     * that needs it; the others wait for that read.
+     */
+    private static final class Event {
+        private final long sequence;
+        private final String name;
+        private Object data;
+        private final Supplier<Object> loader;
+
+        Event(long sequence, String name, Object data, Supplier<Object> loader) {
+            this.sequence = sequence;
+            this.name = name;
+            this.data = data;
+            this.loader = loader;
+        }
+
+        synchronized Object load() {
+            if (data == null && loader != null) {
+                try {
+                    data = loader.get();
+                } catch (RuntimeException e) {
+                    log.warn("Could not load {} event {}", name, sequence, e);
+                }
+            }
+            return data;
+        }
+
+        /**
+         * @return the event to send, or null when its data could not be loaded
+         */
+        SseEmitter.SseEventBuilder toSse(String epoch) {
+            Object loadedData = load();
+            if (loadedData == null) {
+                return null;
+            }
+            return SseEmitter.event().id(epoch + "-" + sequence).name(name).data(loadedData, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package net.tislib.walletapp.timing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Times calls to Spring Data repositories as the {@code repo} phase, including the persistence context
+ * work around their statements, such as flushes before queries.
+ */
+public class RepositoryTimingInterceptor implements MethodInterceptor {
+
+    public static final String PHASE = "repo";
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try (RequestTiming.Scope ignored = RequestTiming.time(PHASE)) {
+            return invocation.proceed();
+        }
+    }
+}
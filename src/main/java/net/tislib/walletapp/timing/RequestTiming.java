@@ -0,0 +1,112 @@
+package net.tislib.walletapp.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Time spent in named phases of the work done on one thread between {@link #start} and {@link #stop},
+ * such as one HTTP request. Like {@link net.tislib.walletapp.jdbc.StatementStats}, work handed to other
+ * threads is not included.
+ * <p>
+ * Phases may overlap: a repository call made while the lock phase is open counts towards both. A phase
+ * entered again while it is open, such as a repository calling another, counts once.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private static final Scope NOOP = () -> {
+    };
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    private RequestTiming() {
+    }
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the timing being recorded on this thread, or {@code null} if none is
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Opens the phase on this thread's timing until the returned scope is closed; does nothing if no
+     * timing is being recorded.
+     */
+    public static Scope time(String phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return NOOP;
+        }
+        timing.open(phase);
+        return () -> timing.close(phase);
+    }
+
+    public void open(String phase) {
+        Phase entry = phases.computeIfAbsent(phase, name -> new Phase());
+        if (entry.depth++ == 0) {
+            entry.openedAt = System.nanoTime();
+        }
+    }
+
+    public void close(String phase) {
+        Phase entry = phases.get(phase);
+        if (entry != null && entry.depth > 0 && --entry.depth == 0) {
+            entry.nanos += System.nanoTime() - entry.openedAt;
+            entry.count++;
+        }
+    }
+
+    /**
+     * @return time since the start
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * @return time spent in each phase in the order they were first entered, phases still open counted until now
+     */
+    public Map<String, Long> phaseNanos() {
+        long now = System.nanoTime();
+        Map<String, Long> result = new LinkedHashMap<>();
+        phases.forEach((name, phase) -> result.put(name, phase.depth > 0 ? phase.nanos + now - phase.openedAt : phase.nanos));
+        return result;
+    }
+
+    /**
+     * @return how many times each phase was entered and left, nested entries not counted
+     */
+    public int count(String phase) {
+        Phase entry = phases.get(phase);
+        return entry != null ? entry.count : 0;
+    }
+
+    /**
+     * A phase left when closed. Closing does not throw, so scopes fit try-with-resources around any code.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class Phase {
+        private long nanos;
+        private long openedAt;
+        private int depth;
+        private int count;
+    }
+}
@@ -0,0 +1,38 @@
+package net.tislib.walletapp.timing;
+
+import net.tislib.walletapp.jdbc.StatementStats;
+
+import java.util.Locale;
+
+/**
+ * Formats request timings as a {@code Server-Timing} header value, in milliseconds: the wait for pooled
+ * connections, SQL execution, the timed phases in the order they were entered, and the total so far.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private ServerTiming() {
+    }
+
+    public static String headerValue(RequestTiming timing, StatementStats stats) {
+        StringBuilder value = new StringBuilder();
+        if (stats != null) {
+            append(value, "conn", stats.getConnectionNanos(), stats.getConnections() + " connections");
+            append(value, "sql", stats.getNanos(), stats.getStatements() + " statements");
+        }
+        timing.phaseNanos().forEach((phase, nanos) -> append(value, phase, nanos, null));
+        append(value, "total", timing.elapsedNanos(), null);
+        return value.toString();
+    }
+
+    private static void append(StringBuilder value, String name, long nanos, String description) {
+        if (!value.isEmpty()) {
+            value.append(", ");
+        }
+        value.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+        if (description != null) {
+            value.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package net.tislib.walletapp.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.ServerTimingProperties;
+import net.tislib.walletapp.jdbc.StatementStats;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times the phases of each HTTP request. Responses that are still uncommitted when the chain returns, such
+ * as those without a body, get their {@code Server-Timing} header here; completed requests are offered
+ * to the slow request log. Runs inside the statement stats filter so that the request's SQL totals are
+ * still current at that point.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final ServerTimingProperties properties;
+    private final SlowRequestLog slowRequestLog;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.stop();
+            StatementStats stats = StatementStats.current();
+            if (!response.isCommitted() && !response.containsHeader(ServerTiming.HEADER)) {
+                response.setHeader(ServerTiming.HEADER, ServerTiming.headerValue(timing, stats));
+            }
+            if (!request.isAsyncStarted()) {
+                slowRequestLog.record(request, response.getStatus(), timing, stats);
+            }
+        }
+    }
+}
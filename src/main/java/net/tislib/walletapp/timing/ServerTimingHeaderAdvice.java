@@ -0,0 +1,40 @@
+package net.tislib.walletapp.timing;
+
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.ServerTimingProperties;
+import net.tislib.walletapp.jdbc.StatementStats;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the {@code Server-Timing} header just before the body is written, since headers cannot change once
+ * the response is committed. Writing the body itself is therefore not in the header, only in the slow
+ * request log; responses without a body get the header from {@link ServerTimingFilter}.
+ */
+@ControllerAdvice
+@RequiredArgsConstructor
+public class ServerTimingHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ServerTimingProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            response.getHeaders().set(ServerTiming.HEADER, ServerTiming.headerValue(timing, StatementStats.current()));
+        }
+        return body;
+    }
+}
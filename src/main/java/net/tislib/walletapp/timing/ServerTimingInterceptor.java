@@ -0,0 +1,33 @@
+package net.tislib.walletapp.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Times the handler phase: the controller method and writing its response body, after admission and
+ * permission checks have passed.
+ */
+@Component
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    public static final String PHASE = "handler";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.open(PHASE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.close(PHASE);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package net.tislib.walletapp.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import net.tislib.walletapp.config.ServerTimingProperties;
+import net.tislib.walletapp.dto.SlowRequestDto;
+import net.tislib.walletapp.jdbc.StatementStats;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The most recent requests that took at least the slow threshold, with their phase timings. Kept in a
+ * fixed-size ring, so recording never allocates beyond the entry itself; requests under the threshold
+ * only cost a comparison.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlowRequestLog {
+
+    private final ServerTimingProperties properties;
+
+    private SlowRequestDto[] entries;
+    private long recorded;
+
+    public void record(HttpServletRequest request, int status, RequestTiming timing, StatementStats stats) {
+        long elapsedNanos = timing.elapsedNanos();
+        if (elapsedNanos < properties.getSlowThreshold().toNanos() || properties.getSlowLogSize() <= 0) {
+            return;
+        }
+
+        SlowRequestDto entry = new SlowRequestDto();
+        entry.setCompletedAt(LocalDateTime.now());
+        entry.setMethod(request.getMethod());
+        entry.setUri(request.getRequestURI());
+        entry.setStatus(status);
+        entry.setDurationMs(elapsedNanos / 1e6);
+        if (stats != null) {
+            entry.setStatements(stats.getStatements());
+            entry.setSqlMs(stats.getNanos() / 1e6);
+            entry.setConnectionMs(stats.getConnectionNanos() / 1e6);
+        }
+        Map<String, Double> phases = new LinkedHashMap<>();
+        timing.phaseNanos().forEach((phase, nanos) -> phases.put(phase, nanos / 1e6));
+        entry.setPhasesMs(phases);
+
+        add(entry);
+    }
+
+    /**
+     * @return the kept requests, most recent first
+     */
+    public synchronized List<SlowRequestDto> getEntries() {
+        List<SlowRequestDto> result = new ArrayList<>();
+        if (entries == null) {
+            return result;
+        }
+        long oldest = Math.max(0, recorded - entries.length);
+        for (long i = recorded - 1; i >= oldest; i--) {
+            result.add(entries[(int) (i % entries.length)]);
+        }
+        return result;
+    }
+
+    private synchronized void add(SlowRequestDto entry) {
+        if (entries == null) {
+            entries = new SlowRequestDto[properties.getSlowLogSize()];
+        }
+        entries[(int) (recorded++ % entries.length)] = entry;
+    }
+}
@@ -0,0 +1,30 @@
+package net.tislib.walletapp.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times writing JSON response bodies as the {@code serialize} phase. The header has already been written
+ * by then, so this time shows in the slow request log only.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String PHASE = "serialize";
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try (RequestTiming.Scope ignored = RequestTiming.time(PHASE)) {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
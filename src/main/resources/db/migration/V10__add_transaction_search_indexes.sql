@@ -0,0 +1,9 @@
+-- Searches are ordered by (created_at, id) descending within one account; each index serves a filter
+-- combination by equality on its leading columns and keeps that order, so pages stop after LIMIT rows.
+-- Date ranges and cursors are range conditions on created_at, amounts are filtered on the fetched rows.
+CREATE INDEX idx_transaction_search_account ON transaction(account_id, created_at, id);
+CREATE INDEX idx_transaction_search_status ON transaction(account_id, status, created_at, id);
+CREATE INDEX idx_transaction_search_type ON transaction(account_id, type, created_at, id);
+CREATE INDEX idx_transaction_search_counterparty
+    ON transaction(account_id, (CAST(transaction_data->>'destinationAccountId' AS bigint)), created_at, id)
+    WHERE type = 'TRANSFER';
@@ -0,0 +1,24 @@
+CREATE TABLE transaction_schedule (
+    id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    transaction_data JSONB NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    next_run_at TIMESTAMP NOT NULL,
+    repeat_interval VARCHAR(50),
+    remaining_runs INTEGER,
+    runs INTEGER NOT NULL DEFAULT 0,
+    pending_transaction_id BIGINT,
+    last_transaction_id BIGINT,
+    last_error VARCHAR(1000),
+    claimed_by VARCHAR(64),
+    claimed_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+
+    CONSTRAINT fk_transaction_schedule_account FOREIGN KEY (account_id) REFERENCES account(id)
+);
+
+-- Dispatchers claim the earliest due active schedules; finished and cancelled ones stay out of the index
+CREATE INDEX idx_transaction_schedule_due ON transaction_schedule(next_run_at) WHERE status = 'ACTIVE';
+CREATE INDEX idx_transaction_schedule_account_id ON transaction_schedule(account_id);
@@ -0,0 +1,19 @@
+-- Only the rows the retention job still has to visit are indexed by status. DONE rows, almost all of the
+-- table, were indexed by idx_transaction_status for no query; per-account status lookups use
+-- idx_transaction_search_status.
+DROP INDEX idx_transaction_status;
+CREATE INDEX idx_transaction_pending ON transaction(id) WHERE status = 'PENDING';
+CREATE INDEX idx_transaction_failed ON transaction(id) WHERE status = 'FAILED';
+
+-- Failed transactions past their retention, when they are archived rather than deleted
+CREATE TABLE transaction_archive (
+    id BIGINT PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    account_id BIGINT NOT NULL,
+    transaction_data JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Exchange rates for cross-currency transfers: one unit of the base currency buys rate units of the quote currency
+CREATE TABLE fx_rate (
+    base_currency VARCHAR(3) NOT NULL,
+    quote_currency VARCHAR(3) NOT NULL,
+    rate NUMERIC(30, 12) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+
+    CONSTRAINT pk_fx_rate PRIMARY KEY (base_currency, quote_currency),
+    CONSTRAINT chk_fx_rate_positive CHECK (rate > 0)
+);
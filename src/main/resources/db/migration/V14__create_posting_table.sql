@@ -0,0 +1,37 @@
+-- Append-only balance movements of DONE transactions: leg 0 moves money on the transaction's own account
+-- (positive for deposits, negative for withdrawals and outgoing transfers), leg 1 credits the destination
+-- of a transfer in its own currency
+CREATE TABLE posting (
+    transaction_id BIGINT NOT NULL,
+    leg SMALLINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    amount NUMERIC NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT pk_posting PRIMARY KEY (transaction_id, leg),
+    CONSTRAINT fk_posting_transaction FOREIGN KEY (transaction_id) REFERENCES transaction(id),
+    CONSTRAINT fk_posting_account FOREIGN KEY (account_id) REFERENCES account(id),
+    CONSTRAINT chk_posting_leg CHECK (leg IN (0, 1))
+);
+
+-- Balances are summed from the index alone
+CREATE INDEX idx_posting_account ON posting(account_id) INCLUDE (amount);
+
+-- Backfill; credits to accounts deleted since are left out, as balances never included them
+INSERT INTO posting (transaction_id, leg, account_id, amount, created_at)
+SELECT id,
+       0,
+       account_id,
+       CASE WHEN type = 'DEPOSIT' THEN 1 ELSE -1 END * CAST(transaction_data->>'amount' AS numeric),
+       COALESCE(updated_at, created_at)
+FROM transaction
+WHERE status = 'DONE'
+UNION ALL
+SELECT t.id,
+       1,
+       a.id,
+       CAST(COALESCE(t.transaction_data->>'destinationAmount', t.transaction_data->>'amount') AS numeric),
+       COALESCE(t.updated_at, t.created_at)
+FROM transaction t
+JOIN account a ON a.id = CAST(t.transaction_data->>'destinationAccountId' AS bigint)
+WHERE t.status = 'DONE' AND t.type = 'TRANSFER';
@@ -0,0 +1,8 @@
+-- When a transaction became DONE, in UTC. Daily aggregates are keyed by its UTC day, both when they are
+-- recorded and when they are rebuilt, so the two never disagree on the day of a transaction.
+ALTER TABLE transaction ADD COLUMN completed_at TIMESTAMP;
+
+-- Backfill; the other timestamps are local to the session's time zone
+UPDATE transaction
+SET completed_at = CAST(COALESCE(updated_at, created_at) AS timestamptz) AT TIME ZONE 'UTC'
+WHERE status = 'DONE';
@@ -0,0 +1,7 @@
+-- Both indexes lead with account_id but are not interchangeable: searches need rows in created_at order,
+-- which account_id, id does not give, and listing ETags need MAX(id) and the version of every row, which
+-- account_id, created_at, id cannot answer from the index alone.
+COMMENT ON INDEX idx_transaction_account_id_version IS
+    'Listing ETags: count, MAX(id) and SUM(version) of one account from the index alone';
+COMMENT ON INDEX idx_transaction_search_account IS
+    'Unfiltered searches of one account, ordered by created_at, id; not covered by idx_transaction_account_id_version';
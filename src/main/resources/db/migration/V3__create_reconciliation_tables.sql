@@ -0,0 +1,34 @@
+CREATE TABLE reconciliation_run (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(50) NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    parallelism INTEGER NOT NULL,
+    max_accounts_per_second INTEGER NOT NULL,
+    compare_stored_balance BOOLEAN NOT NULL,
+    from_account_id BIGINT NOT NULL,
+    to_account_id BIGINT NOT NULL,
+    next_account_id BIGINT NOT NULL,
+    max_transaction_id BIGINT NOT NULL,
+    accounts_checked BIGINT NOT NULL DEFAULT 0,
+    mismatch_count BIGINT NOT NULL DEFAULT 0,
+    transfers_out NUMERIC NOT NULL DEFAULT 0,
+    transfers_in NUMERIC NOT NULL DEFAULT 0,
+    elapsed_millis BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE reconciliation_mismatch (
+    id BIGSERIAL PRIMARY KEY,
+    run_id BIGINT NOT NULL,
+    account_id BIGINT,
+    kind VARCHAR(50) NOT NULL,
+    expected NUMERIC,
+    actual NUMERIC,
+    detected_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_reconciliation_mismatch_run FOREIGN KEY (run_id) REFERENCES reconciliation_run(id)
+);
+
+CREATE INDEX idx_reconciliation_mismatch_run_id ON reconciliation_mismatch(run_id);
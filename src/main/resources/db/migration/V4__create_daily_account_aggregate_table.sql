@@ -0,0 +1,10 @@
+CREATE TABLE daily_account_aggregate (
+    account_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    total NUMERIC NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_daily_account_aggregate PRIMARY KEY (account_id, day, type),
+    CONSTRAINT fk_daily_account_aggregate_account FOREIGN KEY (account_id) REFERENCES account(id)
+);
@@ -0,0 +1,12 @@
+CREATE TABLE wallet_restriction (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    account_id BIGINT,
+    currency VARCHAR(3),
+    limit_value NUMERIC NOT NULL,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+
+    CONSTRAINT fk_wallet_restriction_account FOREIGN KEY (account_id) REFERENCES account(id)
+);
@@ -0,0 +1,20 @@
+CREATE TABLE principal (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE account_grant (
+    id BIGSERIAL PRIMARY KEY,
+    principal_id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    permission VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_account_grant_principal FOREIGN KEY (principal_id) REFERENCES principal(id),
+    CONSTRAINT fk_account_grant_account FOREIGN KEY (account_id) REFERENCES account(id),
+    CONSTRAINT uq_account_grant UNIQUE (principal_id, account_id, permission)
+);
+
+CREATE INDEX idx_account_grant_account_id ON account_grant(account_id);
@@ -0,0 +1,15 @@
+ALTER TABLE account ADD COLUMN balance_slots INT NOT NULL DEFAULT 1;
+
+CREATE TABLE account_balance_slot (
+    account_id BIGINT NOT NULL,
+    slot INT NOT NULL,
+    amount NUMERIC NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_account_balance_slot PRIMARY KEY (account_id, slot),
+    CONSTRAINT fk_account_balance_slot_account FOREIGN KEY (account_id) REFERENCES account(id)
+);
+
+-- Aggregates of sharded accounts are spread over slots too, so credits do not meet on one row
+ALTER TABLE daily_account_aggregate ADD COLUMN slot INT NOT NULL DEFAULT 0;
+ALTER TABLE daily_account_aggregate DROP CONSTRAINT pk_daily_account_aggregate;
+ALTER TABLE daily_account_aggregate ADD CONSTRAINT pk_daily_account_aggregate PRIMARY KEY (account_id, day, type, slot);
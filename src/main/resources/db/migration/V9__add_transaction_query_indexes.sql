@@ -0,0 +1,11 @@
+-- Balance sums read the DONE transactions of one account by type
+CREATE INDEX idx_transaction_done_account_type ON transaction(account_id, type) WHERE status = 'DONE';
+
+-- Incoming transfers are looked up by the destination in the transaction data
+CREATE INDEX idx_transaction_done_transfer_destination
+    ON transaction((CAST(transaction_data->>'destinationAccountId' AS bigint)))
+    WHERE status = 'DONE' AND type = 'TRANSFER';
+
+-- Listing ETags (count, max id and version sum of one account) are answered from the index alone
+CREATE INDEX idx_transaction_account_id_version ON transaction(account_id, id) INCLUDE (version);
+DROP INDEX idx_transaction_account_id;
@@ -1,5 +1,6 @@
 package net.tislib.walletapp;
 
+import net.tislib.walletapp.dto.AccountBalancesDto;
 import net.tislib.walletapp.dto.AccountDto;
 import net.tislib.walletapp.dto.DepositTransactionData;
 import net.tislib.walletapp.dto.TransactionDto;
@@ -431,4 +432,39 @@ public class AccountControllerIT {
         BigDecimal balanceAfterDeposit = getAccountBalance(accountId);
         assertThat(balanceAfterDeposit).isEqualByComparingTo(new BigDecimal("100.00"));
     }
+
+    @Test
+    public void testGetAccountBalances() {
+        AccountDto funded = createTestAccount("Funded Account", "USD");
+        AccountDto empty = createTestAccount("Empty Account", "USD");
+
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("75.00"));
+
+        TransactionDto depositTransaction = new TransactionDto();
+        depositTransaction.setType(TransactionType.DEPOSIT);
+        depositTransaction.setAccountId(funded.getId());
+        depositTransaction.setData(depositData);
+
+        ResponseEntity<TransactionDto> depositResponse = restTemplate.postForEntity(
+                "/accounts/" + funded.getId() + "/transactions", depositTransaction, TransactionDto.class);
+        assertThat(depositResponse.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<TransactionDto> executeResponse = restTemplate.postForEntity(
+                "/accounts/" + funded.getId() + "/transactions/" + depositResponse.getBody().getId() + "/execute",
+                null,
+                TransactionDto.class);
+        assertThat(executeResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Request both accounts plus one that does not exist
+        ResponseEntity<AccountBalancesDto> response = restTemplate.postForEntity(
+                "/accounts/balances", List.of(funded.getId(), empty.getId(), 999999L), AccountBalancesDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getBalances()).hasSize(2);
+        assertThat(response.getBody().getBalances().get(funded.getId())).isEqualByComparingTo(new BigDecimal("75.00"));
+        assertThat(response.getBody().getBalances().get(empty.getId())).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(response.getBody().getMissingAccountIds()).containsExactly(999999L);
+    }
 }
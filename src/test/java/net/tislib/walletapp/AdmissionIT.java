@@ -0,0 +1,92 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "wallet.admission.enabled=true",
+                "wallet.admission.execute.account-rate=0.1",
+                "wallet.admission.execute.account-burst=2",
+                "wallet.admission.execute.client-rate=0.1",
+                "wallet.admission.execute.client-burst=3"
+        })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AdmissionIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name, String currency) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency(currency);
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to execute a missing transaction of an account as the given principal
+    private ResponseEntity<String> executeAs(Long principalId, Long accountId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Principal-Id", principalId.toString());
+        return restTemplate.exchange("/accounts/" + accountId + "/transactions/999/execute",
+                HttpMethod.POST, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    public void testExecuteBudgetIsPerAccountAndSeparateFromReads() {
+        AccountDto noisy = createTestAccount("Noisy Account", "USD");
+        AccountDto quiet = createTestAccount("Quiet Account", "USD");
+
+        // The burst is admitted; the transactions do not exist, so the handler answers 404
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<String> response = restTemplate.postForEntity(
+                    "/accounts/" + noisy.getId() + "/transactions/999/execute", null, String.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+
+        ResponseEntity<String> limited = restTemplate.postForEntity(
+                "/accounts/" + noisy.getId() + "/transactions/999/execute", null, String.class);
+        assertThat(limited.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(limited.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+
+        // Other accounts and read requests keep their own budgets
+        ResponseEntity<String> otherAccount = restTemplate.postForEntity(
+                "/accounts/" + quiet.getId() + "/transactions/999/execute", null, String.class);
+        assertThat(otherAccount.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        ResponseEntity<BigDecimal> balance = restTemplate.getForEntity(
+                "/accounts/" + noisy.getId() + "/balance", BigDecimal.class);
+        assertThat(balance.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void testPrincipalHeaderIsIgnoredWhilePermissionsAreDisabled() {
+        AccountDto first = createTestAccount("First Account", "USD");
+        AccountDto second = createTestAccount("Second Account", "USD");
+        AccountDto third = createTestAccount("Third Account", "USD");
+
+        assertThat(executeAs(1L, first.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(executeAs(2L, second.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(executeAs(3L, third.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        // Unchecked headers cannot pick a fresh client budget, all requests come from the same address
+        assertThat(executeAs(4L, third.getId()).getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
@@ -0,0 +1,91 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.PrincipalDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "wallet.admission.enabled=true",
+                "wallet.admission.execute.account-rate=0.1",
+                "wallet.admission.execute.account-burst=2",
+                "wallet.admission.execute.client-rate=0.1",
+                "wallet.admission.execute.client-burst=3",
+                "wallet.permissions.enabled=true",
+                "wallet.permissions.system-admins=999999"
+        })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AdmissionPrincipalIT {
+
+    private static final long SYSTEM_ADMIN = 999999L;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // Helper method to build headers identifying a principal
+    private HttpHeaders as(Long principalId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Principal-Id", String.valueOf(principalId));
+        return headers;
+    }
+
+    // Helper method to create a principal
+    private PrincipalDto createPrincipal(String name) {
+        PrincipalDto principal = new PrincipalDto();
+        principal.setName(name);
+
+        ResponseEntity<PrincipalDto> response = restTemplate.exchange(
+                "/principals", HttpMethod.POST, new HttpEntity<>(principal, as(SYSTEM_ADMIN)), PrincipalDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create an account owned by a principal
+    private AccountDto createTestAccount(Long principalId, String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.exchange(
+                "/accounts", HttpMethod.POST, new HttpEntity<>(newAccount, as(principalId)), AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to execute a missing transaction of an account as the given principal
+    private ResponseEntity<String> executeAs(Long principalId, Long accountId) {
+        return restTemplate.exchange("/accounts/" + accountId + "/transactions/999/execute",
+                HttpMethod.POST, new HttpEntity<>(as(principalId)), String.class);
+    }
+
+    @Test
+    public void testRequestsRejectedForTheClientDoNotUseTheAccountBudget() {
+        PrincipalDto noisy = createPrincipal("Noisy Client");
+        PrincipalDto owner = createPrincipal("Shared Account Owner");
+        AccountDto shared = createTestAccount(owner.getId(), "Shared Account");
+        AccountDto first = createTestAccount(noisy.getId(), "First Other Account");
+        AccountDto second = createTestAccount(noisy.getId(), "Second Other Account");
+
+        // The first client uses up its own budget on other accounts
+        assertThat(executeAs(noisy.getId(), first.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(executeAs(noisy.getId(), first.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(executeAs(noisy.getId(), second.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(executeAs(noisy.getId(), shared.getId()).getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        // Its rejected request left the shared account's burst to other clients
+        for (int i = 0; i < 2; i++) {
+            assertThat(executeAs(owner.getId(), shared.getId()).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+}
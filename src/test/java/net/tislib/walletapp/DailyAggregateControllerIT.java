@@ -0,0 +1,125 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DailyAggregateDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.model.AggregateType;
+import net.tislib.walletapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class DailyAggregateControllerIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name, String currency) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency(currency);
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create and execute a transaction
+    private void createAndExecute(Long accountId, TransactionType type, TransactionData data) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(type);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(data);
+
+        ResponseEntity<TransactionDto> created = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<TransactionDto> executed = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions/" + created.getBody().getId() + "/execute", null, TransactionDto.class);
+        assertThat(executed.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    // Helper method to fetch today's aggregates for an account
+    private List<DailyAggregateDto> getTodaysAggregates(Long accountId) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        ResponseEntity<List<DailyAggregateDto>> response = restTemplate.exchange(
+                "/aggregates/daily?accountId=" + accountId + "&from=" + today + "&to=" + today,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<DailyAggregateDto>>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private void assertTotal(List<DailyAggregateDto> aggregates, AggregateType type, String expectedTotal, long expectedCount) {
+        DailyAggregateDto aggregate = aggregates.stream()
+                .filter(a -> a.getType() == type)
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No aggregate of type " + type));
+
+        assertThat(aggregate.getTotal()).isEqualByComparingTo(new BigDecimal(expectedTotal));
+        assertThat(aggregate.getTransactionCount()).isEqualTo(expectedCount);
+    }
+
+    @Test
+    public void testAggregatesAreMaintainedOnExecuteAndBackfill() {
+        AccountDto source = createTestAccount("Source Account", "USD");
+        AccountDto destination = createTestAccount("Destination Account", "USD");
+
+        for (String amount : List.of("60.00", "40.00")) {
+            DepositTransactionData deposit = new DepositTransactionData();
+            deposit.setAmount(new BigDecimal(amount));
+            createAndExecute(source.getId(), TransactionType.DEPOSIT, deposit);
+        }
+
+        TransferTransactionData transfer = new TransferTransactionData();
+        transfer.setDestinationAccountId(destination.getId());
+        transfer.setAmount(new BigDecimal("25.00"));
+        createAndExecute(source.getId(), TransactionType.TRANSFER, transfer);
+
+        assertTotal(getTodaysAggregates(source.getId()), AggregateType.DEPOSIT, "100.00", 2);
+        assertTotal(getTodaysAggregates(source.getId()), AggregateType.TRANSFER_OUT, "25.00", 1);
+        assertTotal(getTodaysAggregates(destination.getId()), AggregateType.TRANSFER_IN, "25.00", 1);
+
+        // Rebuilding today's rollups from the raw table must yield the same totals
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        ResponseEntity<Integer> backfill = restTemplate.postForEntity(
+                "/aggregates/daily/backfill?from=" + today + "&to=" + today, null, Integer.class);
+        assertThat(backfill.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertTotal(getTodaysAggregates(source.getId()), AggregateType.DEPOSIT, "100.00", 2);
+        assertTotal(getTodaysAggregates(source.getId()), AggregateType.TRANSFER_OUT, "25.00", 1);
+        assertTotal(getTodaysAggregates(destination.getId()), AggregateType.TRANSFER_IN, "25.00", 1);
+    }
+
+    @Test
+    public void testInvalidRange() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/aggregates/daily?accountId=1&from=2026-02-01&to=2026-01-01", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,120 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"wallet.execution.batch.enabled=true", "wallet.execution.batch.window=20ms"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ExecutionBatchIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create a transaction
+    private TransactionDto createTransaction(Long accountId, TransactionType type, TransactionData data) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(type);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(data);
+
+        ResponseEntity<TransactionDto> response = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to execute a transaction and return the response
+    private ResponseEntity<TransactionDto> execute(TransactionDto transaction) {
+        return restTemplate.postForEntity(
+                "/accounts/" + transaction.getAccountId() + "/transactions/" + transaction.getId() + "/execute",
+                null, TransactionDto.class);
+    }
+
+    // Helper method to get account balance
+    private BigDecimal getAccountBalance(Long accountId) {
+        ResponseEntity<BigDecimal> response = restTemplate.getForEntity(
+                "/accounts/" + accountId + "/balance", BigDecimal.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @Test
+    public void testFailingExecutionDoesNotAffectTheRestOfTheBatch() throws Exception {
+        AccountDto funded = createTestAccount("Batch Funded Account");
+        AccountDto empty = createTestAccount("Batch Empty Account");
+
+        List<TransactionDto> deposits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            DepositTransactionData depositData = new DepositTransactionData();
+            depositData.setAmount(new BigDecimal("10.00"));
+            deposits.add(createTransaction(funded.getId(), TransactionType.DEPOSIT, depositData));
+        }
+        WithdrawTransactionData withdrawData = new WithdrawTransactionData();
+        withdrawData.setAmount(new BigDecimal("5.00"));
+        TransactionDto overdraft = createTransaction(empty.getId(), TransactionType.WITHDRAW, withdrawData);
+
+        // Submitted together, so they share batches with the failing withdrawal
+        ExecutorService executor = Executors.newFixedThreadPool(deposits.size() + 1);
+        Future<ResponseEntity<TransactionDto>> overdraftResponse = executor.submit(() -> execute(overdraft));
+        List<Future<ResponseEntity<TransactionDto>>> depositResponses = new ArrayList<>();
+        for (TransactionDto deposit : deposits) {
+            depositResponses.add(executor.submit(() -> execute(deposit)));
+        }
+
+        assertThat(overdraftResponse.get().getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        for (Future<ResponseEntity<TransactionDto>> response : depositResponses) {
+            assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.get().getBody().getStatus()).isEqualTo(TransactionStatus.DONE);
+        }
+        executor.shutdown();
+
+        assertThat(getAccountBalance(funded.getId())).isEqualByComparingTo("80.00");
+        assertThat(getAccountBalance(empty.getId())).isEqualByComparingTo("0");
+
+        // The failed withdrawal was rolled back to its savepoint and can be executed once funded
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("5.00"));
+        assertThat(execute(createTransaction(empty.getId(), TransactionType.DEPOSIT, depositData)).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(execute(overdraft).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(getAccountBalance(empty.getId())).isEqualByComparingTo("0");
+    }
+}
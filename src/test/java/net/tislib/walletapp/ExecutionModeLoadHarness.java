@@ -0,0 +1,132 @@
+package net.tislib.walletapp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.tislib.walletapp.config.ExecutionProperties;
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.model.ExecutionMode;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.service.AccountService;
+import net.tislib.walletapp.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares pessimistic and optimistic execution under different numbers of hot accounts.
+ * Run with {@code ./gradlew loadTest}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+public class ExecutionModeLoadHarness {
+
+    private static final int THREADS = 32;
+    private static final int WITHDRAWALS = 2000;
+    private static final int[] HOT_ACCOUNTS = {1, 2, 8, 32, 128};
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ExecutionProperties executionProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Helper method to create an account funded with a deposit
+    private AccountDto createFundedAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+        AccountDto account = accountService.createAccount(newAccount, null);
+
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("1000000.00"));
+        TransactionDto deposit = createTransaction(account.getId(), TransactionType.DEPOSIT, depositData);
+        transactionService.executeTransaction(deposit.getId(), account.getId());
+        return account;
+    }
+
+    // Helper method to create a pending transaction
+    private TransactionDto createTransaction(Long accountId, TransactionType type, TransactionData data) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(type);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(data);
+        return transactionService.createTransaction(transactionDto);
+    }
+
+    private double count(String name, ExecutionMode mode) {
+        return meterRegistry.counter(name, "mode", mode.name().toLowerCase()).count();
+    }
+
+    @Test
+    public void compareExecutionModes() throws Exception {
+        System.out.printf("%-12s %8s %12s %10s %10s %10s%n", "mode", "hot", "tx/s", "retries", "aborts", "failed");
+        for (int hotAccounts : HOT_ACCOUNTS) {
+            for (ExecutionMode mode : List.of(ExecutionMode.PESSIMISTIC, ExecutionMode.OPTIMISTIC)) {
+                run(mode, hotAccounts);
+            }
+        }
+    }
+
+    private void run(ExecutionMode mode, int hotAccounts) throws Exception {
+        List<AccountDto> accounts = new ArrayList<>();
+        for (int i = 0; i < hotAccounts; i++) {
+            accounts.add(createFundedAccount(mode + " hot " + i));
+        }
+
+        List<TransactionDto> withdrawals = new ArrayList<>();
+        for (int i = 0; i < WITHDRAWALS; i++) {
+            WithdrawTransactionData withdrawData = new WithdrawTransactionData();
+            withdrawData.setAmount(new BigDecimal("1.00"));
+            withdrawals.add(createTransaction(accounts.get(i % hotAccounts).getId(), TransactionType.WITHDRAW, withdrawData));
+        }
+
+        executionProperties.setMode(mode);
+        double retriesBefore = count("wallet.execution.retries", mode);
+        double abortsBefore = count("wallet.execution.aborts", mode);
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (TransactionDto withdrawal : withdrawals) {
+            futures.add(executor.submit(() -> {
+                try {
+                    transactionService.executeTransaction(withdrawal.getId(), withdrawal.getAccountId());
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        System.out.printf("%-12s %8d %12.1f %10.0f %10.0f %10d%n",
+                mode, hotAccounts, WITHDRAWALS * 1e9 / elapsedNanos,
+                count("wallet.execution.retries", mode) - retriesBefore,
+                count("wallet.execution.aborts", mode) - abortsBefore,
+                failed.get());
+    }
+}
@@ -0,0 +1,127 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.config.ExecutionProperties;
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.model.ExecutionMode;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.service.AccountService;
+import net.tislib.walletapp.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency and throughput of pessimistic execution with and without group commit, for several batch
+ * windows and client concurrencies. Run with {@code ./gradlew loadTest}; excluded from the regular test task.
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+public class GroupCommitLoadHarness {
+
+    private static final int ACCOUNTS = 64;
+    private static final int EXECUTIONS = 4000;
+    private static final int[] THREADS = {4, 16, 64};
+    private static final Duration[] WINDOWS = {Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofMillis(5)};
+    private static final int MAX_BATCH_SIZE = 64;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ExecutionProperties executionProperties;
+
+    private final List<AccountDto> accounts = new ArrayList<>();
+
+    // Helper method to create pending deposits spread over the accounts
+    private List<TransactionDto> createDeposits() {
+        List<TransactionDto> deposits = new ArrayList<>();
+        for (int i = 0; i < EXECUTIONS; i++) {
+            DepositTransactionData depositData = new DepositTransactionData();
+            depositData.setAmount(new BigDecimal("1.00"));
+
+            TransactionDto transactionDto = new TransactionDto();
+            transactionDto.setType(TransactionType.DEPOSIT);
+            transactionDto.setAccountId(accounts.get(i % ACCOUNTS).getId());
+            transactionDto.setData(depositData);
+            deposits.add(transactionService.createTransaction(transactionDto));
+        }
+        return deposits;
+    }
+
+    @Test
+    public void compareGroupCommitWindows() throws Exception {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            AccountDto newAccount = new AccountDto();
+            newAccount.setName("Group commit " + i);
+            newAccount.setCurrency("USD");
+            accounts.add(accountService.createAccount(newAccount, null));
+        }
+        executionProperties.setMode(ExecutionMode.PESSIMISTIC);
+        executionProperties.getBatch().setMaxSize(MAX_BATCH_SIZE);
+
+        System.out.printf("%-10s %8s %12s %10s %10s %10s %8s%n", "window", "threads", "tx/s", "p50 ms", "p99 ms", "max ms", "failed");
+        for (int threads : THREADS) {
+            run(null, threads);
+            for (Duration window : WINDOWS) {
+                run(window, threads);
+            }
+        }
+    }
+
+    private void run(Duration window, int threads) throws Exception {
+        List<TransactionDto> deposits = createDeposits();
+
+        executionProperties.getBatch().setEnabled(window != null);
+        if (window != null) {
+            executionProperties.getBatch().setWindow(window);
+        }
+        long[] latencies = new long[deposits.size()];
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < deposits.size(); i++) {
+            int index = i;
+            TransactionDto deposit = deposits.get(i);
+            futures.add(executor.submit(() -> {
+                long submitted = System.nanoTime();
+                try {
+                    transactionService.executeTransaction(deposit.getId(), deposit.getAccountId());
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                }
+                latencies[index] = System.nanoTime() - submitted;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%-10s %8d %12.1f %10.2f %10.2f %10.2f %8d%n",
+                window != null ? window.toMillis() + "ms" : "off", threads, deposits.size() * 1e9 / elapsedNanos,
+                latencies[latencies.length / 2] / 1e6, latencies[latencies.length * 99 / 100] / 1e6,
+                latencies[latencies.length - 1] / 1e6, failed.get());
+    }
+}
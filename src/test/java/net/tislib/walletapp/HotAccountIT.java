@@ -0,0 +1,87 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.HotAccountDto;
+import net.tislib.walletapp.dto.HotAccountsDto;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"wallet.contention.top-k=1", "wallet.contention.decay-interval=PT1H"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class HotAccountIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create and execute a deposit
+    private void executeDeposit(Long accountId) {
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("1.00"));
+
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(TransactionType.DEPOSIT);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(depositData);
+
+        ResponseEntity<TransactionDto> created = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<TransactionDto> executed = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions/" + created.getBody().getId() + "/execute", null, TransactionDto.class);
+        assertThat(executed.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void testHottestAccountDisplacesColderOnes() {
+        AccountDto cold = createTestAccount("Cold Account");
+        AccountDto hot = createTestAccount("Hot Account");
+
+        // The cold account is ranked first, until the hot one outgrows it
+        executeDeposit(cold.getId());
+        for (int i = 0; i < 5; i++) {
+            executeDeposit(hot.getId());
+        }
+
+        ResponseEntity<HotAccountsDto> response = restTemplate.getForEntity("/admin/hot-accounts", HotAccountsDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Only the top account is kept, with estimates that never undercount
+        assertThat(response.getBody().getByExecutions()).hasSize(1);
+        HotAccountDto hottest = response.getBody().getByExecutions().get(0);
+        assertThat(hottest.getAccountId()).isEqualTo(hot.getId());
+        assertThat(hottest.getExecutions()).isGreaterThanOrEqualTo(5);
+        assertThat(hottest.getLockWaitMs()).isPositive();
+
+        assertThat(response.getBody().getByLockWait()).hasSize(1);
+        assertThat(response.getBody().getByLockWait().get(0).getLockWaitMs()).isPositive();
+    }
+}
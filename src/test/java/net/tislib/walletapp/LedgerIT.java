@@ -0,0 +1,204 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "wallet.execution.mode=IN_MEMORY")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class LedgerIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Every context gets its own database, so it needs its own journal as well
+    @DynamicPropertySource
+    static void ledgerDirectory(DynamicPropertyRegistry registry) {
+        registry.add("wallet.ledger.directory", () -> {
+            try {
+                return Files.createTempDirectory("ledger").toString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create a transaction
+    private TransactionDto createTransaction(Long accountId, TransactionType type, TransactionData data) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(type);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(data);
+
+        ResponseEntity<TransactionDto> response = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to execute a transaction and return the response
+    private ResponseEntity<TransactionDto> execute(TransactionDto transaction) {
+        return restTemplate.postForEntity(
+                "/accounts/" + transaction.getAccountId() + "/transactions/" + transaction.getId() + "/execute",
+                null, TransactionDto.class);
+    }
+
+    // Helper method to get account balance
+    private BigDecimal getAccountBalance(Long accountId) {
+        ResponseEntity<BigDecimal> response = restTemplate.getForEntity(
+                "/accounts/" + accountId + "/balance", BigDecimal.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    // Helper method to wait until the projection has written the status to the database
+    private TransactionStatus awaitStoredStatus(TransactionDto transaction, TransactionStatus expected) throws InterruptedException {
+        TransactionStatus status = null;
+        for (int attempt = 0; attempt < 50 && status != expected; attempt++) {
+            Thread.sleep(100);
+            status = restTemplate.getForObject(
+                    "/accounts/" + transaction.getAccountId() + "/transactions/" + transaction.getId(),
+                    TransactionDto.class).getStatus();
+        }
+        return status;
+    }
+
+    @Test
+    public void testExecutionsAreAppliedInMemoryAndProjected() throws InterruptedException {
+        AccountDto source = createTestAccount("Ledger Source");
+        AccountDto destination = createTestAccount("Ledger Destination");
+
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("100.00"));
+        TransactionDto deposit = createTransaction(source.getId(), TransactionType.DEPOSIT, depositData);
+        ResponseEntity<TransactionDto> executed = execute(deposit);
+        assertThat(executed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(executed.getBody().getStatus()).isEqualTo(TransactionStatus.DONE);
+
+        TransferTransactionData transferData = new TransferTransactionData();
+        transferData.setAmount(new BigDecimal("30.00"));
+        transferData.setDestinationAccountId(destination.getId());
+        TransactionDto transfer = createTransaction(source.getId(), TransactionType.TRANSFER, transferData);
+        assertThat(execute(transfer).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Executing again must not apply the transfer twice
+        assertThat(execute(transfer).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(getAccountBalance(source.getId())).isEqualByComparingTo("70.00");
+        assertThat(getAccountBalance(destination.getId())).isEqualByComparingTo("30.00");
+
+        assertThat(awaitStoredStatus(deposit, TransactionStatus.DONE)).isEqualTo(TransactionStatus.DONE);
+        assertThat(awaitStoredStatus(transfer, TransactionStatus.DONE)).isEqualTo(TransactionStatus.DONE);
+    }
+
+    @Test
+    public void testInsufficientFundsIsRejectedAndProjectedAsFailed() throws InterruptedException {
+        AccountDto account = createTestAccount("Ledger Empty Account");
+
+        WithdrawTransactionData withdrawData = new WithdrawTransactionData();
+        withdrawData.setAmount(new BigDecimal("10.00"));
+        TransactionDto withdrawal = createTransaction(account.getId(), TransactionType.WITHDRAW, withdrawData);
+
+        assertThat(execute(withdrawal).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(getAccountBalance(account.getId())).isEqualByComparingTo("0");
+        assertThat(awaitStoredStatus(withdrawal, TransactionStatus.FAILED)).isEqualTo(TransactionStatus.FAILED);
+    }
+
+    @Test
+    public void testCrossCurrencyTransferIsRejected() {
+        AccountDto source = createTestAccount("Ledger USD Account");
+        AccountDto eurAccount = new AccountDto();
+        eurAccount.setName("Ledger EUR Account");
+        eurAccount.setCurrency("EUR");
+        AccountDto destination = restTemplate.postForEntity("/accounts", eurAccount, AccountDto.class).getBody();
+
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("100.00"));
+        assertThat(execute(createTransaction(source.getId(), TransactionType.DEPOSIT, depositData)).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        // The ledger compares the currencies recorded when the accounts were opened
+        TransferTransactionData transferData = new TransferTransactionData();
+        transferData.setAmount(new BigDecimal("30.00"));
+        transferData.setDestinationAccountId(destination.getId());
+        TransactionDto transfer = createTransaction(source.getId(), TransactionType.TRANSFER, transferData);
+        assertThat(execute(transfer).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        assertThat(getAccountBalance(source.getId())).isEqualByComparingTo("100.00");
+        assertThat(getAccountBalance(destination.getId())).isEqualByComparingTo("0");
+        assertThat(restTemplate.getForObject("/accounts/" + source.getId() + "/transactions/" + transfer.getId(),
+                TransactionDto.class).getStatus()).isEqualTo(TransactionStatus.FAILED);
+    }
+
+    @Test
+    public void testDriftedBalanceSlotsDoNotStallTheProjection() throws InterruptedException {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName("Ledger Sharded Account");
+        newAccount.setCurrency("USD");
+        newAccount.setBalanceSlots(4);
+        AccountDto account = restTemplate.postForEntity("/accounts", newAccount, AccountDto.class).getBody();
+
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("100.00"));
+        TransactionDto deposit = createTransaction(account.getId(), TransactionType.DEPOSIT, depositData);
+        assertThat(execute(deposit).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(awaitStoredStatus(deposit, TransactionStatus.DONE)).isEqualTo(TransactionStatus.DONE);
+
+        // A manual correction leaves the slots short of the balance the ledger holds
+        jdbcTemplate.update("UPDATE account_balance_slot SET amount = 0 WHERE account_id = ?", account.getId());
+
+        WithdrawTransactionData withdrawData = new WithdrawTransactionData();
+        withdrawData.setAmount(new BigDecimal("40.00"));
+        TransactionDto withdrawal = createTransaction(account.getId(), TransactionType.WITHDRAW, withdrawData);
+        assertThat(execute(withdrawal).getStatusCode()).isEqualTo(HttpStatus.OK);
+        TransactionDto laterDeposit = createTransaction(account.getId(), TransactionType.DEPOSIT, depositData);
+        assertThat(execute(laterDeposit).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(awaitStoredStatus(withdrawal, TransactionStatus.DONE)).isEqualTo(TransactionStatus.DONE);
+        assertThat(awaitStoredStatus(laterDeposit, TransactionStatus.DONE)).isEqualTo(TransactionStatus.DONE);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(amount) FROM account_balance_slot WHERE account_id = ?",
+                BigDecimal.class, account.getId())).isEqualByComparingTo("60.00");
+    }
+}
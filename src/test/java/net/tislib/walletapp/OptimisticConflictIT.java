@@ -0,0 +1,173 @@
+package net.tislib.walletapp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.service.PostingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"wallet.execution.mode=OPTIMISTIC", "wallet.execution.max-retries=2"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class OptimisticConflictIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private PostingService postingService;
+
+    // Helper method to create a test account funded with a deposit
+    private AccountDto createFundedAccount(String name, String amount) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal(amount));
+        assertThat(createAndExecute(response.getBody().getId(), TransactionType.DEPOSIT, deposit).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create and execute a transaction in one request
+    private ResponseEntity<TransactionDto> createAndExecute(Long accountId, TransactionType type, TransactionData data) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(type);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(data);
+
+        return restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions/execute", transactionDto, TransactionDto.class);
+    }
+
+    // Helper method to build withdrawal data
+    private WithdrawTransactionData withdrawal(String amount) {
+        WithdrawTransactionData withdraw = new WithdrawTransactionData();
+        withdraw.setAmount(new BigDecimal(amount));
+        return withdraw;
+    }
+
+    // Helper method to get account balance
+    private BigDecimal getAccountBalance(Long accountId) {
+        ResponseEntity<BigDecimal> response = restTemplate.getForEntity(
+                "/accounts/" + accountId + "/balance", BigDecimal.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    // Helper method to read an optimistic execution counter
+    private double counter(String name) {
+        return meterRegistry.counter(name, "mode", "optimistic").count();
+    }
+
+    @Test
+    public void testConflictIsRetried() {
+        AccountDto account = createFundedAccount("Retried Account", "100.00");
+
+        clearInvocations(postingService);
+        doThrow(new OptimisticLockingFailureException("Simulated conflict"))
+                .doCallRealMethod()
+                .when(postingService).recordExecution(any());
+
+        ResponseEntity<TransactionDto> response = createAndExecute(account.getId(), TransactionType.WITHDRAW, withdrawal("30.00"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().getStatus()).isEqualTo(TransactionStatus.DONE);
+        verify(postingService, times(2)).recordExecution(any());
+        assertThat(counter("wallet.execution.conflicts")).isEqualTo(1.0);
+        assertThat(counter("wallet.execution.retries")).isEqualTo(1.0);
+        assertThat(counter("wallet.execution.aborts")).isZero();
+        assertThat(getAccountBalance(account.getId())).isEqualByComparingTo("70.00");
+    }
+
+    @Test
+    public void testExecutionAbortsAfterMaxRetries() {
+        AccountDto account = createFundedAccount("Aborted Account", "100.00");
+
+        clearInvocations(postingService);
+        doThrow(new OptimisticLockingFailureException("Simulated conflict"))
+                .when(postingService).recordExecution(any());
+
+        ResponseEntity<TransactionDto> response = createAndExecute(account.getId(), TransactionType.WITHDRAW, withdrawal("30.00"));
+
+        // The first attempt and both retries conflict
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        verify(postingService, times(3)).recordExecution(any());
+        assertThat(counter("wallet.execution.conflicts")).isEqualTo(3.0);
+        assertThat(counter("wallet.execution.retries")).isEqualTo(2.0);
+        assertThat(counter("wallet.execution.aborts")).isEqualTo(1.0);
+
+        // An aborted execution leaves no row behind
+        Integer withdrawals = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction WHERE account_id = ? AND type = 'WITHDRAW'", Integer.class, account.getId());
+        assertThat(withdrawals).isZero();
+        assertThat(getAccountBalance(account.getId())).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    public void testConcurrentWithdrawalsNeverOverdraw() throws Exception {
+        AccountDto account = createFundedAccount("Contended Account", "100.00");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ResponseEntity<TransactionDto>>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(executor.submit(() -> createAndExecute(account.getId(), TransactionType.WITHDRAW, withdrawal("20.00"))));
+        }
+
+        // Conflicting withdrawals are retried or aborted, and the rest fail for insufficient funds
+        int done = 0;
+        for (Future<ResponseEntity<TransactionDto>> response : responses) {
+            HttpStatusCode status = response.get().getStatusCode();
+            assertThat(status).isIn(HttpStatus.CREATED, HttpStatus.CONFLICT, HttpStatus.BAD_REQUEST);
+            if (HttpStatus.CREATED.equals(status)) {
+                done++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(done).isBetween(1, 5);
+        assertThat(getAccountBalance(account.getId()))
+                .isEqualByComparingTo(new BigDecimal("100.00").subtract(new BigDecimal("20.00").multiply(BigDecimal.valueOf(done))));
+    }
+}
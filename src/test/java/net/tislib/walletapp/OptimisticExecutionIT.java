@@ -0,0 +1,116 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.service.FxRateService;
+import net.tislib.walletapp.service.PostingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "wallet.execution.mode=OPTIMISTIC")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class OptimisticExecutionIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    @MockitoSpyBean
+    private PostingService postingService;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name, String currency) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency(currency);
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create and execute a transaction in one request
+    private ResponseEntity<TransactionDto> createAndExecute(Long accountId, TransactionType type, TransactionData data) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(type);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(data);
+
+        return restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions/execute", transactionDto, TransactionDto.class);
+    }
+
+    // Helper method to get account balance
+    private BigDecimal getAccountBalance(Long accountId) {
+        ResponseEntity<BigDecimal> response = restTemplate.getForEntity(
+                "/accounts/" + accountId + "/balance", BigDecimal.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @Test
+    public void testRetriedCrossCurrencyTransferIsConvertedOnce() {
+        jdbcTemplate.update("INSERT INTO fx_rate (base_currency, quote_currency, rate) VALUES ('USD', 'EUR', 0.9234)");
+        fxRateService.refresh();
+
+        AccountDto usdAccount = createTestAccount("Retried USD Account", "USD");
+        AccountDto eurAccount = createTestAccount("Retried EUR Account", "EUR");
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("100.00"));
+        assertThat(createAndExecute(usdAccount.getId(), TransactionType.DEPOSIT, deposit).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+
+        // The first attempt converts the transfer and then conflicts, after which it is retried
+        clearInvocations(postingService);
+        doThrow(new OptimisticLockingFailureException("Simulated conflict"))
+                .doCallRealMethod()
+                .when(postingService).recordExecution(any());
+
+        TransferTransactionData transfer = new TransferTransactionData();
+        transfer.setDestinationAccountId(eurAccount.getId());
+        transfer.setAmount(new BigDecimal("10.00"));
+        ResponseEntity<TransactionDto> response = createAndExecute(usdAccount.getId(), TransactionType.TRANSFER, transfer);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().getStatus()).isEqualTo(TransactionStatus.DONE);
+        assertThat(((TransferTransactionData) response.getBody().getData()).getDestinationAmount())
+                .isEqualByComparingTo(new BigDecimal("9.23"));
+        verify(postingService, times(2)).recordExecution(any());
+
+        assertThat(getAccountBalance(usdAccount.getId())).isEqualByComparingTo(new BigDecimal("90.00"));
+        assertThat(getAccountBalance(eurAccount.getId())).isEqualByComparingTo(new BigDecimal("9.23"));
+    }
+}
@@ -0,0 +1,289 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.AccountGrantDto;
+import net.tislib.walletapp.dto.PrincipalDto;
+import net.tislib.walletapp.dto.RestrictionDto;
+import net.tislib.walletapp.model.Permission;
+import net.tislib.walletapp.model.RestrictionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"wallet.permissions.enabled=true", "wallet.permissions.system-admins=999999"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class PermissionIT {
+
+    private static final long SYSTEM_ADMIN = 999999L;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Helper method to build headers identifying a principal
+    private HttpHeaders as(Long principalId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Principal-Id", String.valueOf(principalId));
+        return headers;
+    }
+
+    // Helper method to create a principal
+    private PrincipalDto createPrincipal(String name) {
+        PrincipalDto principal = new PrincipalDto();
+        principal.setName(name);
+
+        ResponseEntity<PrincipalDto> response = restTemplate.exchange(
+                "/principals", HttpMethod.POST, new HttpEntity<>(principal, as(SYSTEM_ADMIN)), PrincipalDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create an account owned by a principal
+    private AccountDto createTestAccount(Long principalId, String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.exchange(
+                "/accounts", HttpMethod.POST, new HttpEntity<>(newAccount, as(principalId)), AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to build a restriction request
+    private RestrictionDto restriction(Long accountId, String limit) {
+        RestrictionDto restriction = new RestrictionDto();
+        restriction.setType(RestrictionType.MAX_SINGLE_WITHDRAWAL);
+        restriction.setAccountId(accountId);
+        restriction.setLimitValue(new BigDecimal(limit));
+        return restriction;
+    }
+
+    private HttpStatusCode getBalanceStatus(Long principalId, Long accountId) {
+        return restTemplate.exchange(
+                "/accounts/" + accountId + "/balance", HttpMethod.GET, new HttpEntity<>(as(principalId)), BigDecimal.class)
+                .getStatusCode();
+    }
+
+    @Test
+    public void testCreatorAdministersAccount() {
+        PrincipalDto owner = createPrincipal("Owner");
+        AccountDto account = createTestAccount(owner.getId(), "Owned Account");
+
+        assertThat(getBalanceStatus(owner.getId(), account.getId())).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<List<AccountGrantDto>> grants = restTemplate.exchange(
+                "/principals/" + owner.getId() + "/grants",
+                HttpMethod.GET,
+                new HttpEntity<>(as(owner.getId())),
+                new ParameterizedTypeReference<List<AccountGrantDto>>() {});
+
+        assertThat(grants.getBody()).extracting(AccountGrantDto::getPermission).containsExactly(Permission.ADMIN);
+    }
+
+    @Test
+    public void testMissingPrincipalIsRejected() {
+        PrincipalDto owner = createPrincipal("Owner");
+        AccountDto account = createTestAccount(owner.getId(), "Owned Account");
+
+        ResponseEntity<BigDecimal> response = restTemplate.getForEntity(
+                "/accounts/" + account.getId() + "/balance", BigDecimal.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    public void testAccountOfUnknownCreatorIsNotStored() {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName("Orphaned Account");
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.exchange(
+                "/accounts", HttpMethod.POST, new HttpEntity<>(newAccount, as(123456L)), AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM account WHERE name = 'Orphaned Account'", Long.class)).isZero();
+    }
+
+    @Test
+    public void testGrantAndRevokeTakeEffectImmediately() {
+        PrincipalDto owner = createPrincipal("Owner");
+        PrincipalDto viewer = createPrincipal("Viewer");
+        AccountDto account = createTestAccount(owner.getId(), "Shared Account");
+
+        assertThat(getBalanceStatus(viewer.getId(), account.getId())).isEqualTo(HttpStatus.FORBIDDEN);
+
+        AccountGrantDto grant = new AccountGrantDto();
+        grant.setAccountId(account.getId());
+        grant.setPermission(Permission.VIEW);
+
+        // A principal without ADMIN on the account cannot grant access to it
+        ResponseEntity<AccountGrantDto> selfGrant = restTemplate.exchange(
+                "/principals/" + viewer.getId() + "/grants", HttpMethod.POST, new HttpEntity<>(grant, as(viewer.getId())), AccountGrantDto.class);
+        assertThat(selfGrant.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        ResponseEntity<AccountGrantDto> granted = restTemplate.exchange(
+                "/principals/" + viewer.getId() + "/grants", HttpMethod.POST, new HttpEntity<>(grant, as(owner.getId())), AccountGrantDto.class);
+        assertThat(granted.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        assertThat(getBalanceStatus(viewer.getId(), account.getId())).isEqualTo(HttpStatus.OK);
+
+        // VIEW does not allow changing the account
+        AccountDto update = new AccountDto();
+        update.setName("Renamed");
+        update.setCurrency("USD");
+        ResponseEntity<AccountDto> updateResponse = restTemplate.exchange(
+                "/accounts/" + account.getId(), HttpMethod.PUT, new HttpEntity<>(update, as(viewer.getId())), AccountDto.class);
+        assertThat(updateResponse.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        ResponseEntity<Void> revoked = restTemplate.exchange(
+                "/principals/" + viewer.getId() + "/grants?accountId=" + account.getId() + "&permission=VIEW",
+                HttpMethod.DELETE, new HttpEntity<>(as(owner.getId())), Void.class);
+        assertThat(revoked.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(getBalanceStatus(viewer.getId(), account.getId())).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void testAccountListIsFilteredByViewPermission() {
+        PrincipalDto first = createPrincipal("First");
+        PrincipalDto second = createPrincipal("Second");
+        AccountDto firstAccount = createTestAccount(first.getId(), "First Account");
+        createTestAccount(second.getId(), "Second Account");
+
+        ResponseEntity<List<AccountDto>> response = restTemplate.exchange(
+                "/accounts",
+                HttpMethod.GET,
+                new HttpEntity<>(as(first.getId())),
+                new ParameterizedTypeReference<List<AccountDto>>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(AccountDto::getId).containsExactly(firstAccount.getId());
+    }
+
+    @Test
+    public void testRestrictionsAreManagedByAdministrators() {
+        PrincipalDto owner = createPrincipal("Owner");
+        PrincipalDto other = createPrincipal("Other");
+        AccountDto account = createTestAccount(owner.getId(), "Limited Account");
+
+        ResponseEntity<RestrictionDto> foreign = restTemplate.exchange("/restrictions", HttpMethod.POST,
+                new HttpEntity<>(restriction(account.getId(), "50.00"), as(other.getId())), RestrictionDto.class);
+        assertThat(foreign.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        ResponseEntity<RestrictionDto> created = restTemplate.exchange("/restrictions", HttpMethod.POST,
+                new HttpEntity<>(restriction(account.getId(), "50.00"), as(owner.getId())), RestrictionDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String url = "/restrictions/" + created.getBody().getId();
+
+        // Another principal can neither change the rule nor move it to an account of its own
+        ResponseEntity<RestrictionDto> foreignUpdate = restTemplate.exchange(url, HttpMethod.PUT,
+                new HttpEntity<>(restriction(account.getId(), "5000.00"), as(other.getId())), RestrictionDto.class);
+        assertThat(foreignUpdate.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        ResponseEntity<Void> foreignDelete = restTemplate.exchange(url, HttpMethod.DELETE,
+                new HttpEntity<>(as(other.getId())), Void.class);
+        assertThat(foreignDelete.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        // Rules of no single account are reserved to system administrators
+        ResponseEntity<RestrictionDto> global = restTemplate.exchange("/restrictions", HttpMethod.POST,
+                new HttpEntity<>(restriction(null, "1000.00"), as(owner.getId())), RestrictionDto.class);
+        assertThat(global.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        ResponseEntity<RestrictionDto> widened = restTemplate.exchange(url, HttpMethod.PUT,
+                new HttpEntity<>(restriction(null, "1000.00"), as(owner.getId())), RestrictionDto.class);
+        assertThat(widened.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        ResponseEntity<RestrictionDto> adminGlobal = restTemplate.exchange("/restrictions", HttpMethod.POST,
+                new HttpEntity<>(restriction(null, "1000.00"), as(SYSTEM_ADMIN)), RestrictionDto.class);
+        assertThat(adminGlobal.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<Void> deleted = restTemplate.exchange(url, HttpMethod.DELETE,
+                new HttpEntity<>(as(owner.getId())), Void.class);
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    public void testAdministratorDeletesAccountWithItsGrantsAndRestrictions() {
+        PrincipalDto owner = createPrincipal("Owner");
+        AccountDto account = createTestAccount(owner.getId(), "Short-lived Account");
+
+        ResponseEntity<RestrictionDto> created = restTemplate.exchange("/restrictions", HttpMethod.POST,
+                new HttpEntity<>(restriction(account.getId(), "50.00"), as(owner.getId())), RestrictionDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<Void> deleted = restTemplate.exchange("/accounts/" + account.getId(), HttpMethod.DELETE,
+                new HttpEntity<>(as(owner.getId())), Void.class);
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        // The owner's cached permissions no longer include the account
+        ResponseEntity<List<AccountGrantDto>> grants = restTemplate.exchange(
+                "/principals/" + owner.getId() + "/grants",
+                HttpMethod.GET,
+                new HttpEntity<>(as(owner.getId())),
+                new ParameterizedTypeReference<List<AccountGrantDto>>() {});
+        assertThat(grants.getBody()).isEmpty();
+        assertThat(getBalanceStatus(owner.getId(), account.getId())).isEqualTo(HttpStatus.FORBIDDEN);
+
+        ResponseEntity<String> restriction = restTemplate.exchange("/restrictions/" + created.getBody().getId(),
+                HttpMethod.GET, new HttpEntity<>(as(SYSTEM_ADMIN)), String.class);
+        assertThat(restriction.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    public void testOperationalEndpointsAreReservedToSystemAdministrators() {
+        PrincipalDto owner = createPrincipal("Owner");
+        createTestAccount(owner.getId(), "Busy Account");
+
+        for (String url : List.of("/admin/hot-accounts", "/admin/slow-requests")) {
+            assertThat(restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(as(owner.getId())), String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+            assertThat(restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(as(SYSTEM_ADMIN)), String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        ResponseEntity<String> reconciliation = restTemplate.exchange("/reconciliation/runs", HttpMethod.POST,
+                new HttpEntity<>(as(owner.getId())), String.class);
+        assertThat(reconciliation.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        ResponseEntity<String> backfill = restTemplate.exchange("/aggregates/daily/backfill?from=2024-01-01&to=2024-01-02",
+                HttpMethod.POST, new HttpEntity<>(as(owner.getId())), String.class);
+        assertThat(backfill.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    public void testPrincipalsAreVisibleToThemselvesAndSystemAdministrators() {
+        PrincipalDto owner = createPrincipal("Owner");
+        PrincipalDto other = createPrincipal("Other");
+
+        PrincipalDto principal = new PrincipalDto();
+        principal.setName("Self-made");
+        ResponseEntity<PrincipalDto> created = restTemplate.exchange(
+                "/principals", HttpMethod.POST, new HttpEntity<>(principal, as(owner.getId())), PrincipalDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+
+        for (String url : List.of("/principals/" + owner.getId(), "/principals/" + owner.getId() + "/grants")) {
+            assertThat(restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(as(owner.getId())), String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(as(other.getId())), String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+            assertThat(restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(as(SYSTEM_ADMIN)), String.class)
+                    .getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.mapper.AccountMapper;
+import net.tislib.walletapp.mapper.TransactionMapper;
+import net.tislib.walletapp.repository.AccountRepository;
+import net.tislib.walletapp.repository.TransactionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Latency and allocation of large listings read as managed entities and mapped by MapStruct, versus
+ * selected straight into DTOs by constructor expressions. Allocation is measured on the calling thread,
+ * which is where Hibernate builds the results. Run with {@code ./gradlew loadTest}; excluded from the
+ * regular test task.
+ */
+@Tag("benchmark")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+public class ReadPathLoadHarness {
+
+    private static final int ACCOUNTS = 10000;
+    private static final int TRANSACTIONS = 10000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountMapper accountMapper;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private TransactionTemplate readOnlyTemplate;
+
+    @Test
+    public void compareEntityAndProjectionReads() {
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+
+        jdbcTemplate.update("INSERT INTO account (name, currency, created_at) " +
+                "SELECT 'Read path ' || n, 'USD', now() FROM generate_series(1, ?) n", ACCOUNTS);
+        long accountId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM account", Long.class);
+        jdbcTemplate.update("INSERT INTO transaction (type, status, account_id, transaction_data, created_at) " +
+                "SELECT 'DEPOSIT', 'DONE', ?, jsonb_build_object('type', 'DEPOSIT', 'amount', n % 1000 + 0.5, " +
+                "'description', 'Deposit ' || n), now() FROM generate_series(1, ?) n", accountId, TRANSACTIONS);
+        jdbcTemplate.execute("VACUUM ANALYZE account");
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+
+        System.out.printf("%-26s %10s %10s %14s%n", "read", "p50 ms", "p99 ms", "alloc KB/op");
+        run("transactions (entities)", () -> transactionMapper.toDtoList(transactionRepository.findByAccountId(accountId)));
+        run("transactions (projection)", () -> transactionMapper.toDtoListFromRows(transactionRepository.findRowsByAccountId(accountId)));
+        run("accounts (entities)", () -> accountMapper.toDtoList(accountRepository.findAll()));
+        run("accounts (projection)", () -> accountRepository.findAllAsDtos());
+    }
+
+    private void run(String name, Supplier<List<?>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            readOnly(read);
+        }
+
+        long[] latencies = new long[ITERATIONS];
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            readOnly(read);
+            latencies[i] = System.nanoTime() - start;
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-26s %10.2f %10.2f %14.1f%n", name, latencies[ITERATIONS / 2] / 1e6,
+                latencies[ITERATIONS * 99 / 100] / 1e6, allocated / 1024.0 / ITERATIONS);
+    }
+
+    // Helper method to read in a read-only transaction, like the services do
+    private void readOnly(Supplier<List<?>> read) {
+        readOnlyTemplate.execute(status -> read.get().size());
+    }
+}
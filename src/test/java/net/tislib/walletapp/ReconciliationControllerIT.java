@@ -0,0 +1,203 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.ReconciliationMismatchDto;
+import net.tislib.walletapp.dto.ReconciliationRequest;
+import net.tislib.walletapp.dto.ReconciliationRunDto;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.model.MismatchKind;
+import net.tislib.walletapp.model.ReconciliationStatus;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.service.FxRateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReconciliationControllerIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name, String currency) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency(currency);
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create and execute a transaction
+    private void createAndExecute(Long accountId, TransactionType type, TransactionData data) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(type);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(data);
+
+        ResponseEntity<TransactionDto> created = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        ResponseEntity<TransactionDto> executed = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions/" + created.getBody().getId() + "/execute", null, TransactionDto.class);
+        assertThat(executed.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    // Helper method to poll a run until it leaves the RUNNING state
+    private ReconciliationRunDto awaitRun(Long runId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ResponseEntity<ReconciliationRunDto> response = restTemplate.getForEntity(
+                    "/reconciliation/runs/" + runId, ReconciliationRunDto.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            if (response.getBody().getStatus() != ReconciliationStatus.RUNNING) {
+                return response.getBody();
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Reconciliation run did not finish: " + runId);
+    }
+
+    @Test
+    public void testReconciliationOfConsistentLedger() throws InterruptedException {
+        AccountDto source = createTestAccount("Source Account", "USD");
+        AccountDto destination = createTestAccount("Destination Account", "USD");
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("100.00"));
+        createAndExecute(source.getId(), TransactionType.DEPOSIT, deposit);
+
+        TransferTransactionData transfer = new TransferTransactionData();
+        transfer.setDestinationAccountId(destination.getId());
+        transfer.setAmount(new BigDecimal("40.00"));
+        createAndExecute(source.getId(), TransactionType.TRANSFER, transfer);
+
+        // Use a chunk size of one so the run spans several parallel waves
+        ReconciliationRequest request = new ReconciliationRequest();
+        request.setChunkSize(1);
+        request.setParallelism(2);
+
+        ResponseEntity<ReconciliationRunDto> response = restTemplate.postForEntity(
+                "/reconciliation/runs", request, ReconciliationRunDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+
+        ReconciliationRunDto run = awaitRun(response.getBody().getId());
+
+        assertThat(run.getStatus()).isEqualTo(ReconciliationStatus.COMPLETED);
+        assertThat(run.getAccountsChecked()).isGreaterThanOrEqualTo(2L);
+        assertThat(run.getMismatchCount()).isZero();
+        assertThat(run.getTransfersOut()).isEqualByComparingTo(new BigDecimal("40.00"));
+        assertThat(run.getTransfersIn()).isEqualByComparingTo(new BigDecimal("40.00"));
+
+        ResponseEntity<List<ReconciliationMismatchDto>> mismatches = restTemplate.exchange(
+                "/reconciliation/runs/" + run.getId() + "/mismatches",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<ReconciliationMismatchDto>>() {});
+
+        assertThat(mismatches.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(mismatches.getBody()).isEmpty();
+    }
+
+    @Test
+    public void testCrossCurrencyTransferReconcilesOnSourceAmounts() throws InterruptedException {
+        jdbcTemplate.update("INSERT INTO fx_rate (base_currency, quote_currency, rate) VALUES ('USD', 'EUR', 0.9234)");
+        fxRateService.refresh();
+
+        AccountDto source = createTestAccount("USD Source Account", "USD");
+        AccountDto destination = createTestAccount("EUR Destination Account", "EUR");
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("100.00"));
+        createAndExecute(source.getId(), TransactionType.DEPOSIT, deposit);
+
+        TransferTransactionData transfer = new TransferTransactionData();
+        transfer.setDestinationAccountId(destination.getId());
+        transfer.setAmount(new BigDecimal("10.00"));
+        createAndExecute(source.getId(), TransactionType.TRANSFER, transfer);
+
+        ReconciliationRequest request = new ReconciliationRequest();
+        request.setChunkSize(1);
+        request.setParallelism(2);
+
+        ResponseEntity<ReconciliationRunDto> response = restTemplate.postForEntity(
+                "/reconciliation/runs", request, ReconciliationRunDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+
+        // The destination is credited 9.23 EUR, the totals compare the 10.00 USD debited
+        ReconciliationRunDto run = awaitRun(response.getBody().getId());
+        assertThat(run.getStatus()).isEqualTo(ReconciliationStatus.COMPLETED);
+        assertThat(run.getMismatchCount()).isZero();
+        assertThat(run.getTransfersOut()).isEqualByComparingTo(new BigDecimal("10.00"));
+        assertThat(run.getTransfersIn()).isEqualByComparingTo(new BigDecimal("10.00"));
+    }
+
+    @Test
+    public void testCorruptedPostingIsReported() throws InterruptedException {
+        AccountDto account = createTestAccount("Corrupted Account", "USD");
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("100.00"));
+        createAndExecute(account.getId(), TransactionType.DEPOSIT, deposit);
+
+        // Tamper with the posting behind the transaction table's back
+        jdbcTemplate.update("UPDATE posting SET amount = 90.00 WHERE account_id = ?", account.getId());
+
+        ResponseEntity<ReconciliationRunDto> response = restTemplate.postForEntity(
+                "/reconciliation/runs", new ReconciliationRequest(), ReconciliationRunDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+
+        ReconciliationRunDto run = awaitRun(response.getBody().getId());
+        assertThat(run.getStatus()).isEqualTo(ReconciliationStatus.COMPLETED);
+        assertThat(run.getMismatchCount()).isEqualTo(1L);
+
+        ResponseEntity<List<ReconciliationMismatchDto>> mismatches = restTemplate.exchange(
+                "/reconciliation/runs/" + run.getId() + "/mismatches",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<ReconciliationMismatchDto>>() {});
+
+        assertThat(mismatches.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(mismatches.getBody()).hasSize(1);
+        ReconciliationMismatchDto mismatch = mismatches.getBody().get(0);
+        assertThat(mismatch.getAccountId()).isEqualTo(account.getId());
+        assertThat(mismatch.getKind()).isEqualTo(MismatchKind.POSTING_BALANCE_MISMATCH);
+        assertThat(mismatch.getExpected()).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(mismatch.getActual()).isEqualByComparingTo(new BigDecimal("90.00"));
+    }
+
+    @Test
+    public void testGetRun_NotFound() {
+        ResponseEntity<ReconciliationRunDto> response = restTemplate.getForEntity(
+                "/reconciliation/runs/999", ReconciliationRunDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
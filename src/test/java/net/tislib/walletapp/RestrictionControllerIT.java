@@ -0,0 +1,142 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.RestrictionDto;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.model.RestrictionType;
+import net.tislib.walletapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class RestrictionControllerIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name, String currency) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency(currency);
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create a restriction
+    private RestrictionDto createRestriction(RestrictionType type, Long accountId, String currency, String limit) {
+        RestrictionDto restriction = new RestrictionDto();
+        restriction.setType(type);
+        restriction.setAccountId(accountId);
+        restriction.setCurrency(currency);
+        restriction.setLimitValue(new BigDecimal(limit));
+
+        ResponseEntity<RestrictionDto> response = restTemplate.postForEntity(
+                "/restrictions", restriction, RestrictionDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create and execute a transaction, returning the execute status
+    private HttpStatusCode createAndExecute(Long accountId, TransactionType type, TransactionData data) {
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(type);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(data);
+
+        ResponseEntity<TransactionDto> created = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        return restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions/" + created.getBody().getId() + "/execute", null, String.class)
+                .getStatusCode();
+    }
+
+    private WithdrawTransactionData withdraw(String amount) {
+        WithdrawTransactionData withdrawData = new WithdrawTransactionData();
+        withdrawData.setAmount(new BigDecimal(amount));
+        return withdrawData;
+    }
+
+    @Test
+    public void testMaxSingleWithdrawal() {
+        AccountDto account = createTestAccount("Restricted Account", "USD");
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("100.00"));
+        assertThat(createAndExecute(account.getId(), TransactionType.DEPOSIT, deposit)).isEqualTo(HttpStatus.OK);
+
+        createRestriction(RestrictionType.MAX_SINGLE_WITHDRAWAL, account.getId(), null, "50.00");
+
+        assertThat(createAndExecute(account.getId(), TransactionType.WITHDRAW, withdraw("60.00"))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(createAndExecute(account.getId(), TransactionType.WITHDRAW, withdraw("30.00"))).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void testDailyOutgoingLimitPerCurrency() {
+        AccountDto account = createTestAccount("Daily Limit Account", "EUR");
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("100.00"));
+        assertThat(createAndExecute(account.getId(), TransactionType.DEPOSIT, deposit)).isEqualTo(HttpStatus.OK);
+
+        // An execution before the rule exists must be counted once the window is seeded
+        assertThat(createAndExecute(account.getId(), TransactionType.WITHDRAW, withdraw("20.00"))).isEqualTo(HttpStatus.OK);
+
+        createRestriction(RestrictionType.DAILY_OUTGOING_LIMIT, null, "EUR", "45.00");
+
+        assertThat(createAndExecute(account.getId(), TransactionType.WITHDRAW, withdraw("20.00"))).isEqualTo(HttpStatus.OK);
+        assertThat(createAndExecute(account.getId(), TransactionType.WITHDRAW, withdraw("10.00"))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(createAndExecute(account.getId(), TransactionType.WITHDRAW, withdraw("5.00"))).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void testDeletingRestrictionTakesEffectImmediately() {
+        AccountDto account = createTestAccount("Unrestricted Account", "USD");
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("100.00"));
+        assertThat(createAndExecute(account.getId(), TransactionType.DEPOSIT, deposit)).isEqualTo(HttpStatus.OK);
+
+        RestrictionDto restriction = createRestriction(RestrictionType.MAX_SINGLE_WITHDRAWAL, null, null, "10.00");
+        assertThat(createAndExecute(account.getId(), TransactionType.WITHDRAW, withdraw("20.00"))).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        restTemplate.delete("/restrictions/" + restriction.getId());
+
+        assertThat(createAndExecute(account.getId(), TransactionType.WITHDRAW, withdraw("20.00"))).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void testCreateRestrictionWithBothScopes() {
+        RestrictionDto restriction = new RestrictionDto();
+        restriction.setType(RestrictionType.MAX_SINGLE_TRANSFER);
+        restriction.setAccountId(1L);
+        restriction.setCurrency("USD");
+        restriction.setLimitValue(new BigDecimal("10.00"));
+
+        ResponseEntity<RestrictionDto> response = restTemplate.postForEntity(
+                "/restrictions", restriction, RestrictionDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
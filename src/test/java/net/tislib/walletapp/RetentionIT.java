@@ -0,0 +1,116 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.config.RetentionProperties;
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.service.RetentionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"wallet.retention.enabled=false", "wallet.retention.chunk-size=2", "wallet.retention.chunk-pause=1ms"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class RetentionIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private RetentionProperties retentionProperties;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to insert a deposit last changed the given number of days ago
+    private long insertDeposit(Long accountId, String status, int daysAgo) {
+        return jdbcTemplate.queryForObject("INSERT INTO transaction (type, status, account_id, transaction_data, created_at, updated_at) " +
+                "VALUES ('DEPOSIT', ?, ?, '{\"type\": \"DEPOSIT\", \"amount\": 10}', " +
+                "now() - make_interval(days => ?), now() - make_interval(days => ?)) RETURNING id",
+                Long.class, status, accountId, daysAgo, daysAgo);
+    }
+
+    // Helper method to read the status of a transaction, null when it is gone
+    private String statusOf(long id) {
+        List<String> statuses = jdbcTemplate.queryForList("SELECT status FROM transaction WHERE id = ?", String.class, id);
+        return statuses.isEmpty() ? null : statuses.get(0);
+    }
+
+    @Test
+    public void testCleanupExpiresPendingAndArchivesFailedTransactions() {
+        AccountDto account = createTestAccount("Retention Account");
+        List<Long> abandoned = List.of(
+                insertDeposit(account.getId(), "PENDING", 2),
+                insertDeposit(account.getId(), "PENDING", 3),
+                insertDeposit(account.getId(), "PENDING", 4),
+                insertDeposit(account.getId(), "PENDING", 5),
+                insertDeposit(account.getId(), "PENDING", 6));
+        long recentPending = insertDeposit(account.getId(), "PENDING", 0);
+        long oldFailed = insertDeposit(account.getId(), "FAILED", 40);
+        long recentFailed = insertDeposit(account.getId(), "FAILED", 1);
+        long oldDone = insertDeposit(account.getId(), "DONE", 400);
+
+        String listing = "/accounts/" + account.getId() + "/transactions";
+        String eTagBefore = restTemplate.getForEntity(listing, String.class).getHeaders().getETag();
+
+        RetentionService.CleanupResult result = retentionService.cleanup();
+
+        // Five abandoned rows over chunks of two
+        assertThat(result.expired()).isEqualTo(5);
+        assertThat(result.removed()).isEqualTo(1);
+        for (long id : abandoned) {
+            assertThat(statusOf(id)).isEqualTo("FAILED");
+            assertThat(jdbcTemplate.queryForObject("SELECT version FROM transaction WHERE id = ?", Long.class, id)).isEqualTo(1L);
+        }
+        assertThat(statusOf(recentPending)).isEqualTo("PENDING");
+        assertThat(statusOf(recentFailed)).isEqualTo("FAILED");
+        assertThat(statusOf(oldDone)).isEqualTo("DONE");
+
+        assertThat(statusOf(oldFailed)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM transaction_archive WHERE id = ?", String.class, oldFailed))
+                .isEqualTo("FAILED");
+
+        // Listings cached by clients are revalidated
+        assertThat(restTemplate.getForEntity(listing, String.class).getHeaders().getETag()).isNotEqualTo(eTagBefore);
+
+        // The expired rows are kept until their own retention has passed
+        assertThat(retentionService.cleanup()).isEqualTo(new RetentionService.CleanupResult(0, 0));
+    }
+
+    @Test
+    public void testCleanupCanDeleteInsteadOfArchiving() {
+        AccountDto account = createTestAccount("Delete Retention Account");
+        long oldFailed = insertDeposit(account.getId(), "FAILED", 40);
+        retentionProperties.setFailedAction(RetentionProperties.FailedAction.DELETE);
+
+        assertThat(retentionService.cleanup().removed()).isEqualTo(1);
+        assertThat(statusOf(oldFailed)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_archive", Long.class)).isZero();
+    }
+}
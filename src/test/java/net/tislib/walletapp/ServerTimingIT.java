@@ -0,0 +1,123 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.SlowRequestDto;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.timing.ServerTiming;
+import net.tislib.walletapp.timing.SlowRequestLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"wallet.statement-stats.enabled=true", "wallet.server-timing.enabled=true",
+                "wallet.server-timing.slow-threshold=0ms", "wallet.server-timing.slow-log-size=2"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ServerTimingIT {
+
+    private static final String ENTRY = "[a-z]+;dur=\\d+\\.\\d{3}(;desc=\"[^\"]*\")?";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create a deposit transaction
+    private TransactionDto createDeposit(Long accountId, BigDecimal amount) {
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(amount);
+
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(TransactionType.DEPOSIT);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(depositData);
+
+        ResponseEntity<TransactionDto> response = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to read the names of the entries in a Server-Timing header
+    private List<String> phases(ResponseEntity<?> response) {
+        String header = response.getHeaders().getFirst(ServerTiming.HEADER);
+        assertThat(header).matches(ENTRY + "(, " + ENTRY + ")*");
+        return List.of(header.split(", ")).stream().map(entry -> entry.substring(0, entry.indexOf(';'))).toList();
+    }
+
+    @Test
+    public void testExecuteReportsItsPhases() {
+        AccountDto account = createTestAccount("Timed Account");
+        TransactionDto deposit = createDeposit(account.getId(), new BigDecimal("10.00"));
+
+        ResponseEntity<TransactionDto> executed = restTemplate.postForEntity(
+                "/accounts/" + account.getId() + "/transactions/" + deposit.getId() + "/execute", null, TransactionDto.class);
+        assertThat(executed.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(phases(executed)).contains("conn", "sql", "handler", "repo", "lock", "restrictions", "balance")
+                .endsWith("total");
+        assertThat(executed.getHeaders().getFirst(ServerTiming.HEADER)).containsPattern("sql;dur=[0-9.]+;desc=\"\\d+ statements\"");
+
+        // Responses without a body are timed as well
+        String transactionUrl = "/accounts/" + account.getId() + "/transactions/" + deposit.getId();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(restTemplate.getForEntity(transactionUrl, String.class).getHeaders().getETag());
+        ResponseEntity<String> notModified = restTemplate.exchange(
+                transactionUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(phases(notModified)).contains("handler", "total");
+    }
+
+    @Test
+    public void testSlowRequestsAreKeptMostRecentFirst() throws InterruptedException {
+        AccountDto account = createTestAccount("Slow Account");
+        createDeposit(account.getId(), new BigDecimal("5.00"));
+        restTemplate.getForEntity("/accounts/" + account.getId() + "/balance", BigDecimal.class);
+
+        // The log is written once the response has been sent
+        for (int i = 0; i < 50 && slowRequestLog.getEntries().stream().noneMatch(entry -> entry.getMethod().equals("GET")); i++) {
+            Thread.sleep(20);
+        }
+
+        ResponseEntity<List<SlowRequestDto>> slow = restTemplate.exchange("/admin/slow-requests", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<SlowRequestDto>>() {});
+        assertThat(slow.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // The account creation was dropped; the listing itself completes after being read
+        assertThat(slow.getBody()).extracting(SlowRequestDto::getMethod).containsExactly("GET", "POST");
+        SlowRequestDto balance = slow.getBody().get(0);
+        assertThat(balance.getUri()).isEqualTo("/accounts/" + account.getId() + "/balance");
+        assertThat(balance.getStatus()).isEqualTo(200);
+        assertThat(balance.getStatements()).isPositive();
+        assertThat(balance.getPhasesMs()).containsKeys("handler", "repo", "serialize");
+        assertThat(balance.getDurationMs()).isGreaterThanOrEqualTo(balance.getPhasesMs().get("handler"));
+    }
+}
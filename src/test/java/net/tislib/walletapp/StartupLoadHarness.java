@@ -0,0 +1,163 @@
+package net.tislib.walletapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time to the first successful request and resident memory of the packaged application, started as is
+ * and with Spring AOT, the {@code fast-startup} profile and an AppCDS archive from a training run. RSS is
+ * read from {@code /proc}, so it is only reported on Linux. Run with {@code ./gradlew loadTest}; excluded
+ * from the regular test task.
+ */
+@Tag("benchmark")
+public class StartupLoadHarness {
+
+    private static final int RUNS = 5;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+
+    @TempDir
+    Path directory;
+
+    private List<String> datasource;
+
+    @Test
+    public void compareStartupModes() throws Exception {
+        Path bootJar = Path.of(System.getProperty("wallet.boot-jar"));
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"))) {
+            postgres.start();
+            datasource = List.of("--spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "--spring.datasource.username=" + postgres.getUsername(),
+                    "--spring.datasource.password=" + postgres.getPassword());
+
+            // The archive only applies to a classpath of plain jars, so the boot jar is extracted first
+            Path extracted = directory.resolve("extracted");
+            run("extract", List.of(java, "-Djarmode=tools", "-jar", bootJar.toString(), "extract",
+                    "--destination", extracted.toString()));
+            Path application = extracted.resolve(bootJar.getFileName());
+            Path archive = directory.resolve("wallet-app.jsa");
+            List<String> optimized = List.of("-Dspring.aot.enabled=true", "-Dspring.profiles.active=fast-startup");
+
+            // The default mode runs first, it applies the migrations that the fast-startup profile skips
+            System.out.printf("%-10s %12s %12s%n", "mode", "p50 ms", "p50 RSS MB");
+            measure("default", List.of(java, "-jar", bootJar.toString()));
+
+            // Training run: refresh the context once and write the loaded classes to the archive
+            List<String> training = new ArrayList<>(List.of(java, "-XX:ArchiveClassesAtExit=" + archive));
+            training.addAll(optimized);
+            training.addAll(List.of("-Dspring.context.exit=onRefresh", "-jar", application.toString()));
+            training.addAll(datasource);
+            run("training", training);
+
+            List<String> aot = new ArrayList<>(List.of(java));
+            aot.addAll(optimized);
+            aot.addAll(List.of("-jar", application.toString()));
+            measure("aot", aot);
+
+            List<String> aotCds = new ArrayList<>(List.of(java, "-XX:SharedArchiveFile=" + archive));
+            aotCds.addAll(optimized);
+            aotCds.addAll(List.of("-jar", application.toString()));
+            measure("aot+cds", aotCds);
+        }
+    }
+
+    // Helper method to run a command to completion
+    private void run(String name, List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(directory.resolve(name + ".log").toFile())
+                .start();
+        assertThat(process.waitFor(STARTUP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(process.exitValue()).as("exit code of %s, see %s.log", name, name).isZero();
+    }
+
+    private void measure(String mode, List<String> command) throws Exception {
+        long[] startupNanos = new long[RUNS];
+        long[] rssKilobytes = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            int port = freePort();
+            List<String> arguments = new ArrayList<>(command);
+            arguments.addAll(datasource);
+            arguments.add("--server.port=" + port);
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(arguments)
+                    .redirectErrorStream(true)
+                    .redirectOutput(directory.resolve(mode + "-" + i + ".log").toFile())
+                    .start();
+            try {
+                awaitFirstSuccessfulRequest(process, port);
+                startupNanos[i] = System.nanoTime() - start;
+                rssKilobytes[i] = readRssKilobytes(process.pid());
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+
+        Arrays.sort(startupNanos);
+        Arrays.sort(rssKilobytes);
+        long rss = rssKilobytes[RUNS / 2];
+        System.out.printf("%-10s %12.1f %12s%n", mode, startupNanos[RUNS / 2] / 1e6,
+                rss >= 0 ? String.format("%.1f", rss / 1024.0) : "n/a");
+    }
+
+    // Helper method to poll a read endpoint until it answers, which needs the web server, JPA and the DB
+    private void awaitFirstSuccessfulRequest(Process process, int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/accounts")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(process.isAlive()).as("application exited during startup").isTrue();
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("Application did not answer within " + STARTUP_TIMEOUT);
+    }
+
+    private static long readRssKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim());
+            }
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
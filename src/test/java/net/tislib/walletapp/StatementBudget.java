@@ -0,0 +1,33 @@
+package net.tislib.walletapp;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test if a request to the endpoint executed more SQL statements than allowed, or if
+ * the test made no such request. The endpoint is given as the method and the URI pattern of its mapping.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(StatementBudget.List.class)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudget {
+
+    String method();
+
+    String uri();
+
+    int maxStatements();
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @ExtendWith(StatementBudgetExtension.class)
+    @interface List {
+        StatementBudget[] value();
+    }
+}
@@ -0,0 +1,56 @@
+package net.tislib.walletapp;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.tislib.walletapp.jdbc.StatementStatsFilter;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks {@link StatementBudget}s against the per-request statement metrics of the test's application
+ * context. Runs before the context is closed by {@code @DirtiesContext}.
+ */
+class StatementBudgetExtension implements AfterEachCallback {
+
+    private static final long SETTLE_TIMEOUT_MILLIS = 5000;
+
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        List<StatementBudget> budgets = AnnotationSupport.findRepeatableAnnotations(
+                context.getRequiredTestMethod(), StatementBudget.class);
+        if (budgets.isEmpty()) {
+            return;
+        }
+
+        ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+        MeterRegistry meterRegistry = applicationContext.getBean(MeterRegistry.class);
+        awaitRecordedRequests(applicationContext.getBean(StatementStatsFilter.class));
+
+        for (StatementBudget budget : budgets) {
+            DistributionSummary statements = meterRegistry.find("wallet.request.sql.statements")
+                    .tags("method", budget.method(), "uri", budget.uri())
+                    .summary();
+            assertThat(statements)
+                    .as("no %s %s request was made", budget.method(), budget.uri())
+                    .isNotNull();
+            assertThat(statements.max())
+                    .as("SQL statements of one %s %s request", budget.method(), budget.uri())
+                    .isLessThanOrEqualTo(budget.maxStatements());
+        }
+    }
+
+    // Helper method to wait until requests whose responses were already read have recorded their totals
+    private void awaitRecordedRequests(StatementStatsFilter filter) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT_MILLIS;
+        while (filter.activeRequests() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
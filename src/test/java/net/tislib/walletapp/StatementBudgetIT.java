@@ -0,0 +1,80 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.jdbc.StatementStatsHeaderAdvice;
+import net.tislib.walletapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"wallet.statement-stats.enabled=true", "wallet.statement-stats.debug-header=true"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class StatementBudgetIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create a deposit transaction
+    private TransactionDto createDeposit(Long accountId, BigDecimal amount) {
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(amount);
+
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(TransactionType.DEPOSIT);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(depositData);
+
+        ResponseEntity<TransactionDto> response = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    @Test
+    @StatementBudget(method = "POST", uri = "/accounts", maxStatements = 1)
+    @StatementBudget(method = "POST", uri = "/accounts/{accountId}/transactions", maxStatements = 2)
+    @StatementBudget(method = "POST", uri = "/accounts/{accountId}/transactions/{id}/execute", maxStatements = 5)
+    @StatementBudget(method = "GET", uri = "/accounts/{id}/balance", maxStatements = 2)
+    public void testDepositFlowStaysWithinStatementBudgets() {
+        AccountDto account = createTestAccount("Budget Account");
+        TransactionDto deposit = createDeposit(account.getId(), new BigDecimal("10.00"));
+
+        ResponseEntity<TransactionDto> executed = restTemplate.postForEntity(
+                "/accounts/" + account.getId() + "/transactions/" + deposit.getId() + "/execute", null, TransactionDto.class);
+        assertThat(executed.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<BigDecimal> balance = restTemplate.getForEntity(
+                "/accounts/" + account.getId() + "/balance", BigDecimal.class);
+        assertThat(balance.getBody()).isEqualByComparingTo(new BigDecimal("10.00"));
+
+        // Debug mode reports the totals of the request in a header
+        assertThat(balance.getHeaders().getFirst(StatementStatsHeaderAdvice.HEADER))
+                .matches("statements=\\d+; rows=\\d+; time=[0-9.]+ms");
+    }
+}
@@ -3,10 +3,12 @@ package net.tislib.walletapp;
 import net.tislib.walletapp.dto.AccountDto;
 import net.tislib.walletapp.dto.DepositTransactionData;
 import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.TransactionPageDto;
 import net.tislib.walletapp.dto.TransferTransactionData;
 import net.tislib.walletapp.dto.WithdrawTransactionData;
 import net.tislib.walletapp.model.TransactionStatus;
 import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.service.FxRateService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -14,10 +16,14 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,6 +35,12 @@ public class TransactionControllerIT {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FxRateService fxRateService;
+
     // Helper method to create a test account
     private AccountDto createTestAccount(String name, String currency) {
         AccountDto newAccount = new AccountDto();
@@ -127,6 +139,17 @@ public class TransactionControllerIT {
         return response.getBody();
     }
 
+    // Helper method to search the transactions of an account
+    private TransactionPageDto searchTransactions(Long accountId, String query) {
+        ResponseEntity<TransactionPageDto> response = restTemplate.getForEntity(
+                "/accounts/" + accountId + "/transactions/search?" + query, TransactionPageDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+
+        return response.getBody();
+    }
+
     @Test
     public void testCreateTransaction() {
         // Create a test account
@@ -415,4 +438,308 @@ public class TransactionControllerIT {
         // Should return a bad request status
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
+
+    @Test
+    public void testShardedAccountBalance() {
+        AccountDto sourceAccount = createTestAccount("Customer Account", "USD");
+
+        // Create a sharded merchant account
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName("Merchant Account");
+        newAccount.setCurrency("USD");
+        newAccount.setBalanceSlots(4);
+        ResponseEntity<AccountDto> created = restTemplate.postForEntity("/accounts", newAccount, AccountDto.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        AccountDto merchantAccount = created.getBody();
+        assertThat(merchantAccount.getBalanceSlots()).isEqualTo(4);
+
+        TransactionDto depositTransaction = createDepositTransaction(sourceAccount.getId(), new BigDecimal("1000.00"), "Initial deposit");
+        executeTransaction(sourceAccount.getId(), depositTransaction.getId());
+
+        // Credits land in different slots and are summed back into one balance
+        for (int i = 0; i < 10; i++) {
+            TransactionDto transfer = createTransferTransaction(
+                    sourceAccount.getId(), merchantAccount.getId(), new BigDecimal("50.00"), "Payment " + i);
+            executeTransaction(sourceAccount.getId(), transfer.getId());
+        }
+        assertThat(getAccountBalance(merchantAccount.getId())).isEqualByComparingTo(new BigDecimal("500.00"));
+
+        // A debit that no single slot may cover falls back to sweeping the slots
+        TransactionDto withdrawTransaction = createWithdrawTransaction(merchantAccount.getId(), new BigDecimal("480.00"), "Payout");
+        executeTransaction(merchantAccount.getId(), withdrawTransaction.getId());
+        assertThat(getAccountBalance(merchantAccount.getId())).isEqualByComparingTo(new BigDecimal("20.00"));
+
+        TransactionDto overdraft = createWithdrawTransaction(merchantAccount.getId(), new BigDecimal("30.00"), "Overdraft");
+        ResponseEntity<TransactionDto> response = restTemplate.postForEntity(
+                "/accounts/" + merchantAccount.getId() + "/transactions/" + overdraft.getId() + "/execute",
+                null,
+                TransactionDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(getAccountBalance(merchantAccount.getId())).isEqualByComparingTo(new BigDecimal("20.00"));
+    }
+
+    @Test
+    public void testCrossCurrencyTransferIsConverted() {
+        AccountDto usdAccount = createTestAccount("Dollar Account", "USD");
+        AccountDto eurAccount = createTestAccount("Euro Account", "EUR");
+        TransactionDto deposit = createDepositTransaction(usdAccount.getId(), new BigDecimal("100.00"), "Deposit");
+        executeTransaction(usdAccount.getId(), deposit.getId());
+
+        // Without a rate the transfer fails and nothing moves
+        TransactionDto unpriced = createTransferTransaction(usdAccount.getId(), eurAccount.getId(), new BigDecimal("10.00"), "Unpriced");
+        ResponseEntity<String> rejected = restTemplate.postForEntity(
+                "/accounts/" + usdAccount.getId() + "/transactions/" + unpriced.getId() + "/execute", null, String.class);
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(getAccountBalance(eurAccount.getId())).isEqualByComparingTo(BigDecimal.ZERO);
+
+        jdbcTemplate.update("INSERT INTO fx_rate (base_currency, quote_currency, rate) VALUES ('USD', 'EUR', 0.9234)");
+        fxRateService.refresh();
+
+        // The credited amount is rounded down to cents and recorded with the rate
+        TransactionDto transfer = createTransferTransaction(usdAccount.getId(), eurAccount.getId(), new BigDecimal("10.00"), "Converted");
+        TransferTransactionData executed = (TransferTransactionData) executeTransaction(usdAccount.getId(), transfer.getId()).getData();
+        assertThat(executed.getRate()).isEqualByComparingTo(new BigDecimal("0.9234"));
+        assertThat(executed.getDestinationAmount()).isEqualByComparingTo(new BigDecimal("9.23"));
+        assertThat(getAccountBalance(usdAccount.getId())).isEqualByComparingTo(new BigDecimal("90.00"));
+        assertThat(getAccountBalance(eurAccount.getId())).isEqualByComparingTo(new BigDecimal("9.23"));
+
+        // Each side is posted in its own currency
+        List<Map<String, Object>> postings = jdbcTemplate.queryForList(
+                "SELECT account_id, amount FROM posting WHERE transaction_id = ? ORDER BY leg", transfer.getId());
+        assertThat(postings).hasSize(2);
+        assertThat(((Number) postings.get(0).get("account_id")).longValue()).isEqualTo(usdAccount.getId());
+        assertThat((BigDecimal) postings.get(0).get("amount")).isEqualByComparingTo(new BigDecimal("-10.00"));
+        assertThat(((Number) postings.get(1).get("account_id")).longValue()).isEqualTo(eurAccount.getId());
+        assertThat((BigDecimal) postings.get(1).get("amount")).isEqualByComparingTo(new BigDecimal("9.23"));
+
+        // The opposite direction is quoted through the inverse rate
+        TransactionDto back = createTransferTransaction(eurAccount.getId(), usdAccount.getId(), new BigDecimal("1.00"), "Back");
+        TransferTransactionData executedBack = (TransferTransactionData) executeTransaction(eurAccount.getId(), back.getId()).getData();
+        assertThat(executedBack.getDestinationAmount()).isEqualByComparingTo(new BigDecimal("1.08"));
+        assertThat(getAccountBalance(eurAccount.getId())).isEqualByComparingTo(new BigDecimal("8.23"));
+        assertThat(getAccountBalance(usdAccount.getId())).isEqualByComparingTo(new BigDecimal("91.08"));
+    }
+
+    @Test
+    public void testAmountFinerThanCurrencyMinorUnitIsRejected() {
+        AccountDto usdAccount = createTestAccount("Cents Account", "USD");
+        AccountDto jpyAccount = createTestAccount("Yen Account", "JPY");
+
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("10.005"));
+
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(TransactionType.DEPOSIT);
+        transactionDto.setAccountId(usdAccount.getId());
+        transactionDto.setData(depositData);
+
+        ResponseEntity<TransactionDto> response = restTemplate.postForEntity(
+                "/accounts/" + usdAccount.getId() + "/transactions", transactionDto, TransactionDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // Yen has no minor unit, so only whole amounts are accepted
+        depositData.setAmount(new BigDecimal("10.50"));
+        transactionDto.setAccountId(jpyAccount.getId());
+        response = restTemplate.postForEntity(
+                "/accounts/" + jpyAccount.getId() + "/transactions", transactionDto, TransactionDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // Trailing zeros beyond the minor unit are fine
+        TransactionDto deposit = createDepositTransaction(usdAccount.getId(), new BigDecimal("10.500"), "Deposit");
+        executeTransaction(usdAccount.getId(), deposit.getId());
+        assertThat(getAccountBalance(usdAccount.getId())).isEqualByComparingTo(new BigDecimal("10.50"));
+    }
+
+    @Test
+    public void testLegacyBalanceFinerThanMinorUnitIsRoundedDown() {
+        AccountDto account = createTestAccount("Legacy Cents Account", "USD");
+        TransactionDto deposit = createDepositTransaction(account.getId(), new BigDecimal("10.00"), "Deposit");
+        executeTransaction(account.getId(), deposit.getId());
+
+        // A row stored before amounts were validated against the currency
+        jdbcTemplate.update("UPDATE posting SET amount = 10.005 WHERE transaction_id = ?", deposit.getId());
+
+        TransactionDto overdraw = createWithdrawTransaction(account.getId(), new BigDecimal("10.01"), "Withdraw");
+        ResponseEntity<TransactionDto> rejected = restTemplate.postForEntity(
+                "/accounts/" + account.getId() + "/transactions/" + overdraw.getId() + "/execute", null, TransactionDto.class);
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        TransactionDto withdraw = createWithdrawTransaction(account.getId(), new BigDecimal("10.00"), "Withdraw");
+        assertThat(executeTransaction(account.getId(), withdraw.getId()).getStatus()).isEqualTo(TransactionStatus.DONE);
+    }
+
+    @Test
+    public void testLegacyPendingAmountFinerThanMinorUnitIsExecuted() {
+        AccountDto account = createTestAccount("Legacy Amount Account", "USD");
+        TransactionDto deposit = createDepositTransaction(account.getId(), new BigDecimal("10.00"), "Deposit");
+        executeTransaction(account.getId(), deposit.getId());
+
+        // A pending row stored before amounts were validated against the currency
+        TransactionDto withdraw = createWithdrawTransaction(account.getId(), new BigDecimal("4.00"), "Withdraw");
+        jdbcTemplate.update("UPDATE transaction SET transaction_data = jsonb_set(transaction_data, '{amount}', '4.005') " +
+                "WHERE id = ?", withdraw.getId());
+
+        assertThat(executeTransaction(account.getId(), withdraw.getId()).getStatus()).isEqualTo(TransactionStatus.DONE);
+    }
+
+    @Test
+    public void testETagsForDoneTransactionsAndListings() {
+        AccountDto account = createTestAccount("ETag Test Account", "USD");
+        TransactionDto deposit = createDepositTransaction(account.getId(), new BigDecimal("25.00"), "Deposit");
+        executeTransaction(account.getId(), deposit.getId());
+
+        String transactionUrl = "/accounts/" + account.getId() + "/transactions/" + deposit.getId();
+        ResponseEntity<TransactionDto> response = restTemplate.getForEntity(transactionUrl, TransactionDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getStatus()).isEqualTo(TransactionStatus.DONE);
+        String eTag = response.getHeaders().getETag();
+        assertThat(eTag).isNotNull();
+
+        // A matching ETag is answered without a body, also once the bytes are cached
+        for (int i = 0; i < 2; i++) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(eTag);
+            ResponseEntity<TransactionDto> notModified = restTemplate.exchange(
+                    transactionUrl, HttpMethod.GET, new HttpEntity<>(headers), TransactionDto.class);
+            assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(notModified.getBody()).isNull();
+        }
+
+        String listingUrl = "/accounts/" + account.getId() + "/transactions";
+        ResponseEntity<List<TransactionDto>> listing = restTemplate.exchange(
+                listingUrl, HttpMethod.GET, null, new ParameterizedTypeReference<List<TransactionDto>>() {});
+        assertThat(listing.getBody()).hasSize(1);
+        String listingETag = listing.getHeaders().getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(listingETag);
+        assertThat(restTemplate.exchange(listingUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // A new transaction changes the listing
+        createDepositTransaction(account.getId(), new BigDecimal("5.00"), "Second deposit");
+        ResponseEntity<List<TransactionDto>> changed = restTemplate.exchange(
+                listingUrl, HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<List<TransactionDto>>() {});
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getBody()).hasSize(2);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(listingETag);
+    }
+
+    @Test
+    public void testCreateAndExecuteInOneRequest() {
+        AccountDto account = createTestAccount("Atomic Account", "USD");
+        String url = "/accounts/" + account.getId() + "/transactions/execute";
+
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(new BigDecimal("30.00"));
+        TransactionDto deposit = new TransactionDto();
+        deposit.setType(TransactionType.DEPOSIT);
+        deposit.setData(depositData);
+
+        ResponseEntity<TransactionDto> response = restTemplate.postForEntity(url, deposit, TransactionDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().getId()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(TransactionStatus.DONE);
+
+        WithdrawTransactionData withdrawData = new WithdrawTransactionData();
+        withdrawData.setAmount(new BigDecimal("12.50"));
+        TransactionDto withdraw = new TransactionDto();
+        withdraw.setType(TransactionType.WITHDRAW);
+        withdraw.setData(withdrawData);
+
+        response = restTemplate.postForEntity(url, withdraw, TransactionDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().getStatus()).isEqualTo(TransactionStatus.DONE);
+        assertThat(getAccountBalance(account.getId())).isEqualByComparingTo(new BigDecimal("17.50"));
+
+        // A failed execution is rolled back together with the insert
+        withdrawData.setAmount(new BigDecimal("100.00"));
+        response = restTemplate.postForEntity(url, withdraw, TransactionDto.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ResponseEntity<List<TransactionDto>> listing = restTemplate.exchange(
+                "/accounts/" + account.getId() + "/transactions", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<TransactionDto>>() {});
+        assertThat(listing.getBody()).hasSize(2).allMatch(transaction -> transaction.getStatus() == TransactionStatus.DONE);
+        assertThat(getAccountBalance(account.getId())).isEqualByComparingTo(new BigDecimal("17.50"));
+    }
+
+    @Test
+    public void testSearchTransactionsWithFilters() {
+        AccountDto account = createTestAccount("Search Account", "USD");
+        AccountDto counterparty = createTestAccount("Counterparty Account", "USD");
+        AccountDto otherCounterparty = createTestAccount("Other Counterparty Account", "USD");
+
+        TransactionDto smallDeposit = createDepositTransaction(account.getId(), new BigDecimal("5.00"), "Small");
+        TransactionDto largeDeposit = createDepositTransaction(account.getId(), new BigDecimal("500.00"), "Large");
+        executeTransaction(account.getId(), largeDeposit.getId());
+        TransactionDto withdraw = createWithdrawTransaction(account.getId(), new BigDecimal("20.00"), "Withdraw");
+        TransactionDto transfer = createTransferTransaction(account.getId(), counterparty.getId(), new BigDecimal("30.00"), "Transfer");
+        createTransferTransaction(account.getId(), otherCounterparty.getId(), new BigDecimal("40.00"), "Other transfer");
+        createDepositTransaction(counterparty.getId(), new BigDecimal("7.00"), "Not this account");
+
+        // No filters: every transaction of the account, newest first
+        TransactionPageDto all = searchTransactions(account.getId(), "");
+        assertThat(all.getItems()).hasSize(5);
+        assertThat(all.getItems().get(0).getData()).isInstanceOf(TransferTransactionData.class);
+        assertThat(all.getItems().get(4).getId()).isEqualTo(smallDeposit.getId());
+        assertThat(all.getNextCursor()).isNull();
+
+        assertThat(searchTransactions(account.getId(), "type=DEPOSIT").getItems())
+                .extracting(TransactionDto::getId).containsExactly(largeDeposit.getId(), smallDeposit.getId());
+        assertThat(searchTransactions(account.getId(), "status=DONE").getItems())
+                .extracting(TransactionDto::getId).containsExactly(largeDeposit.getId());
+        assertThat(searchTransactions(account.getId(), "minAmount=10&maxAmount=30").getItems())
+                .extracting(TransactionDto::getId).containsExactly(transfer.getId(), withdraw.getId());
+        assertThat(searchTransactions(account.getId(), "counterpartyAccountId=" + counterparty.getId()).getItems())
+                .extracting(TransactionDto::getId).containsExactly(transfer.getId());
+        assertThat(searchTransactions(account.getId(), "type=DEPOSIT&status=PENDING&maxAmount=100").getItems())
+                .extracting(TransactionDto::getId).containsExactly(smallDeposit.getId());
+
+        // The created range includes its start and excludes its end; the times are read back as stored
+        String from = all.getItems().get(2).getCreatedAt().toString();
+        String to = all.getItems().get(1).getCreatedAt().toString();
+        assertThat(searchTransactions(account.getId(), "createdFrom=" + from + "&createdTo=" + to).getItems())
+                .extracting(TransactionDto::getId).containsExactly(withdraw.getId());
+    }
+
+    @Test
+    public void testSearchTransactionsPagesWithCursor() {
+        AccountDto account = createTestAccount("Paged Search Account", "USD");
+        List<Long> created = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            created.add(createDepositTransaction(account.getId(), new BigDecimal(i), "Deposit " + i).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        TransactionPageDto page = searchTransactions(account.getId(), "type=DEPOSIT&limit=3");
+        int pages = 1;
+        seen.addAll(page.getItems().stream().map(TransactionDto::getId).toList());
+        while (page.getNextCursor() != null) {
+            // A transaction created while paging is newer than the cursor and does not shift later pages
+            if (pages == 1) {
+                createDepositTransaction(account.getId(), new BigDecimal("99.00"), "Concurrent");
+            }
+            page = searchTransactions(account.getId(), "type=DEPOSIT&limit=3&cursor=" + page.getNextCursor());
+            pages++;
+            seen.addAll(page.getItems().stream().map(TransactionDto::getId).toList());
+        }
+
+        Collections.reverse(created);
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(created);
+    }
+
+    @Test
+    public void testSearchTransactionsRejectsInvalidParameters() {
+        AccountDto account = createTestAccount("Invalid Search Account", "USD");
+        String url = "/accounts/" + account.getId() + "/transactions/search?";
+
+        assertThat(restTemplate.getForEntity(url + "cursor=not-a-cursor", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity(url + "limit=0", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity(url + "minAmount=10&maxAmount=5", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
 }
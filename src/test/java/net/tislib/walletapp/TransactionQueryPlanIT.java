@@ -0,0 +1,378 @@
+package net.tislib.walletapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.tislib.walletapp.dto.TransactionSearchCriteria;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+import net.tislib.walletapp.repository.PostingRepository;
+import net.tislib.walletapp.repository.TransactionRepository;
+import net.tislib.walletapp.repository.TransactionSearchQuery;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans of the {@link TransactionRepository} queries and the {@link PostingRepository} balance reads against
+ * seeded tables. The SQL is captured from Hibernate while the repository method runs, its parameters are
+ * replaced by representative values, and {@code EXPLAIN (FORMAT JSON)} must neither scan {@code transaction}
+ * or {@code posting} sequentially nor exceed the query's cost and row estimate budgets. Searches are built by
+ * {@link TransactionSearchQuery} and explained with their bound parameters.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "net.tislib.walletapp.TransactionQueryPlanIT$CapturingStatementInspector")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class TransactionQueryPlanIT {
+
+    private static final int ACCOUNTS = 2000;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 100;
+
+    // Reconciliation reads one chunk of accounts; 20 of 2000 is the share of a 1000-account chunk in 100k accounts
+    private static final int CHUNK_ACCOUNTS = 20;
+
+    private static final Budget POINT = new Budget(2000, 1000);
+    private static final Budget CHUNK = new Budget(6000, 5000);
+
+    private static final int SEARCH_PAGE = 51;
+
+    private static final Pattern READS_TRANSACTION = Pattern.compile("\\b(from|update)\\s+transaction\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern READS_POSTING = Pattern.compile("\\bjoin\\s+posting\\b|\\bfrom\\s+posting\\b", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> SCANNED_TABLES = Set.of("transaction", "posting");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PostingRepository postingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private long firstAccountId;
+    private long maxTransactionId;
+
+    private record Budget(double maxCost, double maxRows) {
+    }
+
+    private record QueryCase(String method, Consumer<TransactionRepository> call, List<Object> parameters, Budget budget) {
+    }
+
+    private record PostingCase(String method, Consumer<PostingRepository> call, List<Object> parameters) {
+    }
+
+    private record SearchCase(String name, TransactionSearchQuery query) {
+    }
+
+    /**
+     * Records the SQL Hibernate prepares, so that the plans are taken of the statements actually sent.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static List<String> drain() {
+            synchronized (STATEMENTS) {
+                List<String> statements = List.copyOf(STATEMENTS);
+                STATEMENTS.clear();
+                return statements;
+            }
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO account (name, currency, created_at) " +
+                "SELECT 'Plan account ' || n, 'USD', now() FROM generate_series(1, ?) n", ACCOUNTS);
+        firstAccountId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM account", Long.class);
+
+        // Ordered by time rather than by account, so that one account's transactions are spread over the table
+        jdbcTemplate.update("INSERT INTO transaction (type, status, account_id, transaction_data, created_at, updated_at) " +
+                "SELECT t.type, " +
+                "       CASE WHEN n % 20 = 0 THEN 'PENDING' WHEN n % 20 = 1 THEN 'FAILED' ELSE 'DONE' END, " +
+                "       a.id, " +
+                "       CASE WHEN t.type = 'TRANSFER' " +
+                "            THEN jsonb_build_object('type', t.type, 'amount', t.amount, " +
+                "                                    'destinationAccountId', ? + (a.id * 7 + n) % ?) " +
+                "            ELSE jsonb_build_object('type', t.type, 'amount', t.amount) END, " +
+                "       now() - n * interval '1 hour', " +
+                "       now() - n * interval '1 hour' " +
+                "FROM generate_series(1, ?) n " +
+                "CROSS JOIN account a " +
+                "CROSS JOIN LATERAL (SELECT CASE WHEN (n + a.id) % 20 < 12 THEN 'DEPOSIT' " +
+                "                                WHEN (n + a.id) % 20 < 17 THEN 'WITHDRAW' " +
+                "                                ELSE 'TRANSFER' END AS type, " +
+                "                           ((n * 37 + a.id) % 10000) / 100.0 AS amount) t",
+                firstAccountId, ACCOUNTS, TRANSACTIONS_PER_ACCOUNT);
+        maxTransactionId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transaction", Long.class);
+
+        // Postings of the DONE transactions, as the V14 migration backfills them
+        jdbcTemplate.update("INSERT INTO posting (transaction_id, leg, account_id, amount, created_at) " +
+                "SELECT id, 0, account_id, " +
+                "       CASE WHEN type = 'DEPOSIT' THEN 1 ELSE -1 END * CAST(transaction_data->>'amount' AS numeric), updated_at " +
+                "FROM transaction WHERE status = 'DONE' " +
+                "UNION ALL " +
+                "SELECT id, 1, CAST(transaction_data->>'destinationAccountId' AS bigint), " +
+                "       CAST(transaction_data->>'amount' AS numeric), updated_at " +
+                "FROM transaction WHERE status = 'DONE' AND type = 'TRANSFER'");
+
+        // Statistics and the visibility map, as autovacuum would have them in production
+        jdbcTemplate.execute("VACUUM ANALYZE account");
+        jdbcTemplate.execute("VACUUM ANALYZE transaction");
+        jdbcTemplate.execute("VACUUM ANALYZE posting");
+    }
+
+    private List<QueryCase> queryCases() {
+        long accountId = firstAccountId + ACCOUNTS / 2;
+        long transactionId = maxTransactionId / 2;
+        long chunkFrom = firstAccountId + ACCOUNTS / 3;
+        long chunkTo = chunkFrom + CHUNK_ACCOUNTS - 1;
+        long lastAccountId = firstAccountId + ACCOUNTS - 1;
+        LocalDateTime since = LocalDateTime.now().minusDays(1).withNano(0);
+        List<String> types = List.of("WITHDRAW", "TRANSFER");
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1).withNano(0);
+        // Retention writes are explained for an id that does not exist, so that capturing them changes nothing
+        List<Long> missingIds = List.of(-1L);
+
+        return List.of(
+                new QueryCase("findByAccountId", repository -> repository.findByAccountId(accountId),
+                        List.of(accountId), POINT),
+                new QueryCase("findRowsByAccountId", repository -> repository.findRowsByAccountId(accountId),
+                        List.of(accountId), POINT),
+                new QueryCase("findByAccountIdAndStatus",
+                        repository -> repository.findByAccountIdAndStatus(accountId, TransactionStatus.PENDING),
+                        List.of(accountId, "PENDING"), POINT),
+                new QueryCase("findByIdAndAccountId", repository -> repository.findByIdAndAccountId(transactionId, accountId),
+                        List.of(transactionId, accountId), POINT),
+                new QueryCase("findVersionByIdAndAccountId",
+                        repository -> repository.findVersionByIdAndAccountId(transactionId, accountId),
+                        List.of(transactionId, accountId), POINT),
+                new QueryCase("getListingVersion", repository -> repository.getListingVersion(accountId),
+                        List.of(accountId), POINT),
+                new QueryCase("findByIdWithLock", repository -> repository.findByIdWithLock(transactionId),
+                        List.of(transactionId), POINT),
+                new QueryCase("findByIdAndAccountIdWithLock",
+                        repository -> repository.findByIdAndAccountIdWithLock(transactionId, accountId),
+                        List.of(transactionId, accountId), POINT),
+                new QueryCase("findMaxId", TransactionRepository::findMaxId, List.of(), POINT),
+                new QueryCase("getSumsByAccountAndTypeInRange",
+                        repository -> repository.getSumsByAccountAndTypeInRange(chunkFrom, chunkTo, maxTransactionId),
+                        List.of(chunkFrom, chunkTo, maxTransactionId), CHUNK),
+                new QueryCase("getSumsOfIncomingTransfersInRange",
+                        repository -> repository.getSumsOfIncomingTransfersInRange(chunkFrom, chunkTo, maxTransactionId),
+                        List.of(maxTransactionId, chunkFrom, chunkTo), CHUNK),
+                // Run over the whole account range once per reconciliation, so only dangling transfers match
+                new QueryCase("getSumsOfIncomingTransfersOutsideRange",
+                        repository -> repository.getSumsOfIncomingTransfersOutsideRange(firstAccountId, lastAccountId, maxTransactionId),
+                        List.of(maxTransactionId, firstAccountId, lastAccountId), POINT),
+                new QueryCase("getBucketedSumsForAccountSince",
+                        repository -> repository.getBucketedSumsForAccountSince(accountId, types, since, 60),
+                        List.of(60, accountId, types.get(0), types.get(1), since), POINT),
+                new QueryCase("findStaleIds", repository -> repository.findStaleIds("PENDING", 0, cutoff, 500),
+                        List.of("PENDING", 0, cutoff, 500), POINT),
+                new QueryCase("expirePending", repository -> repository.expirePending(missingIds, cutoff),
+                        List.of(cutoff, -1L), POINT),
+                new QueryCase("archiveFailed", repository -> repository.archiveFailed(missingIds, cutoff),
+                        List.of(cutoff, -1L), POINT),
+                new QueryCase("deleteFailed", repository -> repository.deleteFailed(missingIds),
+                        List.of(-1L), POINT)
+        );
+    }
+
+    private List<PostingCase> postingCases() {
+        long accountId = firstAccountId + ACCOUNTS / 2;
+        List<Long> accountIds = List.of(accountId, accountId + 1, accountId + 2);
+
+        return List.of(
+                new PostingCase("getBalance", repository -> repository.getBalance(accountId), List.of(accountId)),
+                new PostingCase("getBalancesForAccounts", repository -> repository.getBalancesForAccounts(accountIds),
+                        List.copyOf(accountIds))
+        );
+    }
+
+    private List<SearchCase> searchCases() {
+        long accountId = firstAccountId + ACCOUNTS / 2;
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        TransactionSearchCriteria byStatus = new TransactionSearchCriteria();
+        byStatus.setStatus(TransactionStatus.PENDING);
+        TransactionSearchCriteria byType = new TransactionSearchCriteria();
+        byType.setType(TransactionType.WITHDRAW);
+        TransactionSearchCriteria byDate = new TransactionSearchCriteria();
+        byDate.setCreatedFrom(now.minusDays(2));
+        byDate.setCreatedTo(now.minusDays(1));
+        TransactionSearchCriteria byAmount = new TransactionSearchCriteria();
+        byAmount.setMinAmount(new BigDecimal("10"));
+        byAmount.setMaxAmount(new BigDecimal("20"));
+        TransactionSearchCriteria byCounterparty = new TransactionSearchCriteria();
+        byCounterparty.setCounterpartyAccountId(firstAccountId + 7);
+        TransactionSearchCriteria combined = new TransactionSearchCriteria();
+        combined.setType(TransactionType.DEPOSIT);
+        combined.setStatus(TransactionStatus.DONE);
+        combined.setCreatedFrom(now.minusDays(3));
+        combined.setMinAmount(new BigDecimal("50"));
+
+        return List.of(
+                new SearchCase("unfiltered", TransactionSearchQuery.build(accountId, new TransactionSearchCriteria(), null, null, SEARCH_PAGE)),
+                new SearchCase("unfiltered after cursor", TransactionSearchQuery.build(accountId, new TransactionSearchCriteria(),
+                        now.minusHours(50), Long.MAX_VALUE, SEARCH_PAGE)),
+                new SearchCase("status", TransactionSearchQuery.build(accountId, byStatus, null, null, SEARCH_PAGE)),
+                new SearchCase("type", TransactionSearchQuery.build(accountId, byType, null, null, SEARCH_PAGE)),
+                new SearchCase("created range", TransactionSearchQuery.build(accountId, byDate, null, null, SEARCH_PAGE)),
+                new SearchCase("amount range", TransactionSearchQuery.build(accountId, byAmount, null, null, SEARCH_PAGE)),
+                new SearchCase("counterparty", TransactionSearchQuery.build(accountId, byCounterparty, null, null, SEARCH_PAGE)),
+                new SearchCase("combined", TransactionSearchQuery.build(accountId, combined, null, null, SEARCH_PAGE))
+        );
+    }
+
+    // Helper method to capture the SQL of a repository call and inline its parameters
+    private String captureSql(String method, Runnable call, Pattern reads, List<Object> parameters) {
+        CapturingStatementInspector.drain();
+        transactionTemplate.executeWithoutResult(status -> call.run());
+        String sql = CapturingStatementInspector.drain().stream()
+                .filter(statement -> reads.matcher(statement).find())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(method + " did not read the expected table"));
+
+        String[] parts = sql.split("\\?", -1);
+        assertThat(parts.length - 1).as("parameters of %s: %s", method, sql)
+                .isEqualTo(parameters.size());
+        StringBuilder inlined = new StringBuilder(parts[0]);
+        for (int i = 0; i < parameters.size(); i++) {
+            inlined.append(literal(parameters.get(i))).append(parts[i + 1]);
+        }
+        return inlined.toString();
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    // Helper method to collect the nodes of a plan, and separately those whose output is not cut by a Limit
+    private static void collectNodes(JsonNode node, List<JsonNode> nodes, List<JsonNode> unlimited, boolean limited) {
+        nodes.add(node);
+        if (!limited) {
+            unlimited.add(node);
+        }
+        boolean limitsChildren = limited || "Limit".equals(node.path("Node Type").asText());
+        for (JsonNode child : node.path("Plans")) {
+            collectNodes(child, nodes, unlimited, limitsChildren);
+        }
+    }
+
+    // Helper method to check an explained plan against a budget
+    private void checkPlan(SoftAssertions softly, String name, String sql, String explained, Budget budget) throws Exception {
+        JsonNode plan = objectMapper.readTree(explained).get(0).get("Plan");
+
+        List<JsonNode> nodes = new ArrayList<>();
+        List<JsonNode> unlimited = new ArrayList<>();
+        collectNodes(plan, nodes, unlimited, false);
+        String description = name + "\n" + sql + "\n" + plan.toPrettyString();
+
+        for (JsonNode node : nodes) {
+            softly.assertThat("Seq Scan".equals(node.path("Node Type").asText())
+                            && SCANNED_TABLES.contains(node.path("Relation Name").asText()))
+                    .as("sequential scan on %s in %s", node.path("Relation Name").asText(), description)
+                    .isFalse();
+        }
+        // Scans below a Limit, such as the one answering MAX(id), estimate rows they never produce
+        for (JsonNode node : unlimited) {
+            softly.assertThat(node.path("Plan Rows").asDouble())
+                    .as("row estimate of %s in %s", node.path("Node Type").asText(), description)
+                    .isLessThanOrEqualTo(budget.maxRows());
+        }
+        softly.assertThat(plan.path("Total Cost").asDouble())
+                .as("total cost of %s", description)
+                .isLessThanOrEqualTo(budget.maxCost());
+    }
+
+    @Test
+    public void testRepositoryQueriesStayWithinTheirPlanBudgets() throws Exception {
+        SoftAssertions softly = new SoftAssertions();
+        for (QueryCase queryCase : queryCases()) {
+            String sql = captureSql(queryCase.method(), () -> queryCase.call().accept(transactionRepository),
+                    READS_TRANSACTION, queryCase.parameters());
+            String explained = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+            checkPlan(softly, queryCase.method(), sql, explained, queryCase.budget());
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    public void testPostingBalanceQueriesStayWithinThePointBudget() throws Exception {
+        SoftAssertions softly = new SoftAssertions();
+        for (PostingCase postingCase : postingCases()) {
+            String sql = captureSql(postingCase.method(), () -> postingCase.call().accept(postingRepository),
+                    READS_POSTING, postingCase.parameters());
+            String explained = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+            checkPlan(softly, postingCase.method(), sql, explained, POINT);
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    public void testSearchQueriesStayWithinThePointBudget() throws Exception {
+        SoftAssertions softly = new SoftAssertions();
+        for (SearchCase searchCase : searchCases()) {
+            TransactionSearchQuery query = searchCase.query();
+            String explained = namedParameterJdbcTemplate.queryForObject(
+                    "EXPLAIN (FORMAT JSON) " + query.sql(), query.parameters(), String.class);
+            checkPlan(softly, "search by " + searchCase.name(), query.sql(), explained, POINT);
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    public void testEveryRepositoryQueryHasAPlanBudget() {
+        Set<String> declared = Arrays.stream(TransactionRepository.class.getDeclaredMethods())
+                .filter(method -> !method.isSynthetic() && !method.isDefault())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+        Set<String> covered = queryCases().stream().map(QueryCase::method).collect(Collectors.toSet());
+
+        assertThat(covered).containsExactlyInAnyOrderElementsOf(declared);
+    }
+}
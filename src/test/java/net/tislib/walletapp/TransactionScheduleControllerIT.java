@@ -0,0 +1,210 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.dto.TransactionScheduleDto;
+import net.tislib.walletapp.dto.TransferTransactionData;
+import net.tislib.walletapp.dto.WithdrawTransactionData;
+import net.tislib.walletapp.model.ScheduleStatus;
+import net.tislib.walletapp.model.TransactionStatus;
+import net.tislib.walletapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"wallet.schedule.poll-interval=100ms", "wallet.schedule.tick=10ms"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TransactionScheduleControllerIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to build a schedule request
+    private TransactionScheduleDto schedule(TransactionType type, TransactionData data, LocalDateTime nextRunAt,
+                                            String repeatInterval, Integer remainingRuns) {
+        TransactionScheduleDto schedule = new TransactionScheduleDto();
+        schedule.setType(type);
+        schedule.setData(data);
+        schedule.setNextRunAt(nextRunAt);
+        schedule.setRepeatInterval(repeatInterval);
+        schedule.setRemainingRuns(remainingRuns);
+        return schedule;
+    }
+
+    // Helper method to create a schedule
+    private TransactionScheduleDto createSchedule(Long accountId, TransactionScheduleDto schedule) {
+        ResponseEntity<TransactionScheduleDto> response = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/schedules", schedule, TransactionScheduleDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().getStatus()).isEqualTo(ScheduleStatus.ACTIVE);
+        return response.getBody();
+    }
+
+    // Helper method to poll a schedule until it leaves the ACTIVE state
+    private TransactionScheduleDto awaitSchedule(Long accountId, Long scheduleId) throws InterruptedException {
+        for (int i = 0; i < 150; i++) {
+            ResponseEntity<TransactionScheduleDto> response = restTemplate.getForEntity(
+                    "/accounts/" + accountId + "/schedules/" + scheduleId, TransactionScheduleDto.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            if (response.getBody().getStatus() != ScheduleStatus.ACTIVE) {
+                return response.getBody();
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Schedule did not complete: " + scheduleId);
+    }
+
+    // Helper method to list the transactions of an account
+    private List<TransactionDto> getTransactions(Long accountId) {
+        ResponseEntity<List<TransactionDto>> response = restTemplate.exchange(
+                "/accounts/" + accountId + "/transactions", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<TransactionDto>>() {});
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @Test
+    public void testRecurringDepositRunsUntilItsLastRun() throws InterruptedException {
+        AccountDto account = createTestAccount("Standing Order Account");
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("10.00"));
+        LocalDateTime firstRun = LocalDateTime.now().plusSeconds(1);
+        TransactionScheduleDto created = createSchedule(account.getId(),
+                schedule(TransactionType.DEPOSIT, deposit, firstRun, "PT1S", 3));
+
+        TransactionScheduleDto completed = awaitSchedule(account.getId(), created.getId());
+        assertThat(completed.getStatus()).isEqualTo(ScheduleStatus.COMPLETED);
+        assertThat(completed.getRuns()).isEqualTo(3);
+        assertThat(completed.getRemainingRuns()).isZero();
+        assertThat(completed.getLastError()).isNull();
+
+        List<TransactionDto> transactions = getTransactions(account.getId());
+        assertThat(transactions).hasSize(3).allMatch(transaction -> transaction.getStatus() == TransactionStatus.DONE);
+        assertThat(transactions.get(2).getId()).isEqualTo(completed.getLastTransactionId());
+        // Runs keep their schedule, the third is due two intervals after the first
+        assertThat(transactions.get(2).getCreatedAt()).isAfterOrEqualTo(firstRun.plusSeconds(2));
+
+        ResponseEntity<BigDecimal> balance = restTemplate.getForEntity(
+                "/accounts/" + account.getId() + "/balance", BigDecimal.class);
+        assertThat(balance.getBody()).isEqualByComparingTo(new BigDecimal("30.00"));
+    }
+
+    @Test
+    public void testFailedRunIsRecordedOnTheSchedule() throws InterruptedException {
+        AccountDto account = createTestAccount("Empty Account");
+
+        WithdrawTransactionData withdraw = new WithdrawTransactionData();
+        withdraw.setAmount(new BigDecimal("50.00"));
+        TransactionScheduleDto created = createSchedule(account.getId(),
+                schedule(TransactionType.WITHDRAW, withdraw, LocalDateTime.now(), null, null));
+
+        TransactionScheduleDto completed = awaitSchedule(account.getId(), created.getId());
+        assertThat(completed.getStatus()).isEqualTo(ScheduleStatus.COMPLETED);
+        assertThat(completed.getRuns()).isEqualTo(1);
+        assertThat(completed.getLastError()).contains("Insufficient funds");
+
+        List<TransactionDto> transactions = getTransactions(account.getId());
+        assertThat(transactions).hasSize(1);
+        assertThat(transactions.get(0).getId()).isEqualTo(completed.getLastTransactionId());
+        // The execution was rolled back, so the transaction is left as it was created
+        assertThat(transactions.get(0).getStatus()).isNotEqualTo(TransactionStatus.DONE);
+    }
+
+    @Test
+    public void testCancelAndValidateSchedules() {
+        AccountDto account = createTestAccount("Cancelled Account");
+        String url = "/accounts/" + account.getId() + "/schedules";
+
+        DepositTransactionData deposit = new DepositTransactionData();
+        deposit.setAmount(new BigDecimal("10.00"));
+        TransactionScheduleDto created = createSchedule(account.getId(),
+                schedule(TransactionType.DEPOSIT, deposit, LocalDateTime.now().plusDays(1), "P1M", null));
+
+        ResponseEntity<TransactionScheduleDto> cancelled = restTemplate.postForEntity(
+                url + "/" + created.getId() + "/cancel", null, TransactionScheduleDto.class);
+        assertThat(cancelled.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cancelled.getBody().getStatus()).isEqualTo(ScheduleStatus.CANCELLED);
+
+        ResponseEntity<String> cancelledAgain = restTemplate.postForEntity(
+                url + "/" + created.getId() + "/cancel", null, String.class);
+        assertThat(cancelledAgain.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ResponseEntity<String> invalidInterval = restTemplate.postForEntity(url,
+                schedule(TransactionType.DEPOSIT, deposit, LocalDateTime.now(), "monthly", null), String.class);
+        assertThat(invalidInterval.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ResponseEntity<String> mismatchedType = restTemplate.postForEntity(url,
+                schedule(TransactionType.WITHDRAW, deposit, LocalDateTime.now(), null, null), String.class);
+        assertThat(mismatchedType.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // The transaction itself is validated as creating it would be
+        DepositTransactionData negative = new DepositTransactionData();
+        negative.setAmount(new BigDecimal("-10.00"));
+        ResponseEntity<String> negativeAmount = restTemplate.postForEntity(url,
+                schedule(TransactionType.DEPOSIT, negative, LocalDateTime.now(), null, null), String.class);
+        assertThat(negativeAmount.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        DepositTransactionData fractional = new DepositTransactionData();
+        fractional.setAmount(new BigDecimal("10.001"));
+        ResponseEntity<String> tooPrecise = restTemplate.postForEntity(url,
+                schedule(TransactionType.DEPOSIT, fractional, LocalDateTime.now(), null, null), String.class);
+        assertThat(tooPrecise.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        TransferTransactionData selfTransfer = new TransferTransactionData();
+        selfTransfer.setDestinationAccountId(account.getId());
+        selfTransfer.setAmount(new BigDecimal("10.00"));
+        ResponseEntity<String> toItself = restTemplate.postForEntity(url,
+                schedule(TransactionType.TRANSFER, selfTransfer, LocalDateTime.now(), null, null), String.class);
+        assertThat(toItself.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        TransferTransactionData withoutDestination = new TransferTransactionData();
+        withoutDestination.setAmount(new BigDecimal("10.00"));
+        ResponseEntity<String> noDestination = restTemplate.postForEntity(url,
+                schedule(TransactionType.TRANSFER, withoutDestination, LocalDateTime.now(), null, null), String.class);
+        assertThat(noDestination.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        TransferTransactionData preset = new TransferTransactionData();
+        preset.setDestinationAccountId(createTestAccount("Preset Destination").getId());
+        preset.setAmount(new BigDecimal("10.00"));
+        preset.setRate(BigDecimal.ONE);
+        ResponseEntity<String> presetRate = restTemplate.postForEntity(url,
+                schedule(TransactionType.TRANSFER, preset, LocalDateTime.now(), null, null), String.class);
+        assertThat(presetRate.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ResponseEntity<List<TransactionScheduleDto>> schedules = restTemplate.exchange(url, HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<TransactionScheduleDto>>() {});
+        assertThat(schedules.getBody()).extracting(TransactionScheduleDto::getId).containsExactly(created.getId());
+    }
+}
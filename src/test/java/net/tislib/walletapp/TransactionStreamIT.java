@@ -0,0 +1,144 @@
+package net.tislib.walletapp;
+
+import net.tislib.walletapp.dto.AccountDto;
+import net.tislib.walletapp.dto.DepositTransactionData;
+import net.tislib.walletapp.dto.TransactionDto;
+import net.tislib.walletapp.model.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TransactionStreamIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private record StreamEvent(String id, String name, String data) {
+    }
+
+    // Helper method to create a test account
+    private AccountDto createTestAccount(String name) {
+        AccountDto newAccount = new AccountDto();
+        newAccount.setName(name);
+        newAccount.setCurrency("USD");
+
+        ResponseEntity<AccountDto> response = restTemplate.postForEntity(
+                "/accounts", newAccount, AccountDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to create a deposit transaction
+    private TransactionDto createDeposit(Long accountId, BigDecimal amount) {
+        DepositTransactionData depositData = new DepositTransactionData();
+        depositData.setAmount(amount);
+
+        TransactionDto transactionDto = new TransactionDto();
+        transactionDto.setType(TransactionType.DEPOSIT);
+        transactionDto.setAccountId(accountId);
+        transactionDto.setData(depositData);
+
+        ResponseEntity<TransactionDto> response = restTemplate.postForEntity(
+                "/accounts/" + accountId + "/transactions", transactionDto, TransactionDto.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody();
+    }
+
+    // Helper method to open an event stream, optionally resuming after an event
+    private HttpResponse<Stream<String>> openStream(Long accountId, String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                URI.create(restTemplate.getRootUri() + "/accounts/" + accountId + "/transactions/stream"));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        return response;
+    }
+
+    // Helper method to read the next event from a stream, skipping heartbeats
+    private StreamEvent nextEvent(Iterator<String> lines) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            String id = null;
+            String name = null;
+            StringBuilder data = new StringBuilder();
+            while (lines.hasNext()) {
+                String line = lines.next();
+                if (line.isEmpty()) {
+                    if (name != null) {
+                        return new StreamEvent(id, name, data.toString());
+                    }
+                    continue;
+                }
+                if (line.startsWith("id:")) {
+                    id = line.substring(3).trim();
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    data.append(line.substring(5).trim());
+                }
+            }
+            throw new IllegalStateException("Stream ended");
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testStatusAndBalanceChangesAreStreamedAndResumable() throws Exception {
+        AccountDto account = createTestAccount("Stream Account");
+
+        HttpResponse<Stream<String>> stream = openStream(account.getId(), null);
+        Iterator<String> lines = stream.body().iterator();
+
+        TransactionDto deposit = createDeposit(account.getId(), new BigDecimal("42.00"));
+        StreamEvent pending = nextEvent(lines);
+        assertThat(pending.name()).isEqualTo("status");
+        assertThat(pending.data()).contains("\"transactionId\":" + deposit.getId()).contains("\"status\":\"PENDING\"");
+
+        ResponseEntity<TransactionDto> executed = restTemplate.postForEntity(
+                "/accounts/" + account.getId() + "/transactions/" + deposit.getId() + "/execute", null, TransactionDto.class);
+        assertThat(executed.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        StreamEvent done = nextEvent(lines);
+        assertThat(done.name()).isEqualTo("status");
+        assertThat(done.data()).contains("\"status\":\"DONE\"");
+        StreamEvent balance = nextEvent(lines);
+        assertThat(balance.name()).isEqualTo("balance");
+        assertThat(balance.data()).contains("\"balance\":42");
+        stream.body().close();
+
+        // Resuming after the first event replays what came after it
+        HttpResponse<Stream<String>> resumed = openStream(account.getId(), pending.id());
+        Iterator<String> resumedLines = resumed.body().iterator();
+        assertThat(nextEvent(resumedLines)).isEqualTo(done);
+        assertThat(nextEvent(resumedLines).name()).isEqualTo("balance");
+        resumed.body().close();
+
+        // An id the node does not know asks the client to read its state again
+        HttpResponse<Stream<String>> unknown = openStream(account.getId(), "unknown-1");
+        assertThat(nextEvent(unknown.body().iterator()).name()).isEqualTo("reset");
+        unknown.body().close();
+    }
+}